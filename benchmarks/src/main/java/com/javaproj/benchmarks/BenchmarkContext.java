@@ -0,0 +1,64 @@
+package com.javaproj.benchmarks;
+
+import com.javaproj.UniversitySchedulerApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// The application as the benchmarks see it: the full Spring context (services, caches, transactions, JPA) without
+// the web server, on a private in-memory H2 database in PostgreSQL mode instead of PostgreSQL, so the benchmarks
+// run offline and every trial starts from an empty database.
+// - The schema is created by Hibernate (the Flyway migrations use PostgreSQL-only features), so there are no
+//   exclusion constraints or covering indexes: query timings are comparable between runs, not with production.
+// - The background jobs (waitlist promotion, seat reconciliation) are pushed out of the measurement window.
+// - Other application properties can still be set with -jvmArgsAppend -D<name>=<value>, e.g.
+//   -Dquery-metrics.enabled=true or -Dtimetable-cache.max-sessions=0.
+//
+// Usage, from the project root:
+//   mvn -B package
+//   java -jar benchmarks/target/benchmarks.jar                                   (everything)
+//   java -jar benchmarks/target/benchmarks.jar ScheduleGeneration -p courses=1000
+//   java -jar benchmarks/target/benchmarks.jar -h                                (JMH options)
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE, defaultProperties());
+    }
+
+    // Passed as command-line arguments, so they win over application.properties.
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, Map<String, String> properties) {
+        return new SpringApplicationBuilder(UniversitySchedulerApplication.class)
+                .web(webApplicationType)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(properties.entrySet().stream()
+                        .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                        .toArray(String[]::new));
+    }
+
+    // A fresh H2 database and the settings described above; callers may change the map before start.
+    public static Map<String, String> defaultProperties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.flyway.enabled", "false");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("waitlist.promotion-interval-ms", "3600000");
+        properties.put("waitlist.sweep-interval-ms", "3600000");
+        properties.put("enrollment.seats.reconcile-interval-ms", "3600000");
+        properties.put("reactive-read.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        // unplaced courses are logged one by one
+        properties.put("logging.level.com.javaproj.services.ScheduleService", "ERROR");
+        return properties;
+    }
+}
@@ -0,0 +1,88 @@
+package com.javaproj.benchmarks;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.ClassroomRepository;
+import com.javaproj.db.Course;
+import com.javaproj.db.CourseRepository;
+import com.javaproj.db.Professor;
+import com.javaproj.db.ProfessorRepository;
+import com.javaproj.db.Student;
+import com.javaproj.db.StudentRepository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Synthetic reference data for the benchmarks. Codes, e-mails and room numbers start with a prefix, so several
+// benchmarks can seed the same database without clashing on the unique columns.
+final class BenchmarkData {
+
+    static final List<String> DAYS = List.of("Luni", "Marti", "Miercuri", "Joi", "Vineri");
+    static final List<LocalTime> START_TIMES = List.of(
+            LocalTime.of(8, 0), LocalTime.of(10, 0), LocalTime.of(12, 0),
+            LocalTime.of(14, 0), LocalTime.of(16, 0), LocalTime.of(18, 0));
+    static final int SESSION_HOURS = 2;
+    static final String ACADEMIC_YEAR = "2024-2025";
+
+    // Courses and professors are spread evenly over the departments; generation only pairs a course with the
+    // professors of its department.
+    static final List<String> DEPARTMENTS = List.of(
+            "Computer Science", "Mathematics", "Physics", "Chemistry", "Biology",
+            "Economics", "History", "Philosophy", "Law", "Engineering");
+
+    private BenchmarkData() {
+    }
+
+    static List<Course> courses(CourseRepository courseRepository, String prefix, int count) {
+        List<Course> courses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Course course = new Course();
+            course.setCourseCode(prefix + i);
+            course.setCourseName("Course " + prefix + i);
+            course.setCredits(5);
+            course.setDepartment(DEPARTMENTS.get(i % DEPARTMENTS.size()));
+            courses.add(course);
+        }
+        return courseRepository.saveAll(courses);
+    }
+
+    static List<Professor> professors(ProfessorRepository professorRepository, String prefix, int count) {
+        List<Professor> professors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Professor professor = new Professor();
+            professor.setFirstName("Professor");
+            professor.setLastName(prefix + i);
+            professor.setEmail(prefix.toLowerCase() + i + "@bench.example.com");
+            professor.setDepartment(DEPARTMENTS.get(i % DEPARTMENTS.size()));
+            professors.add(professor);
+        }
+        return professorRepository.saveAll(professors);
+    }
+
+    static List<Classroom> classrooms(ClassroomRepository classroomRepository, String prefix, int count, int capacity) {
+        List<Classroom> classrooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Classroom classroom = new Classroom();
+            classroom.setRoomNumber(prefix + i);
+            classroom.setCapacity(capacity);
+            classroom.setBuilding("Bench");
+            classrooms.add(classroom);
+        }
+        return classroomRepository.saveAll(classrooms);
+    }
+
+    static List<Student> students(StudentRepository studentRepository, String prefix, int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = new Student();
+            student.setFirstName("Student");
+            student.setLastName(prefix + i);
+            student.setEmail(prefix.toLowerCase() + i + "@students.bench.example.com");
+            student.setMajor(DEPARTMENTS.get(i % DEPARTMENTS.size()));
+            student.setEnrollmentDate(LocalDate.of(2024, 10, 1));
+            students.add(student);
+        }
+        return studentRepository.saveAll(students);
+    }
+}
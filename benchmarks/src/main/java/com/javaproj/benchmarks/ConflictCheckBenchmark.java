@@ -0,0 +1,135 @@
+package com.javaproj.benchmarks;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.ClassroomRepository;
+import com.javaproj.db.Course;
+import com.javaproj.db.CourseRepository;
+import com.javaproj.db.Professor;
+import com.javaproj.db.ProfessorRepository;
+import com.javaproj.db.Schedule;
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.services.OccupancyIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The room and professor conflict check of createSchedule and updateSchedule, on a term that already holds
+// `schedules` sessions (every room busy in every slot it is given, professors teaching several slots a day).
+// - repositoryQueries: the two conflict queries in one read-only transaction, as the services run them
+// - occupancyIndex: the same check answered by an OccupancyIndex of the term, as schedule generation does
+// Probes are random rooms, professors and slots, half of them starting on the hour between two sessions, so
+// both conflicting and free slots are measured.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConflictCheckBenchmark {
+
+    private static final String SEMESTER = "Bench Conflicts";
+    private static final int PROBES = 1024;
+
+    @Param({"1000", "10000"})
+    public int schedules;
+
+    private ConfigurableApplicationContext context;
+    private ScheduleRepository scheduleRepository;
+    private TransactionTemplate readOnlyTransactionTemplate;
+    private OccupancyIndex occupancy;
+    private Probe[] probes;
+    private int next;
+
+    private record Probe(Integer roomId, Integer professorId, String dayOfWeek, LocalTime startTime, LocalTime endTime) {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        scheduleRepository = context.getBean(ScheduleRepository.class);
+        readOnlyTransactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        int slots = BenchmarkData.DAYS.size() * BenchmarkData.START_TIMES.size();
+        int roomCount = (schedules + slots - 1) / slots;
+        List<Course> courses = BenchmarkData.courses(context.getBean(CourseRepository.class), "CC", roomCount);
+        List<Professor> professors = BenchmarkData.professors(context.getBean(ProfessorRepository.class), "CP", 2 * roomCount);
+        List<Classroom> classrooms = BenchmarkData.classrooms(context.getBean(ClassroomRepository.class), "CR", roomCount, 100);
+
+        // Session i: room i % rooms in slot i / rooms; consecutive sessions of a slot get distinct professors.
+        List<Schedule> term = new ArrayList<>(schedules);
+        for (int i = 0; i < schedules; i++) {
+            int slot = i / roomCount;
+            LocalTime startTime = BenchmarkData.START_TIMES.get(slot % BenchmarkData.START_TIMES.size());
+            Schedule schedule = new Schedule();
+            schedule.setCourse(courses.get(i % roomCount));
+            schedule.setProfessor(professors.get(i % professors.size()));
+            schedule.setClassroom(classrooms.get(i % roomCount));
+            schedule.setDayOfWeek(BenchmarkData.DAYS.get(slot / BenchmarkData.START_TIMES.size()));
+            schedule.setStartTime(startTime);
+            schedule.setEndTime(startTime.plusHours(BenchmarkData.SESSION_HOURS));
+            schedule.setSemester(SEMESTER);
+            schedule.setAcademicYear(BenchmarkData.ACADEMIC_YEAR);
+            term.add(schedule);
+        }
+        scheduleRepository.saveAll(term);
+        occupancy = OccupancyIndex.fromSlots(scheduleRepository.findSlotsBySemesterAndAcademicYear(SEMESTER, BenchmarkData.ACADEMIC_YEAR));
+
+        Random random = new Random(42);
+        probes = new Probe[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            LocalTime startTime = BenchmarkData.START_TIMES.get(random.nextInt(BenchmarkData.START_TIMES.size()))
+                    .plusHours(random.nextInt(2));
+            probes[i] = new Probe(
+                    classrooms.get(random.nextInt(classrooms.size())).getRoomId(),
+                    professors.get(random.nextInt(professors.size())).getProfessorId(),
+                    BenchmarkData.DAYS.get(random.nextInt(BenchmarkData.DAYS.size())),
+                    startTime, startTime.plusHours(BenchmarkData.SESSION_HOURS));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Boolean repositoryQueries() {
+        Probe probe = nextProbe();
+        return readOnlyTransactionTemplate.execute(status ->
+                scheduleRepository.findRoomConflicts(probe.roomId(), probe.dayOfWeek(), SEMESTER, BenchmarkData.ACADEMIC_YEAR,
+                        probe.startTime(), probe.endTime()).isEmpty()
+                        && scheduleRepository.findProfessorConflicts(probe.professorId(), probe.dayOfWeek(), SEMESTER,
+                        BenchmarkData.ACADEMIC_YEAR, probe.startTime(), probe.endTime()).isEmpty());
+    }
+
+    @Benchmark
+    public boolean occupancyIndex() {
+        Probe probe = nextProbe();
+        return occupancy.isRoomFree(probe.roomId(), probe.dayOfWeek(), probe.startTime(), probe.endTime())
+                && occupancy.isProfessorFree(probe.professorId(), probe.dayOfWeek(), probe.startTime(), probe.endTime());
+    }
+
+    private Probe nextProbe() {
+        return probes[next++ & (PROBES - 1)];
+    }
+}
@@ -0,0 +1,100 @@
+package com.javaproj.benchmarks;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.ClassroomRepository;
+import com.javaproj.db.Course;
+import com.javaproj.db.CourseRepository;
+import com.javaproj.db.Professor;
+import com.javaproj.db.ProfessorRepository;
+import com.javaproj.db.Schedule;
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.db.Student;
+import com.javaproj.db.StudentRepository;
+import com.javaproj.dto.EnrollmentResponseDTO;
+import com.javaproj.services.EnrollmentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// EnrollmentService.createEnrollment end to end: lookups, duplicate and timetable-clash checks, the seat
+// reservation, the insert and the commit. Every call enrolls a new (student, schedule) pair that passes all
+// checks, so only the success path is measured: each schedule is alone in its own term (no clashes) and its
+// classroom has more seats than there are students.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnrollmentCreationBenchmark {
+
+    private static final int STUDENTS = 1000;
+    private static final int SCHEDULES = 500;
+
+    private ConfigurableApplicationContext context;
+    private EnrollmentService enrollmentService;
+    private Integer[] studentIds;
+    private Integer[] scheduleIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        enrollmentService = context.getBean(EnrollmentService.class);
+
+        List<Student> students = BenchmarkData.students(context.getBean(StudentRepository.class), "ES", STUDENTS);
+        Course course = BenchmarkData.courses(context.getBean(CourseRepository.class), "EC", 1).get(0);
+        Professor professor = BenchmarkData.professors(context.getBean(ProfessorRepository.class), "EP", 1).get(0);
+        Classroom classroom = BenchmarkData.classrooms(context.getBean(ClassroomRepository.class), "ER", 1, STUDENTS).get(0);
+
+        List<Schedule> schedules = new ArrayList<>(SCHEDULES);
+        for (int i = 0; i < SCHEDULES; i++) {
+            Schedule schedule = new Schedule();
+            schedule.setCourse(course);
+            schedule.setProfessor(professor);
+            schedule.setClassroom(classroom);
+            schedule.setDayOfWeek(BenchmarkData.DAYS.get(0));
+            schedule.setStartTime(LocalTime.of(8, 0));
+            schedule.setEndTime(LocalTime.of(10, 0));
+            schedule.setSemester("Bench Enrollment " + i);
+            schedule.setAcademicYear(BenchmarkData.ACADEMIC_YEAR);
+            schedules.add(schedule);
+        }
+        schedules = context.getBean(ScheduleRepository.class).saveAll(schedules);
+
+        studentIds = students.stream().map(Student::getStudentId).toArray(Integer[]::new);
+        scheduleIds = schedules.stream().map(Schedule::getScheduleId).toArray(Integer[]::new);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EnrollmentResponseDTO createEnrollment() {
+        int pair = next++;
+        if (pair >= STUDENTS * SCHEDULES) {
+            throw new IllegalStateException("All " + STUDENTS * SCHEDULES + " (student, schedule) pairs are enrolled; shorten the run.");
+        }
+        EnrollmentService.EnrollmentRequest request = new EnrollmentService.EnrollmentRequest();
+        request.studentId = studentIds[pair % STUDENTS];
+        request.scheduleId = scheduleIds[pair / STUDENTS];
+        return enrollmentService.createEnrollment(request);
+    }
+}
@@ -0,0 +1,164 @@
+package com.javaproj.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The enrollment and timetable endpoints over HTTP, with requests on Tomcat's platform thread pool
+// (threading=platform) or on virtual threads behind the concurrency limit of VirtualThreadConfig (threading=virtual,
+// needs Java 21). Every JMH thread is a client sending requests back to back (-t changes their number). Throughput
+// gives requests per second, SampleTime the latency distribution (p0.99 in the report). The aux counters split the
+// responses into ok (2xx), conflict (409, enroll only) and busy (503 from the concurrency limit).
+// - timetable: GET /api/v1/students/{id}/timetable. The timetable cache is off, so every request loads from the
+//   database.
+// - enrollmentsOfStudent: GET /api/v1/enrollments?studentId={id}
+// - enroll: POST /api/v1/enrollments?waitlist=false for a random (student, schedule): created, or refused as a
+//   duplicate, clash or full schedule.
+// Both modes get the same Hikari pool (20 connections).
+//
+// The data is a synthetic university (SyntheticDataGenerator, seed.size=small) in H2, where queries hardly wait.
+// For the blocking waits of a real database, point it at a PostgreSQL database already seeded with the "seed"
+// profile; the enroll benchmark adds enrollments to it:
+//   java -jar benchmarks/target/benchmarks.jar RequestThreading -jvmArgsAppend \
+//       "-Dbenchmark.datasource.url=jdbc:postgresql://localhost:5432/bench -Dbenchmark.datasource.username=postgres -Dbenchmark.datasource.password=postgres"
+// Run it with a Java 21 java for threading=virtual, or with -p threading=platform on Java 17.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class RequestThreadingBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private int[] studentIds;
+    private int[] scheduleIds;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Responses {
+        public long ok;
+        public long conflict;
+        public long busy;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtualThreads = threading.equals("virtual");
+        if (virtualThreads && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("threading=virtual needs Java 21, this is " + Runtime.version());
+        }
+
+        Map<String, String> properties = BenchmarkContext.defaultProperties();
+        String url = System.getProperty("benchmark.datasource.url");
+        if (url != null) {
+            // An existing database: migrated by Flyway and validated as in production.
+            properties.remove("spring.flyway.enabled");
+            properties.remove("spring.jpa.hibernate.ddl-auto");
+            properties.put("spring.datasource.url", url);
+            properties.put("spring.datasource.username", System.getProperty("benchmark.datasource.username", "postgres"));
+            properties.put("spring.datasource.password", System.getProperty("benchmark.datasource.password", "postgres"));
+        } else {
+            properties.put("spring.profiles.active", "seed");
+            properties.put("seed.size", "small");
+            properties.put("seed.exit-when-done", "false");
+            // application-seed.properties turns the web server off
+            properties.put("spring.main.web-application-type", "servlet");
+        }
+        properties.put("server.port", "0");
+        properties.put("spring.threads.virtual.enabled", String.valueOf(virtualThreads));
+        properties.put("spring.datasource.hikari.maximum-pool-size", "20");
+        properties.put("timetable-cache.max-sessions", "0");
+        context = BenchmarkContext.start(WebApplicationType.SERVLET, properties);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        studentIds = jdbcTemplate.queryForList("SELECT student_id FROM Students", Integer.class)
+                .stream().mapToInt(Integer::intValue).toArray();
+        scheduleIds = jdbcTemplate.queryForList("SELECT schedule_id FROM Schedule", Integer.class)
+                .stream().mapToInt(Integer::intValue).toArray();
+        if (studentIds.length == 0 || scheduleIds.length == 0) {
+            throw new IllegalStateException("No students or schedules in " + properties.get("spring.datasource.url"));
+        }
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int timetable(Responses responses) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/students/" + randomStudent() + "/timetable")), responses);
+    }
+
+    @Benchmark
+    public int enrollmentsOfStudent(Responses responses) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/enrollments?studentId=" + randomStudent())), responses);
+    }
+
+    @Benchmark
+    public int enroll(Responses responses) throws IOException, InterruptedException {
+        int scheduleId = scheduleIds[ThreadLocalRandom.current().nextInt(scheduleIds.length)];
+        String body = "{\"studentId\":" + randomStudent() + ",\"scheduleId\":" + scheduleId + "}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/enrollments?waitlist=false"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), responses);
+    }
+
+    private int randomStudent() {
+        return studentIds[ThreadLocalRandom.current().nextInt(studentIds.length)];
+    }
+
+    private int send(HttpRequest.Builder request, Responses responses) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        if (status / 100 == 2) {
+            responses.ok++;
+        } else if (status == 409) {
+            responses.conflict++;
+        } else if (status == 503) {
+            responses.busy++;
+        } else {
+            throw new IllegalStateException(status + " from " + response.uri() + ": " + response.body());
+        }
+        return status;
+    }
+}
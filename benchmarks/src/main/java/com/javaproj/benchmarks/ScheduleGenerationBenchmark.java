@@ -0,0 +1,95 @@
+package com.javaproj.benchmarks;
+
+import com.javaproj.db.ClassroomRepository;
+import com.javaproj.db.Course;
+import com.javaproj.db.CourseRepository;
+import com.javaproj.db.ProfessorRepository;
+import com.javaproj.dto.ScheduleGenerationRequest;
+import com.javaproj.dto.ScheduleResponseDTO;
+import com.javaproj.services.ScheduleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// One generateAutomaticSchedule call for `courses` courses into an empty term: loading the term, the engine and
+// saving the result, each invocation timed on its own. The generated sessions are deleted after every
+// invocation. There is a professor per 10 courses and a classroom per 5, in a term of 30 two-hour slots, so
+// GREEDY places every course.
+// SOLVER and OPTIMIZE run until their time budget is spent, so compare them with -p timeBudgetMillis=...
+// rather than by score.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScheduleGenerationBenchmark {
+
+    private static final String SEMESTER = "Bench Generation";
+
+    @Param({"100", "1000", "10000"})
+    public int courses;
+
+    @Param({"GREEDY"})
+    public ScheduleGenerationRequest.Strategy strategy;
+
+    @Param({"2000"})
+    public long timeBudgetMillis;
+
+    private ConfigurableApplicationContext context;
+    private ScheduleService scheduleService;
+    private JdbcTemplate jdbcTemplate;
+    private ScheduleGenerationRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        scheduleService = context.getBean(ScheduleService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Course> seeded = BenchmarkData.courses(context.getBean(CourseRepository.class), "GC", courses);
+        BenchmarkData.professors(context.getBean(ProfessorRepository.class), "GP", Math.max(BenchmarkData.DEPARTMENTS.size(), courses / 10));
+        BenchmarkData.classrooms(context.getBean(ClassroomRepository.class), "GR", courses / 5, 100);
+
+        request = new ScheduleGenerationRequest();
+        request.setCourseIds(seeded.stream().map(Course::getCourseId).collect(Collectors.toList()));
+        request.setSemester(SEMESTER);
+        request.setAcademicYear(BenchmarkData.ACADEMIC_YEAR);
+        request.setDaysOfWeek(BenchmarkData.DAYS);
+        request.setStartTimes(BenchmarkData.START_TIMES);
+        request.setDefaultDurationHours(BenchmarkData.SESSION_HOURS);
+        request.setStrategy(strategy);
+        request.setTimeBudgetMillis(timeBudgetMillis);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteGeneratedSchedules() {
+        jdbcTemplate.update("DELETE FROM schedule WHERE semester = ? AND academic_year = ?", SEMESTER, BenchmarkData.ACADEMIC_YEAR);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ScheduleResponseDTO> generateAutomaticSchedule() {
+        return scheduleService.generateAutomaticSchedule(request);
+    }
+}
@@ -0,0 +1,113 @@
+package com.javaproj.services;
+
+import com.javaproj.benchmarks.BenchmarkContext;
+import com.javaproj.db.Classroom;
+import com.javaproj.db.Course;
+import com.javaproj.db.Enrollment;
+import com.javaproj.db.Professor;
+import com.javaproj.db.Schedule;
+import com.javaproj.db.Student;
+import com.javaproj.dto.EnrollmentResponseDTO;
+import com.javaproj.dto.ScheduleResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+// Entity to DTO mapping of ScheduleService and EnrollmentService (convertToDTO), which every list endpoint and
+// export runs once per row. The entities are built in memory with all associations set, so no database access
+// or lazy loading is measured. In the services' package because convertToDTO is package-private; the
+// application context only supplies the service instances.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ScheduleService scheduleService;
+    private EnrollmentService enrollmentService;
+    private Schedule schedule;
+    private Enrollment enrollment;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        scheduleService = context.getBean(ScheduleService.class);
+        enrollmentService = context.getBean(EnrollmentService.class);
+
+        Course course = new Course();
+        course.setCourseId(1);
+        course.setCourseCode("CS101");
+        course.setCourseName("Introduction to Programming");
+        course.setCredits(5);
+        course.setDepartment("Computer Science");
+        Professor professor = new Professor();
+        professor.setProfessorId(1);
+        professor.setFirstName("John");
+        professor.setLastName("Doe");
+        professor.setEmail("john.doe@example.com");
+        professor.setDepartment("Computer Science");
+        Classroom classroom = new Classroom();
+        classroom.setRoomId(1);
+        classroom.setRoomNumber("C101");
+        classroom.setCapacity(50);
+
+        schedule = new Schedule();
+        schedule.setScheduleId(1);
+        schedule.setCourse(course);
+        schedule.setProfessor(professor);
+        schedule.setClassroom(classroom);
+        schedule.setDayOfWeek("Luni");
+        schedule.setStartTime(LocalTime.of(10, 0));
+        schedule.setEndTime(LocalTime.of(12, 0));
+        schedule.setSemester("Toamna 2024");
+        schedule.setAcademicYear("2024-2025");
+
+        Student student = new Student();
+        student.setStudentId(1);
+        student.setFirstName("Alice");
+        student.setLastName("Wonderland");
+        student.setEmail("alice.w@example.com");
+        student.setMajor("Computer Science");
+        student.setEnrollmentDate(LocalDate.of(2023, 9, 1));
+
+        enrollment = new Enrollment();
+        enrollment.setEnrollmentId(1);
+        enrollment.setStudent(student);
+        enrollment.setSchedule(schedule);
+        enrollment.setEnrollmentDate(LocalDate.of(2024, 10, 1));
+        enrollment.setGrade(new BigDecimal("9.50"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ScheduleResponseDTO scheduleToDto() {
+        return scheduleService.convertToDTO(schedule);
+    }
+
+    @Benchmark
+    public EnrollmentResponseDTO enrollmentToDto() {
+        return enrollmentService.convertToDTO(enrollment);
+    }
+}
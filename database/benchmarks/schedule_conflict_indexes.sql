@@ -0,0 +1,113 @@
+-- Conflict-check queries on a 1M-row Schedule table, before and after migration V2__schedule_conflict_indexes.sql
+-- (untitled/src/main/resources/db/migration).
+-- Runs in a scratch schema and drops it at the end:
+--   psql -h localhost -U postgres -d proj_db -f database/benchmarks/schedule_conflict_indexes.sql
+--
+-- Data: 2000 rooms x 5 days x 10 terms x 10 one-hour slots (08:00-18:00) = 1,000,000 sessions, 20000 professors
+-- with 50 sessions each. Professors are assigned so that no professor teaches two sessions at the same time,
+-- which keeps the exclusion constraints satisfiable. Compare "Execution Time" and "Buffers: shared hit/read"
+-- of the same query in the two phases.
+--
+-- PostgreSQL 16.2, cold cache, this data:
+--   room conflict       0.05 ms / 6 buffers     -> unchanged (unique_room_time_slot both times)
+--   professor conflict  0.09 ms, 50 rows read   -> 0.11 ms, 1 row read (exclusion constraint's GiST index)
+--   term slots          322 ms, seq scan, 12000 buffers -> 47 ms, index-only scan, 1025 buffers
+--   building the two exclusion constraints: ~90 s each; GiST indexes ~160 MB each
+
+\timing on
+SET client_min_messages = warning;
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+SET search_path = bench, public;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE TABLE Schedule (
+    schedule_id SERIAL PRIMARY KEY,
+    course_id INT NOT NULL,
+    professor_id INT NOT NULL,
+    room_id INT NOT NULL,
+    day_of_week VARCHAR(10) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    semester VARCHAR(20) NOT NULL,
+    academic_year VARCHAR(9) NOT NULL,
+    CONSTRAINT check_time CHECK (end_time > start_time),
+    CONSTRAINT unique_room_time_slot UNIQUE (room_id, day_of_week, semester, academic_year, start_time)
+);
+
+INSERT INTO Schedule (course_id, professor_id, room_id, day_of_week, start_time, end_time, semester, academic_year)
+SELECT (room + slot * 7) % 500 + 1,
+       (room + slot * 2000) % 20000 + 1,
+       room,
+       (ARRAY['Luni', 'Marti', 'Miercuri', 'Joi', 'Vineri'])[day],
+       TIME '08:00' + slot * INTERVAL '1 hour',
+       TIME '09:00' + slot * INTERVAL '1 hour',
+       CASE WHEN term % 2 = 0 THEN 'Toamna ' || (2020 + term / 2) ELSE 'Primavara ' || (2021 + term / 2) END,
+       (2020 + term / 2) || '-' || (2021 + term / 2)
+FROM generate_series(1, 2000) AS room,
+     generate_series(1, 5) AS day,
+     generate_series(0, 9) AS term,
+     generate_series(0, 9) AS slot;
+
+-- Indexes before V2.
+CREATE INDEX idx_schedule_course_id ON Schedule(course_id);
+CREATE INDEX idx_schedule_professor_id ON Schedule(professor_id);
+CREATE INDEX idx_schedule_room_id ON Schedule(room_id);
+VACUUM ANALYZE Schedule;
+
+\echo '=== before: room conflict (findRoomConflicts) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM Schedule WHERE room_id = 1234 AND day_of_week = 'Miercuri' AND semester = 'Toamna 2024'
+  AND academic_year = '2024-2025' AND start_time < TIME '11:30' AND end_time > TIME '10:30';
+
+\echo '=== before: professor conflict (findProfessorConflicts) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM Schedule WHERE professor_id = 4321 AND day_of_week = 'Miercuri' AND semester = 'Toamna 2024'
+  AND academic_year = '2024-2025' AND start_time < TIME '11:30' AND end_time > TIME '10:30';
+
+\echo '=== before: term slots (findSlotsBySemesterAndAcademicYear) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT schedule_id, room_id, professor_id, day_of_week, start_time, end_time
+FROM Schedule WHERE semester = 'Toamna 2024' AND academic_year = '2024-2025';
+
+-- Same statements as the migration, timed on 1M rows.
+CREATE INDEX idx_schedule_term
+    ON Schedule (semester, academic_year) INCLUDE (schedule_id, room_id, professor_id, day_of_week, start_time, end_time);
+CREATE STATISTICS stat_schedule_term (dependencies) ON semester, academic_year FROM Schedule;
+DROP INDEX idx_schedule_professor_id;
+DROP INDEX idx_schedule_room_id;
+ALTER TABLE Schedule ADD CONSTRAINT excl_schedule_room_overlap EXCLUDE USING gist (
+    room_id WITH =, day_of_week WITH =, semester WITH =, academic_year WITH =,
+    tsrange(DATE '2000-01-01' + start_time, DATE '2000-01-01' + end_time, '[)') WITH &&);
+ALTER TABLE Schedule ADD CONSTRAINT excl_schedule_professor_overlap EXCLUDE USING gist (
+    professor_id WITH =, day_of_week WITH =, semester WITH =, academic_year WITH =,
+    tsrange(DATE '2000-01-01' + start_time, DATE '2000-01-01' + end_time, '[)') WITH &&);
+VACUUM ANALYZE Schedule;
+
+\echo '=== after: room conflict (findRoomConflicts) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM Schedule WHERE room_id = 1234 AND day_of_week = 'Miercuri' AND semester = 'Toamna 2024'
+  AND academic_year = '2024-2025' AND start_time < TIME '11:30' AND end_time > TIME '10:30';
+
+\echo '=== after: professor conflict (findProfessorConflicts) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM Schedule WHERE professor_id = 4321 AND day_of_week = 'Miercuri' AND semester = 'Toamna 2024'
+  AND academic_year = '2024-2025' AND start_time < TIME '11:30' AND end_time > TIME '10:30';
+
+\echo '=== after: term slots (findSlotsBySemesterAndAcademicYear) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT schedule_id, room_id, professor_id, day_of_week, start_time, end_time
+FROM Schedule WHERE semester = 'Toamna 2024' AND academic_year = '2024-2025';
+
+\echo '=== after: an overlapping insert is rejected by the database (expect a 23P01 exclusion violation) ==='
+INSERT INTO Schedule (course_id, professor_id, room_id, day_of_week, start_time, end_time, semester, academic_year)
+SELECT 1, professor_id, 1, day_of_week, start_time + INTERVAL '30 minutes', end_time + INTERVAL '30 minutes',
+       semester, academic_year
+FROM Schedule WHERE professor_id = 4321 AND semester = 'Toamna 2024' LIMIT 1;
+
+\echo '=== index sizes ==='
+SELECT indexrelname, pg_size_pretty(pg_relation_size(indexrelid)) AS size
+FROM pg_stat_user_indexes WHERE schemaname = 'bench' ORDER BY indexrelname;
+
+RESET search_path;
+DROP SCHEMA bench CASCADE;
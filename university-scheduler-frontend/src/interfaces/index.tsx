@@ -53,6 +53,21 @@ export interface Enrollment {
   grade: number | null
 }
 
+export interface ScheduleGenerationJob {
+  jobId: string
+  status: "QUEUED" | "RUNNING" | "COMPLETED" | "FAILED" | "CANCELLED"
+  strategy: string | null
+  coursesTotal: number
+  coursesPlaced: number
+  coursesRemaining: number
+  bestScore: number | null
+  message: string | null
+  submittedAt: string
+  startedAt: string | null
+  finishedAt: string | null
+  schedules: Schedule[] | null
+}
+
 export type DayOfWeek =
   | "Luni"
   | "Marti"
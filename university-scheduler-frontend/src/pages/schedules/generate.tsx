@@ -3,12 +3,27 @@ import type { NextPage } from "next"
 import Link from "next/link"
 import styles from "../../styles/FormPage.module.css"
 import tableStyles from "../../styles/TablePage.module.css"
-import { Course, Schedule, DaysOfWeek, DayOfWeek } from "../../interfaces"
+import {
+  Course,
+  Schedule,
+  DaysOfWeek,
+  DayOfWeek,
+  ScheduleGenerationJob,
+} from "../../interfaces"
 
 const API_BASE_URL = "http://localhost:8100/api/v1"
 
 const PREDEFINED_START_TIMES = ["09:00", "11:00", "14:00", "16:00"]
 
+const JOB_POLL_INTERVAL_MS = 1000
+
+const sleep = (ms: number) => new Promise((resolve) => setTimeout(resolve, ms))
+
+const readError = async (response: Response) => {
+  const text = await response.text()
+  return text || `HTTP error! status: ${response.status}`
+}
+
 const GenerateSchedulePage: NextPage = () => {
   const [allCourses, setAllCourses] = useState<Course[]>([])
   const [selectedCourseIds, setSelectedCourseIds] = useState<Set<number>>(
@@ -25,6 +40,7 @@ const GenerateSchedulePage: NextPage = () => {
   const [generatedSchedules, setGeneratedSchedules] = useState<Schedule[]>([])
   const [error, setError] = useState<string | null>(null)
   const [submitting, setSubmitting] = useState<boolean>(false)
+  const [job, setJob] = useState<ScheduleGenerationJob | null>(null)
   const [loadingCourses, setLoadingCourses] = useState<boolean>(true)
 
   useEffect(() => {
@@ -88,6 +104,7 @@ const GenerateSchedulePage: NextPage = () => {
     setError(null)
     setSubmitting(true)
     setGeneratedSchedules([])
+    setJob(null)
 
     if (selectedCourseIds.size === 0) {
       setError("Please select at least one course.")
@@ -124,18 +141,35 @@ const GenerateSchedulePage: NextPage = () => {
         }
       )
 
-      const responseData = await response.json()
       if (!response.ok) {
-        throw new Error(
-          responseData.message || `HTTP error! status: ${response.status}`
+        throw new Error(await readError(response))
+      }
+
+      // generation runs as a background job: poll until it finishes
+      let current: ScheduleGenerationJob = await response.json()
+      setJob(current)
+      while (current.status === "QUEUED" || current.status === "RUNNING") {
+        await sleep(JOB_POLL_INTERVAL_MS)
+        const pollResponse = await fetch(
+          `${API_BASE_URL}/schedules/generate-automatic/${current.jobId}`
         )
+        if (!pollResponse.ok) {
+          throw new Error(await readError(pollResponse))
+        }
+        current = await pollResponse.json()
+        setJob(current)
+      }
+
+      if (current.status !== "COMPLETED") {
+        throw new Error(current.message || `Generation ${current.status}`)
       }
-      setGeneratedSchedules(responseData)
-      if (responseData.length === 0 && payload.courseIds.length > 0) {
+      const schedules = current.schedules ?? []
+      setGeneratedSchedules(schedules)
+      if (schedules.length === 0 && payload.courseIds.length > 0) {
         setError(
           "No schedules could be generated with the given constraints for the selected courses."
         )
-      } else if (responseData.length > 0) {
+      } else if (schedules.length > 0) {
         // clear errors
         setError(null)
       }
@@ -147,6 +181,17 @@ const GenerateSchedulePage: NextPage = () => {
     }
   }
 
+  const handleCancel = async () => {
+    if (!job) return
+    try {
+      await fetch(`${API_BASE_URL}/schedules/generate-automatic/${job.jobId}`, {
+        method: "DELETE",
+      })
+    } catch (err: any) {
+      console.error("Failed to cancel schedule generation:", err)
+    }
+  }
+
   if (loadingCourses) return <p>Loading courses for selection...</p>
 
   return (
@@ -250,8 +295,24 @@ const GenerateSchedulePage: NextPage = () => {
         >
           {submitting ? "Generating..." : "Generate Schedule"}
         </button>
+        {submitting && job && (
+          <button
+            type="button"
+            onClick={handleCancel}
+            className={styles.submitButton}
+          >
+            Cancel
+          </button>
+        )}
       </form>
 
+      {submitting && job && (
+        <p>
+          {job.status}: {job.coursesPlaced} / {job.coursesTotal} courses placed
+          {job.bestScore !== null && ` (best score ${job.bestScore.toFixed(1)})`}
+        </p>
+      )}
+
       {generatedSchedules.length > 0 && (
         <div className={tableStyles.container} style={{ marginTop: "30px" }}>
           <h2>Generated Schedules</h2>
@@ -0,0 +1,46 @@
+package com.javaproj.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Reference data read by schedule and enrollment requests (see ReferenceDataCache).
+    public static final String COURSES = "courses";
+    public static final String PROFESSORS = "professors";
+    public static final String CLASSROOMS = "classrooms";
+
+    // Each cache is bounded by size and entries expire after the TTL even without an eviction, which caps
+    // the staleness of rows changed outside the services (e.g. by hand in the database).
+    // Evictions are deferred until the writing transaction commits; otherwise a concurrent read could cache
+    // the old row again between the eviction and the commit.
+    // Statistics are recorded so Actuator publishes cache.gets (hit/miss), cache.puts and cache.evictions.
+    // The caches count evictions (EvictionCountingCache) so the warm-up can tell which of its rows may be stale.
+    @Bean
+    public CacheManager cacheManager(@Value("${reference-cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${reference-cache.ttl-minutes:10}") long ttlMinutes) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(COURSES, PROFESSORS, CLASSROOMS) {
+            @Override
+            protected org.springframework.cache.Cache adaptCaffeineCache(String name, Cache<Object, Object> cache) {
+                return new EvictionCountingCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,68 @@
+package com.javaproj.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Lets at most maxConcurrentRequests requests run at once (see VirtualThreadConfig). The others wait, in arrival
+// order, for up to queueTimeout and are then answered with 503 and Retry-After. Waiting here parks a virtual
+// thread without holding anything, unlike waiting for a pooled connection.
+// A streamed export gives its permit back when the request thread returns; the stream itself is bounded by the
+// export pool (WebConfig).
+// Meters: http.server.requests.active.limited (running), http.server.requests.queued (waiting) and
+// http.server.requests.rejected (503s).
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long queueTimeoutMs;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, long queueTimeoutMs, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.queueTimeoutMs = queueTimeoutMs;
+        Gauge.builder("http.server.requests.active.limited", permits, p -> maxConcurrentRequests - p.availablePermits())
+                .description("Requests holding one of virtual-threads.max-concurrent-requests")
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.queued", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a free slot")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("http.server.requests.rejected")
+                .description("Requests answered with 503 after waiting virtual-threads.queue-timeout-ms")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType("text/plain;charset=UTF-8");
+            response.getWriter().write("Too many requests in progress. Please retry later.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.javaproj.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caffeine cache that counts evictions requested through Spring's cache abstraction (@CacheEvict), whether or
+// not the key was cached. A bulk load compares the count before and after reading its rows to tell whether one
+// of them may have changed in between (see ReferenceDataCache.warmUp).
+public class EvictionCountingCache extends CaffeineCache {
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public EvictionCountingCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    // Evictions so far of the given cache, as returned by the CacheManager of CacheConfig.
+    public static long evictions(org.springframework.cache.Cache cache) {
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return ((EvictionCountingCache) cache).evictions.get();
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.incrementAndGet();
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        evictions.incrementAndGet();
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        evictions.incrementAndGet();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.incrementAndGet();
+        return super.invalidate();
+    }
+}
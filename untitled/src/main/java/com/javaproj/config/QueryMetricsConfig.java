@@ -0,0 +1,55 @@
+package com.javaproj.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Query instrumentation, off unless query-metrics.enabled=true: when off, the DataSource is not proxied and
+// no per-statement or per-request work is done.
+// - jdbc.statements / jdbc.statements.slow and the slow-query log: QueryMetricsListener
+// - http.server.requests.statements: StatementCountFilter
+// - spring.data.repository.invocations (time per repository method) is Spring Boot's own metric, switched by
+//   management.metrics.data.repository.autotime.enabled in application.properties.
+@Configuration
+@ConditionalOnProperty(name = "query-metrics.enabled", havingValue = "true")
+public class QueryMetricsConfig {
+
+    // Static: post-processors are created before the other beans of this class.
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistryProvider,
+            @Value("${query-metrics.slow-query-threshold-ms:200}") long slowQueryThresholdMs) {
+        QueryMetricsListener listener = new QueryMetricsListener(meterRegistryProvider, Duration.ofMillis(slowQueryThresholdMs));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<StatementCountFilter> statementCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${query-metrics.request-statement-warn-threshold:50}") int warnThreshold) {
+        FilterRegistrationBean<StatementCountFilter> registration =
+                new FilterRegistrationBean<>(new StatementCountFilter(meterRegistry, warnThreshold));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
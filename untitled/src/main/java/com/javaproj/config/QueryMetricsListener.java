@@ -0,0 +1,121 @@
+package com.javaproj.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Called by the proxied DataSource after every JDBC execute (see QueryMetricsConfig).
+// - jdbc.statements: timer per statement type (select, insert, update, delete, other), outcome and batch flag.
+//   The time is that of the execute call; rows fetched later from a ResultSet are not included.
+// - Statements at or above the slow-query threshold are logged at WARN with their SQL (bind values are not
+//   logged) and counted in jdbc.statements.slow.
+// - The statement is added to the current HTTP request's count, if any (see StatementCountFilter).
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryMetricsListener.class);
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+
+    // Statements executed by the current request thread; null outside a request.
+    private static final ThreadLocal<int[]> REQUEST_STATEMENTS = new ThreadLocal<>();
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final long slowQueryThresholdMs;
+    // The DataSource is proxied before the MeterRegistry exists, so meters are created on first use.
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> slowCounters = new ConcurrentHashMap<>();
+
+    public QueryMetricsListener(ObjectProvider<MeterRegistry> meterRegistryProvider, Duration slowQueryThreshold) {
+        this.meterRegistryProvider = meterRegistryProvider;
+        this.slowQueryThresholdMs = slowQueryThreshold.toMillis();
+    }
+
+    static void beginRequest() {
+        REQUEST_STATEMENTS.set(new int[1]);
+    }
+
+    // Returns the number of statements executed since beginRequest.
+    static int endRequest() {
+        int[] count = REQUEST_STATEMENTS.get();
+        REQUEST_STATEMENTS.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        int[] requestCount = REQUEST_STATEMENTS.get();
+        if (requestCount != null) {
+            requestCount[0]++;
+        }
+
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        String type = statementType(sql);
+        String outcome = execInfo.isSuccess() ? "success" : "error";
+        boolean batch = execInfo.isBatch();
+        long elapsedMs = execInfo.getElapsedTime();
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (registry != null) {
+            timers.computeIfAbsent(type + '|' + outcome + '|' + batch, key -> Timer.builder("jdbc.statements")
+                    .description("JDBC statement executions")
+                    .tag("type", type)
+                    .tag("outcome", outcome)
+                    .tag("batch", String.valueOf(batch))
+                    .register(registry))
+                    .record(elapsedMs, TimeUnit.MILLISECONDS);
+        }
+
+        if (elapsedMs >= slowQueryThresholdMs) {
+            if (registry != null) {
+                slowCounters.computeIfAbsent(type, key -> Counter.builder("jdbc.statements.slow")
+                        .description("JDBC statements at or above query-metrics.slow-query-threshold-ms")
+                        .tag("type", type)
+                        .register(registry))
+                        .increment();
+            }
+            log.warn("Slow query ({} ms{}{}): {}", elapsedMs,
+                    batch ? ", batch of " + execInfo.getBatchSize() : "",
+                    execInfo.isSuccess() ? "" : ", failed",
+                    sql.length() > MAX_LOGGED_SQL_LENGTH ? sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "..." : sql);
+        }
+    }
+
+    // First keyword of the statement; cheaper than parsing it.
+    private static String statementType(String sql) {
+        int start = 0;
+        while (start < sql.length() && !Character.isLetter(sql.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String keyword = sql.substring(start, end).toLowerCase(Locale.ROOT);
+        switch (keyword) {
+            case "select":
+            case "with":
+                return "select";
+            case "insert":
+            case "update":
+            case "delete":
+                return keyword;
+            default:
+                return "other";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.javaproj.config;
+
+import com.javaproj.reactive.ReactiveReadServer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Reactive read API, a second server next to the servlet one (reactive-read.port): GET /api/v1/schedules and
+// GET /api/v1/students/{id}/timetable as NDJSON streams, read through R2DBC on a few event-loop threads, so a large
+// number of concurrent viewers costs connections and buffers but no threads. Writes and every other endpoint stay on
+// the servlet API and JPA.
+// Spring Boot runs an application either as a servlet or as a reactive web application, so the reactive server is
+// a child context (see com.javaproj.reactive), the way Actuator runs on a separate management port. Its R2DBC pool
+// is not a bean of this context: Spring Boot would not create the JDBC DataSource next to an R2DBC ConnectionFactory
+// (R2dbcAutoConfiguration is excluded in application.properties for the same reason).
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "reactive-read.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(ConfigurableApplicationContext applicationContext) {
+        return new ReactiveReadServer(applicationContext);
+    }
+}
@@ -0,0 +1,77 @@
+package com.javaproj.config;
+
+import com.javaproj.db.ReadReplicas;
+import com.javaproj.db.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Read replicas, off unless read-replicas.enabled=true: read-only transactions go to the replicas in
+// read-replicas.urls, everything else to spring.datasource.url (ReplicaRoutingDataSource). Replaces Spring Boot's
+// DataSource, so the primary pool is built here from the same spring.datasource.* properties.
+// Connection pools are named primary, replica-1, replica-2, ... in the hikaricp.connections.* meters.
+@Configuration
+@ConditionalOnProperty(name = "read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReadReplicas readReplicas(
+            MeterRegistry meterRegistry,
+            @Value("${read-replicas.urls}") List<String> urls,
+            @Value("${read-replicas.username}") String username,
+            @Value("${read-replicas.password}") String password,
+            @Value("${read-replicas.max-pool-size:10}") int maxPoolSize,
+            @Value("${read-replicas.connection-timeout-ms:1000}") long connectionTimeoutMs,
+            @Value("${read-replicas.max-lag-ms:2000}") long maxLagMs) {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("read-replicas.enabled=true but read-replicas.urls is empty");
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (pools.size() + 1));
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(username);
+            pool.setPassword(password);
+            pool.setMaximumPoolSize(maxPoolSize);
+            // Short: a replica that does not answer is skipped and the read goes to the primary.
+            pool.setConnectionTimeout(connectionTimeoutMs);
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.add(pool);
+        }
+        return new ReadReplicas(pools, maxLagMs, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                               MeterRegistry meterRegistry, ReadReplicas readReplicas) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReplicaRoutingDataSource(primary, readReplicas);
+    }
+
+    // Hibernate otherwise keeps a session's connection until the session closes, and with open-in-view the session
+    // spans the request: a write after a read in the same request would reuse the read's replica connection.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
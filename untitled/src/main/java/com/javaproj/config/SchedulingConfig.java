@@ -0,0 +1,29 @@
+package com.javaproj.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling // periodic maintenance, e.g. SeatInventory.reconcile and WaitlistService.promotePending
+public class SchedulingConfig {
+
+    // Background schedule generation. The pool is deliberately small and the queue bounded: every running
+    // job briefly needs a pooled connection to load and save a term, and further submissions are rejected
+    // instead of piling up behind the Hikari pool.
+    @Bean(name = "scheduleGenerationExecutor")
+    public ThreadPoolTaskExecutor scheduleGenerationExecutor(
+            @Value("${scheduler.generation.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${scheduler.generation.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("schedule-generation-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
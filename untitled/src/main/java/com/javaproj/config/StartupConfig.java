@@ -0,0 +1,24 @@
+package com.javaproj.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+// Parallel startup. With spring.data.jpa.repositories.bootstrap-mode=deferred (application.properties) Hibernate
+// is bootstrapped on its own thread - entity metadata, ddl-auto=validate, the query plans of the repositories -
+// while the main thread creates the web server, MVC and Actuator beans. The repositories are initialised, and
+// wait for Hibernate if needed, when the context has been refreshed, so a schema mismatch still fails the start.
+// Flyway runs before either: Hibernate depends on the migrated schema.
+// Spring Boot only does this by itself when there is a single task executor or an applicationTaskExecutor; this
+// application has its own executors (SchedulingConfig, WebConfig), so the bootstrap thread is set here.
+@Configuration
+@ConditionalOnProperty(name = "spring.data.jpa.repositories.bootstrap-mode", havingValue = "deferred")
+public class StartupConfig {
+
+    @Bean
+    public EntityManagerFactoryBuilderCustomizer backgroundJpaBootstrap() {
+        return builder -> builder.setBootstrapExecutor(new SimpleAsyncTaskExecutor("jpa-bootstrap-"));
+    }
+}
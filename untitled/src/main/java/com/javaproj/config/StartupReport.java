@@ -0,0 +1,74 @@
+package com.javaproj.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Logs where the start-up time went once the application is ready: the total, the context refresh and the beans
+// that took longest to create, by their own time (excluding the beans they pulled in). The full step timeline is
+// at GET /actuator/startup. Needs the BufferingApplicationStartup set in UniversitySchedulerApplication.main;
+// without it (e.g. the application started from the benchmarks) nothing is reported.
+@Component
+public class StartupReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private final int topBeans;
+
+    public StartupReport(@Value("${startup.report.top-beans:8}") int topBeans) {
+        this.topBeans = topBeans;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        ApplicationStartup applicationStartup = event.getApplicationContext().getApplicationStartup();
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        StartupTimeline timeline = buffering.getBufferedTimeline();
+
+        Map<Long, Duration> childTime = new HashMap<>();
+        Duration refresh = Duration.ZERO;
+        for (StartupTimeline.TimelineEvent timelineEvent : timeline.getEvents()) {
+            StartupStep step = timelineEvent.getStartupStep();
+            if (step.getParentId() != null) {
+                childTime.merge(step.getParentId(), timelineEvent.getDuration(), Duration::plus);
+            }
+            if ("spring.context.refresh".equals(step.getName())) {
+                refresh = timelineEvent.getDuration();
+            }
+        }
+        String slowestBeans = timeline.getEvents().stream()
+                .filter(timelineEvent -> "spring.beans.instantiate".equals(timelineEvent.getStartupStep().getName()))
+                .map(timelineEvent -> Map.entry(beanName(timelineEvent.getStartupStep()),
+                        timelineEvent.getDuration().minus(childTime.getOrDefault(timelineEvent.getStartupStep().getId(), Duration.ZERO))))
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                .limit(topBeans)
+                .map(entry -> entry.getKey() + " " + entry.getValue().toMillis() + " ms")
+                .collect(Collectors.joining(", "));
+
+        log.info("Ready in {} ms (context refresh {} ms). Slowest beans, own time: {}. Full timeline: GET /actuator/startup",
+                event.getTimeTaken().toMillis(), refresh.toMillis(), slowestBeans);
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
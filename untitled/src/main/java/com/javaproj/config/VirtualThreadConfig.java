@@ -0,0 +1,53 @@
+package com.javaproj.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Virtual-thread mode: spring.threads.virtual.enabled=true on Java 21 or later (ignored on Java 17). Spring Boot
+// then runs Tomcat requests and the @Scheduled tasks on virtual threads, and WebConfig does the same for the export
+// streams. Schedule generation keeps its small platform pool: it is CPU-bound.
+// Tomcat's thread pool no longer bounds the number of requests hitting the database, so this bounds it instead
+// (ConcurrencyLimitFilter). The limit has to leave room in the Hikari pool for the background work: a request should
+// wait for a permit, never for a connection. By default the limit is whatever the pool leaves (at least one). On
+// Java 21 a virtual thread blocked inside a synchronized block or a cache computation (TimetableService) keeps its
+// carrier thread, and if it is waiting for a connection the threads holding the connections may have no carrier left
+// to run on until the pool's connection-timeout.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${virtual-threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${virtual-threads.queue-timeout-ms:2000}") long queueTimeoutMs,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${scheduler.generation.max-concurrent-jobs:2}") int generationJobs,
+            @Value("${export.max-concurrent-streams:4}") int exportStreams) {
+        // One more connection for the scheduled task running at the time.
+        int backgroundConnections = generationJobs + exportStreams + 1;
+        if (maxConcurrentRequests <= 0) {
+            maxConcurrentRequests = Math.max(1, poolSize - backgroundConnections);
+            log.info("virtual-threads.max-concurrent-requests not set, using {} (spring.datasource.hikari.maximum-pool-size={} "
+                    + "less {} connections of background work)", maxConcurrentRequests, poolSize, backgroundConnections);
+        }
+        if (maxConcurrentRequests + backgroundConnections > poolSize) {
+            log.warn("virtual-threads.max-concurrent-requests={} plus up to {} connections of background work exceed "
+                            + "spring.datasource.hikari.maximum-pool-size={}; requests may block waiting for a connection",
+                    maxConcurrentRequests, backgroundConnections, poolSize);
+        }
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, queueTimeoutMs, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
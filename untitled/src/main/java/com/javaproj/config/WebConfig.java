@@ -1,12 +1,33 @@
 package com.javaproj.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final int maxConcurrentStreams;
+    private final Duration streamTimeout;
+    private final boolean virtualThreads;
+
+    public WebConfig(@Value("${export.max-concurrent-streams:4}") int maxConcurrentStreams,
+                     @Value("${export.stream-timeout-minutes:30}") long streamTimeoutMinutes,
+                     Environment environment) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.streamTimeout = Duration.ofMinutes(streamTimeoutMinutes);
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/api/v1/**")
@@ -14,4 +35,28 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*");
     }
-}
\ No newline at end of file
+
+    // StreamingResponseBody exports run on this pool. Each running export holds a pooled connection for
+    // its whole duration, so the pool stays small. In virtual-thread mode (VirtualThreadConfig) each stream gets a
+    // new virtual thread instead of a pooled one; the pool size still limits how many run at once.
+    @Bean(name = "exportStreamExecutor")
+    public ThreadPoolTaskExecutor exportStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentStreams);
+        executor.setMaxPoolSize(maxConcurrentStreams);
+        executor.setQueueCapacity(maxConcurrentStreams * 4);
+        executor.setThreadNamePrefix("export-stream-");
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor("export-stream-").getVirtualThreadFactory());
+        }
+        executor.initialize();
+        return executor;
+    }
+
+    // The timeout has to cover a full-table export.
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportStreamExecutor());
+        configurer.setDefaultTimeout(streamTimeout.toMillis());
+    }
+}
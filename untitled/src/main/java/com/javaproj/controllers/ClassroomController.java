@@ -34,11 +34,23 @@ public class ClassroomController {
         }
     }
 
+    // With after/limit/includeTotal all filters are combined into a KeysetPage;
+    // otherwise the first given filter selects the plain list as before.
     @GetMapping
-    public ResponseEntity<List<Classroom>> getAllClassrooms(
+    public ResponseEntity<?> getAllClassrooms(
             @RequestParam(required = false) String building,
             @RequestParam(required = false) Integer minCapacity,
-            @RequestParam(required = false) Boolean hasProjector) {
+            @RequestParam(required = false) Boolean hasProjector,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (after != null || limit != null || includeTotal) {
+            try {
+                return ResponseEntity.ok(classroomService.getClassroomPage(building, minCapacity, hasProjector, after, limit, includeTotal));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
         List<Classroom> classrooms;
         if (building != null) {
             classrooms = classroomService.getClassroomsByBuilding(building);
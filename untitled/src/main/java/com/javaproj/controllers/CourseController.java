@@ -34,11 +34,23 @@ public class CourseController {
         }
     }
 
+    // With after/limit/includeTotal the department and credits filters are combined into a KeysetPage;
+    // otherwise the first given filter selects the plain list as before.
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses(
+    public ResponseEntity<?> getAllCourses(
             @RequestParam(required = false) String department,
             @RequestParam(required = false) Integer credits,
-            @RequestParam(required = false) String nameFragment) {
+            @RequestParam(required = false) String nameFragment,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (after != null || limit != null || includeTotal) {
+            try {
+                return ResponseEntity.ok(courseService.getCoursePage(department, credits, after, limit, includeTotal));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
         List<Course> courses;
         if (department != null) {
             courses = courseService.getCoursesByDepartment(department);
@@ -1,14 +1,23 @@
 package com.javaproj.controllers;
 
 import com.javaproj.dto.EnrollmentResponseDTO;
+import com.javaproj.dto.KeysetPage;
+import com.javaproj.dto.TimetableClashDTO;
 import com.javaproj.services.EnrollmentService;
+import com.javaproj.services.ExportService;
+import com.javaproj.services.WaitlistService;
 import com.javaproj.exceptions.ResourceNotFoundException;
+import com.javaproj.exceptions.ScheduleFullException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,20 +26,39 @@ import java.util.Optional;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final ExportService exportService;
+    private final WaitlistService waitlistService;
 
     @Autowired
-    public EnrollmentController(EnrollmentService enrollmentService) {
+    public EnrollmentController(EnrollmentService enrollmentService, ExportService exportService,
+                                WaitlistService waitlistService) {
         this.enrollmentService = enrollmentService;
+        this.exportService = exportService;
+        this.waitlistService = waitlistService;
     }
 
+    // A full schedule answers 409 Conflict. With waitlist=true the student is put on its waitlist instead, and the
+    // answer is 202 Accepted with the waitlist entry (including the position); the student is enrolled
+    // automatically when a seat frees up.
     @PostMapping
-    public ResponseEntity<?> createEnrollment(@RequestBody EnrollmentService.EnrollmentRequest enrollmentRequest) {
+    public ResponseEntity<?> createEnrollment(@RequestBody EnrollmentService.EnrollmentRequest enrollmentRequest,
+                                              @RequestParam(defaultValue = "false") boolean waitlist) {
         try {
             EnrollmentResponseDTO createdEnrollment = enrollmentService.createEnrollment(enrollmentRequest);
             return new ResponseEntity<>(createdEnrollment, HttpStatus.CREATED);
+        } catch (ScheduleFullException e) {
+            if (!waitlist) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+            }
+            try {
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .body(waitlistService.join(enrollmentRequest.studentId, enrollmentRequest.scheduleId));
+            } catch (IllegalStateException | DataIntegrityViolationException joinFailure) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(joinFailure.getMessage());
+            }
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-        } catch (IllegalStateException e) { // Handles student already enrolled
+        } catch (IllegalStateException e) { // Handles student already enrolled or a timetable clash
             return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (DataIntegrityViolationException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Database constraint violation: " + e.getMessage());
@@ -39,14 +67,52 @@ public class EnrollmentController {
         }
     }
 
+    // Bulk import from a JSON array of {studentId, scheduleId, enrollmentDate, grade}. Valid rows are created,
+    // the rest are reported per row (see EnrollmentImportRowDTO.Status).
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importEnrollments(@RequestBody List<EnrollmentService.EnrollmentRequest> enrollmentRequests) {
+        try {
+            return ResponseEntity.ok(enrollmentService.importEnrollments(enrollmentRequests));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request enrolled one of the pairs between the duplicate check and the insert.
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Database constraint violation: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
+    // Same as above from CSV lines of studentId,scheduleId[,enrollmentDate[,grade]] with an optional header.
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    public ResponseEntity<?> importEnrollmentsCsv(@RequestBody String csv) {
+        List<EnrollmentService.EnrollmentRequest> enrollmentRequests;
+        try {
+            enrollmentRequests = enrollmentService.parseEnrollmentCsv(csv);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+        return importEnrollments(enrollmentRequests);
+    }
+
+    // With studentId, studentId and courseId, or scheduleId alone this returns the plain list of those enrollments,
+    // and without any parameter the first KeysetPage.MAX_LIMIT enrollments as a plain list (see UnpagedList).
+    // Otherwise it returns a KeysetPage with all given filters combined (studentId, scheduleId, courseId,
+    // semester, academicYear, department, building).
     @GetMapping
     public ResponseEntity<?> getAllEnrollments(
-            @RequestParam(required = false) Integer studentId,
-            @RequestParam(required = false) Integer scheduleId,
-            @RequestParam(required = false) Integer courseId // For student enrollments in a specific course
+            EnrollmentService.EnrollmentFilter filter,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal
     ) {
+        Integer studentId = filter.studentId;
+        Integer scheduleId = filter.scheduleId;
+        Integer courseId = filter.courseId; // For student enrollments in a specific course
         List<EnrollmentResponseDTO> enrollments;
         try {
+            if (after != null || limit != null || includeTotal || filter.hasTermOrLocationFilter()
+                    || filter.hasIdFiltersOnlyPagedModeCombines()) {
+                return ResponseEntity.ok(enrollmentService.getEnrollmentPage(filter, after, limit, includeTotal));
+            }
             if (studentId != null && courseId != null) {
                 enrollments = enrollmentService.getEnrollmentsByStudentIdAndCourseId(studentId, courseId);
             } else if (studentId != null) {
@@ -54,14 +120,41 @@ public class EnrollmentController {
             } else if (scheduleId != null) {
                 enrollments = enrollmentService.getEnrollmentsByScheduleId(scheduleId);
             } else {
-                enrollments = enrollmentService.getAllEnrollments();
+                return UnpagedList.of(enrollmentService.getEnrollmentPage(filter, null, KeysetPage.MAX_LIMIT, false));
             }
             return ResponseEntity.ok(enrollments);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
     }
 
+    // Streams every matching row as NDJSON (default) or CSV, ordered by id. Accepts the same filters as the
+    // paged listing; rows are written while the query is still being read.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(EnrollmentService.EnrollmentFilter filter,
+                                                                   @RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
+        }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"enrollments." + exportFormat.getFileExtension() + "\"")
+                .body(out -> exportService.exportEnrollments(filter, exportFormat, out));
+    }
+
+    // All students of the term whose enrollments overlap, one entry per pair of clashing schedules.
+    @GetMapping("/clashes")
+    public ResponseEntity<List<TimetableClashDTO>> getTimetableClashes(@RequestParam String semester,
+                                                                       @RequestParam String academicYear) {
+        return ResponseEntity.ok(enrollmentService.getTimetableClashes(semester, academicYear));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<EnrollmentResponseDTO> getEnrollmentById(@PathVariable Integer id) {
         Optional<EnrollmentResponseDTO> enrollmentDTO = enrollmentService.getEnrollmentById(id);
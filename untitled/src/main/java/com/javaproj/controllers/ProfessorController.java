@@ -26,8 +26,20 @@ public class ProfessorController {
         return new ResponseEntity<>(createdProfessor, HttpStatus.CREATED);
     }
 
+    // Plain list unless after/limit/includeTotal/department is given, then a KeysetPage.
     @GetMapping
-    public ResponseEntity<List<Professor>> getAllProfessors() {
+    public ResponseEntity<?> getAllProfessors(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (after != null || limit != null || includeTotal || department != null) {
+            try {
+                return ResponseEntity.ok(professorService.getProfessorPage(department, after, limit, includeTotal));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
         List<Professor> professors = professorService.getAllProfessors();
         return ResponseEntity.ok(professors);
     }
@@ -1,6 +1,11 @@
 package com.javaproj.controllers;
 
+import com.javaproj.dto.KeysetPage;
+import com.javaproj.dto.ScheduleGenerationJobDTO;
 import com.javaproj.dto.ScheduleGenerationRequest;
+import com.javaproj.services.AvailabilityService;
+import com.javaproj.services.ExportService;
+import com.javaproj.services.ScheduleGenerationJobService;
 import com.javaproj.services.ScheduleService;
 import com.javaproj.dto.ScheduleResponseDTO;
 import com.javaproj.exceptions.ResourceNotFoundException;
@@ -8,10 +13,16 @@ import com.javaproj.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalTime;
 import java.util.List;
 
@@ -21,10 +32,17 @@ import java.util.List;
 public class ScheduleController {
 
     private final ScheduleService scheduleService;
+    private final ScheduleGenerationJobService scheduleGenerationJobService;
+    private final ExportService exportService;
+    private final AvailabilityService availabilityService;
 
     @Autowired
-    public ScheduleController(ScheduleService scheduleService) {
+    public ScheduleController(ScheduleService scheduleService, ScheduleGenerationJobService scheduleGenerationJobService,
+                              ExportService exportService, AvailabilityService availabilityService) {
         this.scheduleService = scheduleService;
+        this.scheduleGenerationJobService = scheduleGenerationJobService;
+        this.exportService = exportService;
+        this.availabilityService = availabilityService;
     }
 
     @PostMapping
@@ -43,26 +61,70 @@ public class ScheduleController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createSchedules(@RequestBody List<ScheduleService.ScheduleRequest> scheduleRequests) {
+        try {
+            List<ScheduleResponseDTO> createdSchedules = scheduleService.createSchedules(scheduleRequests);
+            return new ResponseEntity<>(createdSchedules, HttpStatus.CREATED);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Database constraint violation: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred: " + e.getMessage());
+        }
+    }
+
+    // With a single id filter (courseId, professorId or classroomId) this returns the plain list of its schedules,
+    // and without any parameter the first KeysetPage.MAX_LIMIT schedules as a plain list (see UnpagedList).
+    // Otherwise it returns a KeysetPage with all given filters combined (courseId, professorId, classroomId,
+    // semester, academicYear, department, building).
     @GetMapping
-    public ResponseEntity<List<ScheduleResponseDTO>> getAllSchedules( // list of dtos
-                                                                      @RequestParam(required = false) Integer courseId,
-                                                                      @RequestParam(required = false) Integer professorId,
-                                                                      @RequestParam(required = false) Integer classroomId) {
-        List<ScheduleResponseDTO> schedules;
+    public ResponseEntity<?> getAllSchedules(ScheduleService.ScheduleFilter filter,
+                                             @RequestParam(required = false) Integer after,
+                                             @RequestParam(required = false) Integer limit,
+                                             @RequestParam(defaultValue = "false") boolean includeTotal) {
         try {
-            if (courseId != null) {
-                schedules = scheduleService.getSchedulesByCourseId(courseId);
-            } else if (professorId != null) {
-                schedules = scheduleService.getSchedulesByProfessorId(professorId);
-            } else if (classroomId != null) {
-                schedules = scheduleService.getSchedulesByClassroomId(classroomId);
+            if (after != null || limit != null || includeTotal || filter.hasTermOrLocationFilter()
+                    || filter.hasSeveralIdFilters()) {
+                return ResponseEntity.ok(scheduleService.getSchedulePage(filter, after, limit, includeTotal));
+            }
+            List<ScheduleResponseDTO> schedules;
+            if (filter.courseId != null) {
+                schedules = scheduleService.getSchedulesByCourseId(filter.courseId);
+            } else if (filter.professorId != null) {
+                schedules = scheduleService.getSchedulesByProfessorId(filter.professorId);
+            } else if (filter.classroomId != null) {
+                schedules = scheduleService.getSchedulesByClassroomId(filter.classroomId);
             } else {
-                schedules = scheduleService.getAllSchedules();
+                return UnpagedList.of(scheduleService.getSchedulePage(filter, null, KeysetPage.MAX_LIMIT, false));
             }
             return ResponseEntity.ok(schedules);
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Streams every matching row as NDJSON (default) or CSV, ordered by id. Accepts the same filters as the
+    // paged listing; rows are written while the query is still being read.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSchedules(ScheduleService.ScheduleFilter filter,
+                                                                 @RequestParam(defaultValue = "ndjson") String format) {
+        ExportService.Format exportFormat;
+        try {
+            exportFormat = ExportService.Format.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).contentType(MediaType.TEXT_PLAIN)
+                    .body(out -> out.write(e.getMessage().getBytes(StandardCharsets.UTF_8)));
         }
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"schedules." + exportFormat.getFileExtension() + "\"")
+                .body(out -> exportService.exportSchedules(filter, exportFormat, out));
     }
 
     @GetMapping("/{id}")
@@ -72,6 +134,20 @@ public class ScheduleController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // All free windows of the given rooms and/or professors in one call, e.g.
+    // ?semester=Toamna 2024&academicYear=2024-2025&roomIds=1,2&professorIds=3&minDurationMinutes=90&minCapacity=40
+    // Optional: hasProjector, building, daysOfWeek (default Luni-Vineri), dayStart/dayEnd (default 08:00-20:00).
+    @GetMapping("/free-slots")
+    public ResponseEntity<?> getFreeSlots(AvailabilityService.FreeSlotQuery query) {
+        try {
+            return ResponseEntity.ok(availabilityService.findFreeSlots(query));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/conflicts/room")
     public ResponseEntity<?> getRoomConflicts(
             @RequestParam Integer roomId,
@@ -136,16 +212,28 @@ public class ScheduleController {
     @PostMapping("/generate-automatic")
     public ResponseEntity<?> generateAutomaticSchedule(@RequestBody ScheduleGenerationRequest request) {
         try {
-            List<ScheduleResponseDTO> generatedSchedules = scheduleService.generateAutomaticSchedule(request);
-            if (generatedSchedules.isEmpty() && !request.getCourseIds().isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body("Could not schedule any of the requested courses with the given constraints.");
-            }
-            return ResponseEntity.ok(generatedSchedules);
-        } catch (ResourceNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("An unexpected error occurred during schedule generation: " + e.getMessage());
+            ScheduleGenerationJobDTO job = scheduleGenerationJobService.submit(request);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/schedules/generate-automatic/" + job.getJobId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Too many schedule generation jobs are queued. Please retry later.");
         }
     }
-}
\ No newline at end of file
+
+    @GetMapping("/generate-automatic/{jobId}")
+    public ResponseEntity<ScheduleGenerationJobDTO> getGenerationJob(@PathVariable String jobId) {
+        return scheduleGenerationJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/generate-automatic/{jobId}")
+    public ResponseEntity<ScheduleGenerationJobDTO> cancelGenerationJob(@PathVariable String jobId) {
+        return scheduleGenerationJobService.cancel(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,22 +1,25 @@
 package com.javaproj.controllers;
 import com.javaproj.db.Student;
+import com.javaproj.dto.KeysetPage;
 import com.javaproj.services.StudentService;
+import com.javaproj.services.TimetableService;
 import com.javaproj.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/students")
 public class StudentController {
 
     private final StudentService studentService;
+    private final TimetableService timetableService;
 
     @Autowired
-    public StudentController(StudentService studentService) {
+    public StudentController(StudentService studentService, TimetableService timetableService) {
         this.studentService = studentService;
+        this.timetableService = timetableService;
     }
 
     @PostMapping
@@ -25,10 +28,22 @@ public class StudentController {
         return new ResponseEntity<>(createdStudent, HttpStatus.CREATED);
     }
 
+    // KeysetPage when after/limit/includeTotal/major is given, otherwise the first KeysetPage.MAX_LIMIT students as a
+    // plain list (see UnpagedList).
     @GetMapping
-    public ResponseEntity<List<Student>> getAllStudents() {
-        List<Student> students = studentService.getAllStudents();
-        return ResponseEntity.ok(students);
+    public ResponseEntity<?> getAllStudents(
+            @RequestParam(required = false) String major,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        if (after != null || limit != null || includeTotal || major != null) {
+            try {
+                return ResponseEntity.ok(studentService.getStudentPage(major, after, limit, includeTotal));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+        }
+        return UnpagedList.of(studentService.getStudentPage(null, null, KeysetPage.MAX_LIMIT, false));
     }
 
     @GetMapping("/{id}")
@@ -38,6 +53,19 @@ public class StudentController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // The student's weekly timetable, served from memory (see TimetableService). semester and academicYear
+    // are optional and narrow it to one term.
+    @GetMapping("/{id}/timetable")
+    public ResponseEntity<?> getTimetable(@PathVariable Integer id,
+                                          @RequestParam(required = false) String semester,
+                                          @RequestParam(required = false) String academicYear) {
+        try {
+            return ResponseEntity.ok(timetableService.getTimetable(id, semester, academicYear));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/email/{email}")
     public ResponseEntity<Student> getStudentByEmail(@PathVariable String email) {
         return studentService.getStudentByEmail(email)
@@ -0,0 +1,29 @@
+package com.javaproj.controllers;
+
+import com.javaproj.dto.KeysetPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+// Plain-list form of the large list endpoints (schedules, enrollments, students) when no paging parameter or
+// filter is given: the first KeysetPage.MAX_LIMIT rows by id instead of the whole table. When there are more, a
+// Link header (rel="next") points at the following page, which comes back as a KeysetPage.
+final class UnpagedList {
+
+    private UnpagedList() {
+    }
+
+    static <T> ResponseEntity<List<T>> of(KeysetPage<T> firstPage) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (firstPage.isHasMore()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", firstPage.getNextAfter())
+                    .replaceQueryParam("limit", firstPage.getLimit())
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(firstPage.getItems());
+    }
+}
@@ -0,0 +1,84 @@
+package com.javaproj.controllers;
+
+import com.javaproj.dto.WaitlistEntryDTO;
+import com.javaproj.exceptions.ResourceNotFoundException;
+import com.javaproj.services.WaitlistService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/waitlist")
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @Autowired
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    // Joins a waitlist directly (POST /api/v1/enrollments does this automatically for full schedules).
+    // Joining twice returns the existing entry.
+    @PostMapping
+    public ResponseEntity<?> joinWaitlist(@RequestBody WaitlistService.WaitlistRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(waitlistService.join(request.studentId, request.scheduleId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalStateException e) { // Already enrolled
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Database constraint violation: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistEntryDTO> getEntryById(@PathVariable Integer id) {
+        Optional<WaitlistEntryDTO> entry = waitlistService.getEntryById(id);
+        return entry.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // The student's waitlist entries with their current positions.
+    @GetMapping("/student/{studentId}")
+    public ResponseEntity<?> getWaitlistByStudentId(@PathVariable Integer studentId) {
+        try {
+            return ResponseEntity.ok(waitlistService.getWaitlistByStudentId(studentId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    // The whole waitlist of a schedule in promotion order.
+    @GetMapping("/schedule/{scheduleId}")
+    public ResponseEntity<?> getWaitlistByScheduleId(@PathVariable Integer scheduleId) {
+        try {
+            return ResponseEntity.ok(waitlistService.getWaitlistByScheduleId(scheduleId));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/student/{studentId}/schedule/{scheduleId}")
+    public ResponseEntity<WaitlistEntryDTO> getEntryByStudentIdAndScheduleId(@PathVariable Integer studentId,
+                                                                             @PathVariable Integer scheduleId) {
+        Optional<WaitlistEntryDTO> entry = waitlistService.getEntryByStudentIdAndScheduleId(studentId, scheduleId);
+        return entry.map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Integer id) {
+        try {
+            waitlistService.leave(id);
+            return ResponseEntity.noContent().build();
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
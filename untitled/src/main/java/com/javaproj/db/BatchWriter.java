@@ -0,0 +1,52 @@
+package com.javaproj.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Bulk insert of new entities. Entities are persisted and flushed in chunks of hibernate.jdbc.batch_size,
+// so each chunk goes to the database as one JDBC batch, and the chunk's entities are detached once written to keep
+// memory flat for large imports. Returned entities are detached; other entities of the caller's persistence context
+// (e.g. the course or student the new rows point to) stay managed.
+// Only entities with sequence-generated ids are batched; IDENTITY ids force one insert per row.
+@Component
+public class BatchWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int batchSize;
+
+    public BatchWriter(@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public <T> List<T> persistAll(Collection<T> entities) {
+        List<T> persisted = new ArrayList<>(entities.size());
+        int chunkStart = 0;
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            persisted.add(entity);
+            if (persisted.size() - chunkStart == batchSize) {
+                flushAndDetach(persisted.subList(chunkStart, persisted.size()));
+                chunkStart = persisted.size();
+            }
+        }
+        flushAndDetach(persisted.subList(chunkStart, persisted.size()));
+        return persisted;
+    }
+
+    private void flushAndDetach(List<?> chunk) {
+        entityManager.flush();
+        for (Object entity : chunk) {
+            entityManager.detach(entity);
+        }
+    }
+}
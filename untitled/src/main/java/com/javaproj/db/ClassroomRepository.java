@@ -6,7 +6,7 @@ import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface ClassroomRepository extends JpaRepository<Classroom, Integer> {
+public interface ClassroomRepository extends JpaRepository<Classroom, Integer>, ClassroomRepositoryCustom {
     Optional<Classroom> findByRoomNumber(String roomNumber);
     List<Classroom> findByBuilding(String building);
     List<Classroom> findByCapacityGreaterThanEqual(int capacity);
@@ -0,0 +1,16 @@
+package com.javaproj.db;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// Queries with optional filters (QueryFilter); a null filter parameter adds no condition.
+public interface ClassroomRepositoryCustom {
+
+    // Keyset page: rooms after afterId, at most limit.getPageSize() of them.
+    List<Classroom> findPage(int afterId, String building, Integer minCapacity, Boolean hasProjector, Pageable limit);
+
+    List<Classroom> findFiltered(String building, Integer minCapacity, Boolean hasProjector);
+
+    long countFiltered(String building, Integer minCapacity, Boolean hasProjector);
+}
@@ -0,0 +1,41 @@
+package com.javaproj.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public class ClassroomRepositoryCustomImpl implements ClassroomRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Classroom> findPage(int afterId, String building, Integer minCapacity, Boolean hasProjector, Pageable limit) {
+        QueryFilter filter = filter(new QueryFilter().greaterThan("r.roomId", "afterId", afterId), building, minCapacity, hasProjector);
+        return filter.bind(entityManager.createQuery("SELECT r FROM Classroom r " + filter.toWhereClause() + "ORDER BY r.roomId", Classroom.class))
+                .setMaxResults(limit.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public List<Classroom> findFiltered(String building, Integer minCapacity, Boolean hasProjector) {
+        QueryFilter filter = filter(new QueryFilter(), building, minCapacity, hasProjector);
+        return filter.bind(entityManager.createQuery("SELECT r FROM Classroom r " + filter.toWhereClause() + "ORDER BY r.roomId", Classroom.class))
+                .getResultList();
+    }
+
+    @Override
+    public long countFiltered(String building, Integer minCapacity, Boolean hasProjector) {
+        QueryFilter filter = filter(new QueryFilter(), building, minCapacity, hasProjector);
+        return filter.bind(entityManager.createQuery("SELECT COUNT(r) FROM Classroom r " + filter.toWhereClause(), Long.class))
+                .getSingleResult();
+    }
+
+    private static QueryFilter filter(QueryFilter filter, String building, Integer minCapacity, Boolean hasProjector) {
+        return filter.equal("r.building", "building", building)
+                .atLeast("r.capacity", "minCapacity", minCapacity)
+                .equal("r.hasProjector", "hasProjector", hasProjector);
+    }
+}
@@ -6,7 +6,7 @@ import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Integer> {
+public interface CourseRepository extends JpaRepository<Course, Integer>, CourseRepositoryCustom {
     Optional<Course> findByCourseCode(String courseCode);
     List<Course> findByDepartment(String department);
     List<Course> findByCredits(int credits);
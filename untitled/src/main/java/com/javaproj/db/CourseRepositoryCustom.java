@@ -0,0 +1,14 @@
+package com.javaproj.db;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// Queries with optional filters (QueryFilter); a null filter parameter adds no condition.
+public interface CourseRepositoryCustom {
+
+    // Keyset page: courses after afterId, at most limit.getPageSize() of them.
+    List<Course> findPage(int afterId, String department, Integer credits, Pageable limit);
+
+    long countFiltered(String department, Integer credits);
+}
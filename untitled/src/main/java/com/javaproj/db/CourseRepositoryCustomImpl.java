@@ -0,0 +1,33 @@
+package com.javaproj.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public class CourseRepositoryCustomImpl implements CourseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Course> findPage(int afterId, String department, Integer credits, Pageable limit) {
+        QueryFilter filter = filter(new QueryFilter().greaterThan("c.courseId", "afterId", afterId), department, credits);
+        return filter.bind(entityManager.createQuery("SELECT c FROM Course c " + filter.toWhereClause() + "ORDER BY c.courseId", Course.class))
+                .setMaxResults(limit.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public long countFiltered(String department, Integer credits) {
+        QueryFilter filter = filter(new QueryFilter(), department, credits);
+        return filter.bind(entityManager.createQuery("SELECT COUNT(c) FROM Course c " + filter.toWhereClause(), Long.class))
+                .getSingleResult();
+    }
+
+    private static QueryFilter filter(QueryFilter filter, String department, Integer credits) {
+        return filter.equal("c.department", "department", department)
+                .equal("c.credits", "credits", credits);
+    }
+}
@@ -11,17 +11,20 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 })
 public class Enrollment {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts; allocationSize must match the
+    // sequence's INCREMENT BY in the database.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_seq")
+    @SequenceGenerator(name = "enrollments_seq", sequenceName = "enrollments_enrollment_id_seq", allocationSize = 50)
     @Column(name = "enrollment_id")
     private int enrollmentId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
     @JsonBackReference("student-enrollments")
     private Student student;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "schedule_id", nullable = false)
     @JsonBackReference("schedule-enrollments")
     private Schedule schedule;
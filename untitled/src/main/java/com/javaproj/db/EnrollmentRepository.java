@@ -1,17 +1,91 @@
 package com.javaproj.db;
 
+import com.javaproj.dto.EnrollmentResponseDTO;
+import com.javaproj.dto.TimetableClashDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer>, EnrollmentRepositoryCustom {
+
+    // Builds EnrollmentResponseDTOs straight from one joined query (no entity loading, no per-row selects).
+    String ENROLLMENT_RESPONSE_SELECT = "SELECT new com.javaproj.dto.EnrollmentResponseDTO(" +
+            "e.enrollmentId, st.studentId, st.firstName, st.lastName, st.email, st.major, st.enrollmentDate, " +
+            "s.scheduleId, c.courseId, c.courseCode, c.courseName, " +
+            "p.professorId, p.firstName, p.lastName, r.roomId, r.roomNumber, r.capacity, " +
+            "s.dayOfWeek, s.startTime, s.endTime, s.semester, s.academicYear, " +
+            "e.enrollmentDate, e.grade) " +
+            "FROM Enrollment e JOIN e.student st JOIN e.schedule s " +
+            "JOIN s.course c JOIN s.professor p JOIN s.classroom r ";
+
+    @Query(ENROLLMENT_RESPONSE_SELECT + "WHERE e.enrollmentId = :enrollmentId")
+    Optional<EnrollmentResponseDTO> findResponseById(@Param("enrollmentId") Integer enrollmentId);
+
+    @Query(ENROLLMENT_RESPONSE_SELECT + "WHERE st.studentId = :studentId ORDER BY e.enrollmentId")
+    List<EnrollmentResponseDTO> findResponsesByStudentId(@Param("studentId") Integer studentId);
+
+    @Query(ENROLLMENT_RESPONSE_SELECT + "WHERE s.scheduleId = :scheduleId ORDER BY e.enrollmentId")
+    List<EnrollmentResponseDTO> findResponsesByScheduleId(@Param("scheduleId") Integer scheduleId);
+
+    @Query(ENROLLMENT_RESPONSE_SELECT + "WHERE st.studentId = :studentId AND s.scheduleId = :scheduleId")
+    Optional<EnrollmentResponseDTO> findResponseByStudentIdAndScheduleId(@Param("studentId") Integer studentId,
+                                                                         @Param("scheduleId") Integer scheduleId);
+
+    @Query(ENROLLMENT_RESPONSE_SELECT + "WHERE st.studentId = :studentId AND c.courseId = :courseId ORDER BY e.enrollmentId")
+    List<EnrollmentResponseDTO> findResponsesByStudentIdAndCourseId(@Param("studentId") Integer studentId,
+                                                                    @Param("courseId") Integer courseId);
+
+    // Everything the given students are enrolled in, for set-based duplicate and clash checks.
+    @Query("SELECT e.student.studentId AS studentId, s.scheduleId AS scheduleId, s.course.courseCode AS courseCode, " +
+            "s.dayOfWeek AS dayOfWeek, s.startTime AS startTime, s.endTime AS endTime, " +
+            "s.semester AS semester, s.academicYear AS academicYear " +
+            "FROM Enrollment e JOIN e.schedule s WHERE e.student.studentId IN :studentIds")
+    List<StudentTermSlot> findTermSlotsByStudentIds(@Param("studentIds") Collection<Integer> studentIds);
+
+    // Schedules of the student that overlap the given schedule (same term and day). Uses the
+    // unique_student_schedule index, whose leading column is student_id, so it only touches this
+    // student's enrollments.
+    @Query("SELECT other.scheduleId AS scheduleId, other.course.courseCode AS courseCode, other.dayOfWeek AS dayOfWeek, " +
+            "other.startTime AS startTime, other.endTime AS endTime, " +
+            "other.semester AS semester, other.academicYear AS academicYear " +
+            "FROM Enrollment e JOIN e.schedule other, Schedule target " +
+            "WHERE target.scheduleId = :scheduleId AND e.student.studentId = :studentId " +
+            "AND other.scheduleId <> target.scheduleId " +
+            "AND other.dayOfWeek = target.dayOfWeek " +
+            "AND other.semester = target.semester " +
+            "AND other.academicYear = target.academicYear " +
+            "AND other.startTime < target.endTime AND other.endTime > target.startTime")
+    List<TermSlot> findClashingSlots(@Param("studentId") Integer studentId, @Param("scheduleId") Integer scheduleId);
+
+    // Every pair of overlapping schedules a student is enrolled in during the term, each pair reported once.
+    @Query("SELECT new com.javaproj.dto.TimetableClashDTO(st.studentId, st.firstName, st.lastName, s1.dayOfWeek, " +
+            "s1.scheduleId, c1.courseCode, s1.startTime, s1.endTime, s2.scheduleId, c2.courseCode, s2.startTime, s2.endTime) " +
+            "FROM Enrollment e1 JOIN e1.student st JOIN e1.schedule s1 JOIN s1.course c1, " +
+            "Enrollment e2 JOIN e2.schedule s2 JOIN s2.course c2 " +
+            "WHERE e2.student = e1.student " +
+            "AND s1.semester = :semester AND s1.academicYear = :academicYear " +
+            "AND s2.semester = s1.semester AND s2.academicYear = s1.academicYear " +
+            "AND s2.dayOfWeek = s1.dayOfWeek AND s1.scheduleId < s2.scheduleId " +
+            "AND s1.startTime < s2.endTime AND s1.endTime > s2.startTime " +
+            "ORDER BY st.studentId, s1.scheduleId, s2.scheduleId")
+    List<TimetableClashDTO> findClashesByTerm(@Param("semester") String semester, @Param("academicYear") String academicYear);
+
+    // Every session the student is enrolled in, for the cached timetable (TimetableService). Association ids
+    // come from the foreign keys, so only Schedules is joined.
+    @Query("SELECT new com.javaproj.db.TimetableSession(e.enrollmentId, s.scheduleId, s.course.courseId, " +
+            "s.professor.professorId, s.classroom.roomId, s.dayOfWeek, s.startTime, s.endTime, s.semester, s.academicYear) " +
+            "FROM Enrollment e JOIN e.schedule s WHERE e.student.studentId = :studentId")
+    List<TimetableSession> findTimetableSessions(@Param("studentId") Integer studentId);
+
     List<Enrollment> findByStudent(Student student);
     List<Enrollment> findBySchedule(Schedule schedule);
     Optional<Enrollment> findByStudentAndSchedule(Student student, Schedule schedule);
+    boolean existsByStudent_StudentIdAndSchedule_ScheduleId(Integer studentId, Integer scheduleId);
     List<Enrollment> findByStudent_StudentId(Integer studentId);
     List<Enrollment> findBySchedule_ScheduleId(Integer scheduleId);
     List<Enrollment> findByStudent_StudentIdAndSchedule_SemesterAndSchedule_AcademicYear(Integer studentId, String semester, String academicYear);
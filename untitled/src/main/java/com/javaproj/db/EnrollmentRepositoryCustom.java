@@ -0,0 +1,24 @@
+package com.javaproj.db;
+
+import com.javaproj.dto.EnrollmentResponseDTO;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+// Queries with optional filters (QueryFilter); a null filter parameter adds no condition.
+public interface EnrollmentRepositoryCustom {
+
+    // Keyset page: the caller passes the last id it has seen and a Pageable that only carries the limit.
+    List<EnrollmentResponseDTO> findResponsePage(int afterId, Integer studentId, Integer scheduleId, Integer courseId,
+                                                 String semester, String academicYear, String department, String building,
+                                                 Pageable limit);
+
+    // Export: rows are read from an open cursor ScheduleRepository.EXPORT_FETCH_SIZE at a time.
+    // The caller must consume (and close) the stream inside a transaction.
+    Stream<EnrollmentResponseDTO> streamResponses(Integer studentId, Integer scheduleId, Integer courseId,
+                                                  String semester, String academicYear, String department, String building);
+
+    long countFiltered(Integer studentId, Integer scheduleId, Integer courseId,
+                       String semester, String academicYear, String department, String building);
+}
@@ -0,0 +1,58 @@
+package com.javaproj.db;
+
+import com.javaproj.dto.EnrollmentResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class EnrollmentRepositoryCustomImpl implements EnrollmentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EnrollmentResponseDTO> findResponsePage(int afterId, Integer studentId, Integer scheduleId, Integer courseId,
+                                                        String semester, String academicYear, String department, String building,
+                                                        Pageable limit) {
+        QueryFilter filter = filter(new QueryFilter().greaterThan("e.enrollmentId", "afterId", afterId),
+                studentId, scheduleId, courseId, semester, academicYear, department, building);
+        return filter.bind(entityManager.createQuery(EnrollmentRepository.ENROLLMENT_RESPONSE_SELECT + filter.toWhereClause() +
+                        "ORDER BY e.enrollmentId", EnrollmentResponseDTO.class))
+                .setMaxResults(limit.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<EnrollmentResponseDTO> streamResponses(Integer studentId, Integer scheduleId, Integer courseId,
+                                                         String semester, String academicYear, String department, String building) {
+        QueryFilter filter = filter(new QueryFilter(), studentId, scheduleId, courseId, semester, academicYear, department, building);
+        return filter.bind(entityManager.createQuery(EnrollmentRepository.ENROLLMENT_RESPONSE_SELECT + filter.toWhereClause() +
+                        "ORDER BY e.enrollmentId", EnrollmentResponseDTO.class))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, ScheduleRepository.EXPORT_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public long countFiltered(Integer studentId, Integer scheduleId, Integer courseId,
+                              String semester, String academicYear, String department, String building) {
+        QueryFilter filter = filter(new QueryFilter(), studentId, scheduleId, courseId, semester, academicYear, department, building);
+        return filter.bind(entityManager.createQuery("SELECT COUNT(e) FROM Enrollment e JOIN e.student st JOIN e.schedule s " +
+                        "JOIN s.course c JOIN s.classroom r " + filter.toWhereClause(), Long.class))
+                .getSingleResult();
+    }
+
+    private static QueryFilter filter(QueryFilter filter, Integer studentId, Integer scheduleId, Integer courseId,
+                                      String semester, String academicYear, String department, String building) {
+        return filter.equal("st.studentId", "studentId", studentId)
+                .equal("s.scheduleId", "scheduleId", scheduleId)
+                .equal("c.courseId", "courseId", courseId)
+                .equal("s.semester", "semester", semester)
+                .equal("s.academicYear", "academicYear", academicYear)
+                .equal("c.department", "department", department)
+                .equal("r.building", "building", building);
+    }
+}
@@ -6,7 +6,7 @@ import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface ProfessorRepository extends JpaRepository<Professor, Integer> {
+public interface ProfessorRepository extends JpaRepository<Professor, Integer>, ProfessorRepositoryCustom {
     Optional<Professor> findByEmail(String email);
     List<Professor> findByDepartment(String department);
     List<Professor> findByLastNameAndFirstName(String lastName, String firstName);
@@ -0,0 +1,14 @@
+package com.javaproj.db;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// Queries with optional filters (QueryFilter); a null filter parameter adds no condition.
+public interface ProfessorRepositoryCustom {
+
+    // Keyset page: professors after afterId, at most limit.getPageSize() of them.
+    List<Professor> findPage(int afterId, String department, Pageable limit);
+
+    long countFiltered(String department);
+}
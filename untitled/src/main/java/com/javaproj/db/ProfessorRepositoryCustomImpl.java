@@ -0,0 +1,28 @@
+package com.javaproj.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public class ProfessorRepositoryCustomImpl implements ProfessorRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Professor> findPage(int afterId, String department, Pageable limit) {
+        QueryFilter filter = new QueryFilter().greaterThan("p.professorId", "afterId", afterId).equal("p.department", "department", department);
+        return filter.bind(entityManager.createQuery("SELECT p FROM Professor p " + filter.toWhereClause() + "ORDER BY p.professorId", Professor.class))
+                .setMaxResults(limit.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public long countFiltered(String department) {
+        QueryFilter filter = new QueryFilter().equal("p.department", "department", department);
+        return filter.bind(entityManager.createQuery("SELECT COUNT(p) FROM Professor p " + filter.toWhereClause(), Long.class))
+                .getSingleResult();
+    }
+}
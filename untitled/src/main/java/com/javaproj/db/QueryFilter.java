@@ -0,0 +1,48 @@
+package com.javaproj.db;
+
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// WHERE clause of a JPQL query made of only the filters that were given (null values add no condition), for the
+// keyset pages, counts and exports with optional filters. Each combination of filters is a query of its own: a
+// catch-all "(:x IS NULL OR col = :x)" keeps one query text for all of them, but once PostgreSQL switches the
+// prepared statement to a generic plan (after five executions) that plan cannot use the filtered column's index.
+public class QueryFilter {
+
+    private final List<String> conditions = new ArrayList<>();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    public QueryFilter equal(String path, String name, Object value) {
+        return add(path, "=", name, value);
+    }
+
+    public QueryFilter greaterThan(String path, String name, Object value) {
+        return add(path, ">", name, value);
+    }
+
+    public QueryFilter atLeast(String path, String name, Object value) {
+        return add(path, ">=", name, value);
+    }
+
+    // "WHERE ... " with a trailing space, or "" without conditions.
+    public String toWhereClause() {
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ";
+    }
+
+    public <T> TypedQuery<T> bind(TypedQuery<T> query) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private QueryFilter add(String path, String operator, String name, Object value) {
+        if (value != null) {
+            conditions.add(path + " " + operator + " :" + name);
+            parameters.put(name, value);
+        }
+        return this;
+    }
+}
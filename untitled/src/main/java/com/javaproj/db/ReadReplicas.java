@@ -0,0 +1,134 @@
+package com.javaproj.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The read replicas behind ReplicaRoutingDataSource, one connection pool each, and how far each is behind the
+// primary. A replica takes reads only while its last check succeeded and found it at most maxLagMs behind; replicas
+// in use take turns. Nothing is routed to a replica before its first check.
+// Meters: db.replica.lag (ms, NaN while unreachable) and db.replica.available per replica, db.replica.connections
+// (read-only transactions served per replica) and db.replica.fallbacks (served by the primary instead).
+public class ReadReplicas implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+
+    // Time since the last replayed transaction, or 0 when the standby has replayed everything it received (otherwise
+    // a quiet primary would look like growing lag) and for a database that is not a standby at all.
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final class Replica {
+        final HikariDataSource pool;
+        final Counter connections;
+        volatile double lagMs = Double.NaN;
+        volatile boolean available;
+        volatile boolean checked;
+
+        Replica(HikariDataSource pool, Counter connections) {
+            this.pool = pool;
+            this.connections = connections;
+        }
+    }
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long maxLagMs;
+    private final Counter fallbacks;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicas(List<HikariDataSource> pools, long maxLagMs, MeterRegistry meterRegistry) {
+        this.maxLagMs = maxLagMs;
+        for (HikariDataSource pool : pools) {
+            Replica replica = new Replica(pool, Counter.builder("db.replica.connections")
+                    .tag("replica", pool.getPoolName())
+                    .register(meterRegistry));
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMs)
+                    .tag("replica", pool.getPoolName())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("replica", pool.getPoolName())
+                    .register(meterRegistry);
+            replicas.add(replica);
+        }
+        this.fallbacks = Counter.builder("db.replica.fallbacks").register(meterRegistry);
+    }
+
+    // A connection of the next replica in use, or null when none is (the caller then uses the primary). A replica
+    // that fails to give one is left out until its next successful check.
+    public Connection getConnection() {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = replica.pool.getConnection();
+                replica.connections.increment();
+                return connection;
+            } catch (SQLException e) {
+                markUnavailable(replica, e);
+            }
+        }
+        fallbacks.increment();
+        return null;
+    }
+
+    @Scheduled(fixedDelayString = "${read-replicas.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            double lagMs;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                lagMs = resultSet.getDouble(1);
+            } catch (SQLException e) {
+                markUnavailable(replica, e);
+                continue;
+            }
+            boolean firstCheck = !replica.checked;
+            replica.lagMs = lagMs;
+            replica.checked = true;
+            boolean available = lagMs <= maxLagMs;
+            if (available && !replica.available) {
+                log.info("Read replica {} in use ({} ms behind the primary)", replica.pool.getPoolName(), Math.round(lagMs));
+            } else if (!available && (replica.available || firstCheck)) {
+                log.warn("Read replica {} is {} ms behind the primary (read-replicas.max-lag-ms={}); its reads go elsewhere until it catches up",
+                        replica.pool.getPoolName(), Math.round(lagMs), maxLagMs);
+            }
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.pool.close();
+        }
+    }
+
+    private void markUnavailable(Replica replica, SQLException e) {
+        replica.lagMs = Double.NaN;
+        if (replica.available || !replica.checked) {
+            log.warn("Read replica {} unavailable, its reads go elsewhere: {}", replica.pool.getPoolName(), e.getMessage());
+        }
+        replica.available = false;
+        replica.checked = true;
+    }
+}
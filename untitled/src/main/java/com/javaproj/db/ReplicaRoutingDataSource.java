@@ -0,0 +1,69 @@
+package com.javaproj.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+// The application's DataSource when read replicas are configured (ReadReplicaConfig): read-only transactions
+// (@Transactional(readOnly = true)) run on a replica from ReadReplicas, everything else on the primary.
+// - The physical connection is only taken at the transaction's first statement, when Spring has already marked
+//   the transaction read-only. Connections taken outside a transaction (Flyway, JdbcTemplate) use the primary.
+// - With no replica in use (lagging, unreachable) read-only transactions use the primary.
+// - A replica can be up to read-replicas.max-lag-ms behind. Reads whose result outlives the transaction (caches,
+//   seat counters) must not start from older data than the writes already committed: they run in onPrimary.
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final ThreadLocal<Boolean> primaryRequired = new ThreadLocal<>();
+
+    private final HikariDataSource primary;
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, ReadReplicas replicas) {
+        this.primary = primary;
+        setTargetDataSource(new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && primaryRequired.get() == null) {
+                    Connection connection = replicas.getConnection();
+                    if (connection != null) {
+                        return connection;
+                    }
+                }
+                return primary.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return primary.getConnection(username, password);
+            }
+        });
+        // Known up front, so no connection is needed to find them out.
+        setDefaultAutoCommit(primary.isAutoCommit());
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        afterPropertiesSet();
+    }
+
+    // Runs the work with every connection it takes from the primary. Only connections not taken yet are affected:
+    // call it before the transaction's first statement, e.g. around the call to a @Transactional method.
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (primaryRequired.get() != null) {
+            return work.get();
+        }
+        primaryRequired.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            primaryRequired.remove();
+        }
+    }
+
+    @Override
+    public void close() {
+        primary.close();
+    }
+}
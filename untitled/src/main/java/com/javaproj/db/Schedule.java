@@ -10,25 +10,32 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 @Entity
 @Table(name = "Schedule", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"room_id", "day_of_week", "semester", "academic_year", "start_time"}, name = "unique_room_time_slot")
+}, indexes = {
+        // Key columns only; the PostgreSQL definitions (INCLUDE columns, exclusion constraints) are in the
+        // Flyway migrations (db/migration).
+        @Index(name = "idx_schedule_term", columnList = "semester, academic_year")
 })
 public class Schedule {
 
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts; allocationSize must match the
+    // sequence's INCREMENT BY in the database.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedule_seq")
+    @SequenceGenerator(name = "schedule_seq", sequenceName = "schedule_schedule_id_seq", allocationSize = 50)
     @Column(name = "schedule_id")
     private Integer scheduleId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false)
     @JsonBackReference("course-schedules")
     private Course course;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "professor_id", nullable = false)
     @JsonBackReference("professor-schedules")
     private Professor professor;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     @JsonBackReference("schedule-classroom")
     private Classroom classroom;
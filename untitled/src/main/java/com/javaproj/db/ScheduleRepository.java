@@ -1,15 +1,55 @@
 package com.javaproj.db;
 
+import com.javaproj.dto.ScheduleResponseDTO;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ScheduleRepository extends JpaRepository<Schedule, Integer> {
+public interface ScheduleRepository extends JpaRepository<Schedule, Integer>, ScheduleRepositoryCustom {
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    // Builds ScheduleResponseDTOs straight from one joined query (no entity loading, no per-row selects).
+    String SCHEDULE_RESPONSE_SELECT = "SELECT new com.javaproj.dto.ScheduleResponseDTO(" +
+            "s.scheduleId, c.courseId, c.courseCode, c.courseName, " +
+            "p.professorId, p.firstName, p.lastName, r.roomId, r.roomNumber, r.capacity, " +
+            "s.dayOfWeek, s.startTime, s.endTime, s.semester, s.academicYear) " +
+            "FROM Schedule s JOIN s.course c JOIN s.professor p JOIN s.classroom r ";
+
+    @Query(SCHEDULE_RESPONSE_SELECT + "WHERE s.scheduleId = :scheduleId")
+    Optional<ScheduleResponseDTO> findResponseById(@Param("scheduleId") Integer scheduleId);
+
+    @Query(SCHEDULE_RESPONSE_SELECT + "WHERE c.courseId = :courseId ORDER BY s.scheduleId")
+    List<ScheduleResponseDTO> findResponsesByCourseId(@Param("courseId") Integer courseId);
+
+    @Query(SCHEDULE_RESPONSE_SELECT + "WHERE p.professorId = :professorId ORDER BY s.scheduleId")
+    List<ScheduleResponseDTO> findResponsesByProfessorId(@Param("professorId") Integer professorId);
+
+    @Query(SCHEDULE_RESPONSE_SELECT + "WHERE r.roomId = :roomId ORDER BY s.scheduleId")
+    List<ScheduleResponseDTO> findResponsesByClassroomId(@Param("roomId") Integer roomId);
+
+    // Loads a schedule with its course, professor and classroom in one select, for callers that
+    // need the entity (e.g. to attach an enrollment) and then map it to a DTO.
+    @EntityGraph(attributePaths = {"course", "professor", "classroom"})
+    Optional<Schedule> findWithDetailsByScheduleId(Integer scheduleId);
+
+    // Term and time of the given schedules (missing ids are simply absent), without loading entities.
+    @Query("SELECT s.scheduleId AS scheduleId, s.course.courseCode AS courseCode, s.dayOfWeek AS dayOfWeek, " +
+            "s.startTime AS startTime, s.endTime AS endTime, s.semester AS semester, s.academicYear AS academicYear " +
+            "FROM Schedule s WHERE s.scheduleId IN :ids")
+    List<TermSlot> findTermSlotsByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT s.scheduleId AS scheduleId, r.capacity AS capacity, " +
+            "(SELECT COUNT(e) FROM Enrollment e WHERE e.schedule = s) AS enrolled " +
+            "FROM Schedule s JOIN s.classroom r WHERE s.scheduleId IN :ids")
+    List<SeatCount> findSeatCounts(@Param("ids") Collection<Integer> ids);
 
     List<Schedule> findByCourse(Course course);
     List<Schedule> findByProfessor(Professor professor);
@@ -43,6 +83,12 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Integer> {
                                           @Param("startTime") LocalTime startTime,
                                           @Param("endTime") LocalTime endTime);
 
+    @Query("SELECT s.scheduleId AS scheduleId, s.classroom.roomId AS roomId, s.professor.professorId AS professorId, " +
+            "s.dayOfWeek AS dayOfWeek, s.startTime AS startTime, s.endTime AS endTime " +
+            "FROM Schedule s WHERE s.semester = :semester AND s.academicYear = :academicYear")
+    List<ScheduleSlot> findSlotsBySemesterAndAcademicYear(@Param("semester") String semester,
+                                                          @Param("academicYear") String academicYear);
+
     @Query("SELECT s FROM Schedule s WHERE s.course.courseId = :courseId AND s.semester = :semester AND s.academicYear = :academicYear")
     List<Schedule> findByCourseIdAndSemesterAndAcademicYear(@Param("courseId") Integer courseId, @Param("semester") String semester, @Param("academicYear") String academicYear);
 
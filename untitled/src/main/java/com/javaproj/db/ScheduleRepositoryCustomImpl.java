@@ -0,0 +1,58 @@
+package com.javaproj.db;
+
+import com.javaproj.dto.ScheduleResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public class ScheduleRepositoryCustomImpl implements ScheduleRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ScheduleResponseDTO> findResponsePage(int afterId, Integer courseId, Integer professorId, Integer roomId,
+                                                      String semester, String academicYear, String department, String building,
+                                                      Pageable limit) {
+        QueryFilter filter = filter(new QueryFilter().greaterThan("s.scheduleId", "afterId", afterId),
+                courseId, professorId, roomId, semester, academicYear, department, building);
+        return filter.bind(entityManager.createQuery(ScheduleRepository.SCHEDULE_RESPONSE_SELECT + filter.toWhereClause() +
+                        "ORDER BY s.scheduleId", ScheduleResponseDTO.class))
+                .setMaxResults(limit.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public Stream<ScheduleResponseDTO> streamResponses(Integer courseId, Integer professorId, Integer roomId,
+                                                       String semester, String academicYear, String department, String building) {
+        QueryFilter filter = filter(new QueryFilter(), courseId, professorId, roomId, semester, academicYear, department, building);
+        return filter.bind(entityManager.createQuery(ScheduleRepository.SCHEDULE_RESPONSE_SELECT + filter.toWhereClause() +
+                        "ORDER BY s.scheduleId", ScheduleResponseDTO.class))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, ScheduleRepository.EXPORT_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    @Override
+    public long countFiltered(Integer courseId, Integer professorId, Integer roomId,
+                              String semester, String academicYear, String department, String building) {
+        QueryFilter filter = filter(new QueryFilter(), courseId, professorId, roomId, semester, academicYear, department, building);
+        return filter.bind(entityManager.createQuery("SELECT COUNT(s) FROM Schedule s JOIN s.course c JOIN s.professor p " +
+                        "JOIN s.classroom r " + filter.toWhereClause(), Long.class))
+                .getSingleResult();
+    }
+
+    private static QueryFilter filter(QueryFilter filter, Integer courseId, Integer professorId, Integer roomId,
+                                      String semester, String academicYear, String department, String building) {
+        return filter.equal("c.courseId", "courseId", courseId)
+                .equal("p.professorId", "professorId", professorId)
+                .equal("r.roomId", "roomId", roomId)
+                .equal("s.semester", "semester", semester)
+                .equal("s.academicYear", "academicYear", academicYear)
+                .equal("c.department", "department", department)
+                .equal("r.building", "building", building);
+    }
+}
@@ -0,0 +1,14 @@
+package com.javaproj.db;
+
+import java.time.LocalTime;
+
+// Lightweight projection of a Schedule row: only the columns needed for conflict checking,
+// so loading a whole term does not pull in courses, professors and classrooms.
+public interface ScheduleSlot {
+    Integer getScheduleId();
+    Integer getRoomId();
+    Integer getProfessorId();
+    String getDayOfWeek();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+}
@@ -0,0 +1,8 @@
+package com.javaproj.db;
+
+// Seats of a schedule: the capacity of its classroom and how many students are enrolled.
+public interface SeatCount {
+    Integer getScheduleId();
+    Integer getCapacity();
+    Long getEnrolled();
+}
@@ -1,13 +1,20 @@
 package com.javaproj.db;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Integer> {
+public interface StudentRepository extends JpaRepository<Student, Integer>, StudentRepositoryCustom {
     Optional<Student> findByEmail(String email);
     List<Student> findByMajor(String major);
     List<Student> findByLastNameOrderByFirstNameAsc(String lastName);
+
+    // Which of the given ids exist, without loading the students.
+    @Query("SELECT st.studentId FROM Student st WHERE st.studentId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
 }
@@ -0,0 +1,14 @@
+package com.javaproj.db;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+// Queries with optional filters (QueryFilter); a null filter parameter adds no condition.
+public interface StudentRepositoryCustom {
+
+    // Keyset page: students after afterId, at most limit.getPageSize() of them.
+    List<Student> findPage(int afterId, String major, Pageable limit);
+
+    long countFiltered(String major);
+}
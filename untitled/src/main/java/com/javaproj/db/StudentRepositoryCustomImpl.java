@@ -0,0 +1,28 @@
+package com.javaproj.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public class StudentRepositoryCustomImpl implements StudentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Student> findPage(int afterId, String major, Pageable limit) {
+        QueryFilter filter = new QueryFilter().greaterThan("st.studentId", "afterId", afterId).equal("st.major", "major", major);
+        return filter.bind(entityManager.createQuery("SELECT st FROM Student st " + filter.toWhereClause() + "ORDER BY st.studentId", Student.class))
+                .setMaxResults(limit.getPageSize())
+                .getResultList();
+    }
+
+    @Override
+    public long countFiltered(String major) {
+        QueryFilter filter = new QueryFilter().equal("st.major", "major", major);
+        return filter.bind(entityManager.createQuery("SELECT COUNT(st) FROM Student st " + filter.toWhereClause(), Long.class))
+                .getSingleResult();
+    }
+}
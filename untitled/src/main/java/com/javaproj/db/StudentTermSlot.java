@@ -0,0 +1,6 @@
+package com.javaproj.db;
+
+// A schedule a student is enrolled in.
+public interface StudentTermSlot extends TermSlot {
+    Integer getStudentId();
+}
@@ -0,0 +1,14 @@
+package com.javaproj.db;
+
+import java.time.LocalTime;
+
+// When and in which term a schedule meets, plus its course code for messages.
+public interface TermSlot {
+    Integer getScheduleId();
+    String getCourseCode();
+    String getDayOfWeek();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+    String getSemester();
+    String getAcademicYear();
+}
@@ -0,0 +1,44 @@
+package com.javaproj.db;
+
+import java.time.LocalTime;
+
+// One session of a student's timetable, as kept in memory by TimetableService: ids instead of names, so a
+// cached timetable stays small and course, professor and classroom details are always current.
+// Immutable; built directly by a JPQL constructor expression.
+public final class TimetableSession {
+    private final Integer enrollmentId;
+    private final Integer scheduleId;
+    private final Integer courseId;
+    private final Integer professorId;
+    private final Integer roomId;
+    private final String dayOfWeek;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final String semester;
+    private final String academicYear;
+
+    public TimetableSession(Integer enrollmentId, Integer scheduleId, Integer courseId, Integer professorId, Integer roomId,
+                            String dayOfWeek, LocalTime startTime, LocalTime endTime, String semester, String academicYear) {
+        this.enrollmentId = enrollmentId;
+        this.scheduleId = scheduleId;
+        this.courseId = courseId;
+        this.professorId = professorId;
+        this.roomId = roomId;
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.semester = semester;
+        this.academicYear = academicYear;
+    }
+
+    public Integer getEnrollmentId() { return enrollmentId; }
+    public Integer getScheduleId() { return scheduleId; }
+    public Integer getCourseId() { return courseId; }
+    public Integer getProfessorId() { return professorId; }
+    public Integer getRoomId() { return roomId; }
+    public String getDayOfWeek() { return dayOfWeek; }
+    public LocalTime getStartTime() { return startTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public String getSemester() { return semester; }
+    public String getAcademicYear() { return academicYear; }
+}
@@ -0,0 +1,72 @@
+package com.javaproj.db;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+// A student waiting for a seat in a full schedule. Entries are served in (requestedAt, waitlistId) order.
+@Entity
+@Table(name = "Waitlist", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"student_id", "schedule_id"}, name = "unique_waitlist_student_schedule")
+}, indexes = {
+        @Index(name = "idx_waitlist_schedule_order", columnList = "schedule_id, requested_at, waitlist_id")
+})
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_seq")
+    @SequenceGenerator(name = "waitlist_seq", sequenceName = "waitlist_waitlist_id_seq", allocationSize = 50)
+    @Column(name = "waitlist_id")
+    private Integer waitlistId;
+
+    // Entries disappear with their student or schedule (ON DELETE CASCADE in the database).
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Student student;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "schedule_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Schedule schedule;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+
+    public WaitlistEntry() {
+    }
+
+    public Integer getWaitlistId() {
+        return waitlistId;
+    }
+
+    public void setWaitlistId(Integer waitlistId) {
+        this.waitlistId = waitlistId;
+    }
+
+    public Student getStudent() {
+        return student;
+    }
+
+    public void setStudent(Student student) {
+        this.student = student;
+    }
+
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    public void setSchedule(Schedule schedule) {
+        this.schedule = schedule;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(LocalDateTime requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+}
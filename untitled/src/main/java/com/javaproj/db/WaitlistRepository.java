@@ -0,0 +1,60 @@
+package com.javaproj.db;
+
+import com.javaproj.dto.WaitlistEntryDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Integer> {
+
+    // Position = 1 + entries of the same schedule that are ahead in (requestedAt, waitlistId) order.
+    String WAITLIST_ENTRY_SELECT = "SELECT new com.javaproj.dto.WaitlistEntryDTO(w.waitlistId, st.studentId, s.scheduleId, " +
+            "c.courseCode, w.requestedAt, " +
+            "(SELECT COUNT(a) + 1 FROM WaitlistEntry a WHERE a.schedule = w.schedule AND " +
+            "(a.requestedAt < w.requestedAt OR (a.requestedAt = w.requestedAt AND a.waitlistId < w.waitlistId)))) " +
+            "FROM WaitlistEntry w JOIN w.student st JOIN w.schedule s JOIN s.course c ";
+
+    @Query(WAITLIST_ENTRY_SELECT + "WHERE w.waitlistId = :waitlistId")
+    Optional<WaitlistEntryDTO> findEntryById(@Param("waitlistId") Integer waitlistId);
+
+    @Query(WAITLIST_ENTRY_SELECT + "WHERE st.studentId = :studentId ORDER BY w.requestedAt, w.waitlistId")
+    List<WaitlistEntryDTO> findEntriesByStudentId(@Param("studentId") Integer studentId);
+
+    @Query(WAITLIST_ENTRY_SELECT + "WHERE st.studentId = :studentId AND s.scheduleId = :scheduleId")
+    Optional<WaitlistEntryDTO> findEntryByStudentIdAndScheduleId(@Param("studentId") Integer studentId,
+                                                                 @Param("scheduleId") Integer scheduleId);
+
+    // Without the per-row position subquery: positions of an ordered list are its indexes.
+    @Query("SELECT new com.javaproj.dto.WaitlistEntryDTO(w.waitlistId, st.studentId, s.scheduleId, c.courseCode, w.requestedAt, 0L) " +
+            "FROM WaitlistEntry w JOIN w.student st JOIN w.schedule s JOIN s.course c " +
+            "WHERE s.scheduleId = :scheduleId ORDER BY w.requestedAt, w.waitlistId")
+    List<WaitlistEntryDTO> findEntriesByScheduleId(@Param("scheduleId") Integer scheduleId);
+
+    // Head of a schedule's waitlist, for promotion.
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.schedule.scheduleId = :scheduleId " +
+            "AND (w.requestedAt > :afterRequestedAt OR (w.requestedAt = :afterRequestedAt AND w.waitlistId > :afterId)) " +
+            "ORDER BY w.requestedAt, w.waitlistId")
+    List<WaitlistEntry> findHead(@Param("scheduleId") Integer scheduleId,
+                                 @Param("afterRequestedAt") LocalDateTime afterRequestedAt,
+                                 @Param("afterId") Integer afterId,
+                                 Pageable limit);
+
+    boolean existsByStudent_StudentIdAndSchedule_ScheduleId(Integer studentId, Integer scheduleId);
+
+    boolean existsBySchedule_ScheduleId(Integer scheduleId);
+
+    @Query("SELECT DISTINCT w.schedule.scheduleId FROM WaitlistEntry w")
+    List<Integer> findWaitlistedScheduleIds();
+
+    @Modifying
+    @Query("DELETE FROM WaitlistEntry w WHERE w.waitlistId IN :ids")
+    int deleteByIds(@Param("ids") List<Integer> ids);
+}
@@ -0,0 +1,31 @@
+package com.javaproj.dto;
+
+import java.util.List;
+
+public class AvailabilityDTO {
+    private String semester;
+    private String academicYear;
+    private int minDurationMinutes;
+    private List<ResourceAvailabilityDTO> rooms;
+    private List<ResourceAvailabilityDTO> professors;
+
+    public AvailabilityDTO(String semester, String academicYear, int minDurationMinutes,
+                           List<ResourceAvailabilityDTO> rooms, List<ResourceAvailabilityDTO> professors) {
+        this.semester = semester;
+        this.academicYear = academicYear;
+        this.minDurationMinutes = minDurationMinutes;
+        this.rooms = rooms;
+        this.professors = professors;
+    }
+
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public int getMinDurationMinutes() { return minDurationMinutes; }
+    public void setMinDurationMinutes(int minDurationMinutes) { this.minDurationMinutes = minDurationMinutes; }
+    public List<ResourceAvailabilityDTO> getRooms() { return rooms; }
+    public void setRooms(List<ResourceAvailabilityDTO> rooms) { this.rooms = rooms; }
+    public List<ResourceAvailabilityDTO> getProfessors() { return professors; }
+    public void setProfessors(List<ResourceAvailabilityDTO> professors) { this.professors = professors; }
+}
@@ -0,0 +1,26 @@
+package com.javaproj.dto;
+
+import java.util.List;
+
+public class EnrollmentImportResultDTO {
+    private int total;
+    private int created;
+    private int rejected;
+    private List<EnrollmentImportRowDTO> rows;
+
+    public EnrollmentImportResultDTO(int total, int created, int rejected, List<EnrollmentImportRowDTO> rows) {
+        this.total = total;
+        this.created = created;
+        this.rejected = rejected;
+        this.rows = rows;
+    }
+
+    public int getTotal() { return total; }
+    public void setTotal(int total) { this.total = total; }
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    public List<EnrollmentImportRowDTO> getRows() { return rows; }
+    public void setRows(List<EnrollmentImportRowDTO> rows) { this.rows = rows; }
+}
@@ -0,0 +1,37 @@
+package com.javaproj.dto;
+
+// Outcome of one row of a bulk enrollment import. Rows are numbered from 1 in request order; rows of a CSV import
+// carry their line in the file.
+public class EnrollmentImportRowDTO {
+
+    public enum Status { CREATED, DUPLICATE, TIMETABLE_CLASH, SCHEDULE_FULL, WAITLISTED, STUDENT_NOT_FOUND, SCHEDULE_NOT_FOUND, INVALID }
+
+    private int row;
+    private Integer studentId;
+    private Integer scheduleId;
+    private Status status;
+    private Integer enrollmentId; // set for CREATED rows
+    private String message;
+
+    public EnrollmentImportRowDTO(int row, Integer studentId, Integer scheduleId, Status status, Integer enrollmentId, String message) {
+        this.row = row;
+        this.studentId = studentId;
+        this.scheduleId = scheduleId;
+        this.status = status;
+        this.enrollmentId = enrollmentId;
+        this.message = message;
+    }
+
+    public int getRow() { return row; }
+    public void setRow(int row) { this.row = row; }
+    public Integer getStudentId() { return studentId; }
+    public void setStudentId(Integer studentId) { this.studentId = studentId; }
+    public Integer getScheduleId() { return scheduleId; }
+    public void setScheduleId(Integer scheduleId) { this.scheduleId = scheduleId; }
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+    public Integer getEnrollmentId() { return enrollmentId; }
+    public void setEnrollmentId(Integer enrollmentId) { this.enrollmentId = enrollmentId; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
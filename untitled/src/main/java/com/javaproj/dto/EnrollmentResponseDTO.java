@@ -2,6 +2,7 @@ package com.javaproj.dto;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 public class EnrollmentResponseDTO {
     private Integer enrollmentId;
@@ -19,6 +20,24 @@ public class EnrollmentResponseDTO {
         this.grade = grade;
     }
 
+    // Flat form used by JPQL constructor expressions (EnrollmentRepository.ENROLLMENT_RESPONSE_SELECT).
+    public EnrollmentResponseDTO(Integer enrollmentId,
+                                 Integer studentId, String studentFirstName, String studentLastName, String studentEmail,
+                                 String studentMajor, LocalDate studentEnrollmentDate,
+                                 Integer scheduleId,
+                                 Integer courseId, String courseCode, String courseName,
+                                 Integer professorId, String professorFirstName, String professorLastName,
+                                 Integer roomId, String roomNumber, Integer capacity,
+                                 String dayOfWeek, LocalTime startTime, LocalTime endTime, String semester, String academicYear,
+                                 LocalDate enrollmentDate, BigDecimal grade) {
+        this(enrollmentId,
+                new StudentDTO(studentId, studentFirstName, studentLastName, studentEmail, studentMajor, studentEnrollmentDate),
+                new ScheduleResponseDTO(scheduleId, courseId, courseCode, courseName,
+                        professorId, professorFirstName, professorLastName, roomId, roomNumber, capacity,
+                        dayOfWeek, startTime, endTime, semester, academicYear),
+                enrollmentDate, grade);
+    }
+
     public Integer getEnrollmentId() { return enrollmentId; }
     public void setEnrollmentId(Integer enrollmentId) { this.enrollmentId = enrollmentId; }
     public StudentDTO getStudent() { return student; }
@@ -0,0 +1,26 @@
+package com.javaproj.dto;
+
+import java.time.LocalTime;
+
+public class FreeSlotDTO {
+    private String dayOfWeek;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private int durationMinutes;
+
+    public FreeSlotDTO(String dayOfWeek, LocalTime startTime, LocalTime endTime, int durationMinutes) {
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.durationMinutes = durationMinutes;
+    }
+
+    public String getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(String dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+    public LocalTime getStartTime() { return startTime; }
+    public void setStartTime(LocalTime startTime) { this.startTime = startTime; }
+    public LocalTime getEndTime() { return endTime; }
+    public void setEndTime(LocalTime endTime) { this.endTime = endTime; }
+    public int getDurationMinutes() { return durationMinutes; }
+    public void setDurationMinutes(int durationMinutes) { this.durationMinutes = durationMinutes; }
+}
@@ -0,0 +1,69 @@
+package com.javaproj.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+// One page of a list endpoint using keyset (cursor) pagination: rows are ordered by id and a page
+// starts after the last id of the previous one, so fetching page N costs the same as fetching page 1.
+// Pass nextAfter back as ?after= to get the following page; it is null on the last page.
+public class KeysetPage<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 1000;
+
+    private List<T> items;
+    private Integer limit;
+    private Integer nextAfter;
+    private boolean hasMore;
+    private Long totalCount; // only filled in when the caller asked for it (?includeTotal=true)
+
+    public KeysetPage(List<T> items, Integer limit, Integer nextAfter, boolean hasMore, Long totalCount) {
+        this.items = items;
+        this.limit = limit;
+        this.nextAfter = nextAfter;
+        this.hasMore = hasMore;
+        this.totalCount = totalCount;
+    }
+
+    // Builds a page from up to limit + 1 rows fetched with fetchOneMore(limit); the extra row only
+    // tells whether another page exists and is dropped.
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Integer> idOf, Long totalCount) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? rows.subList(0, limit) : rows;
+        Integer nextAfter = hasMore ? idOf.apply(items.get(items.size() - 1)) : null;
+        return new KeysetPage<>(items, limit, nextAfter, hasMore, totalCount);
+    }
+
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        return limit;
+    }
+
+    // Ids are positive, so "after 0" is the first page.
+    public static int normalizeAfter(Integer after) {
+        return after == null ? 0 : after;
+    }
+
+    public static Pageable fetchOneMore(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+    public Integer getNextAfter() { return nextAfter; }
+    public void setNextAfter(Integer nextAfter) { this.nextAfter = nextAfter; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    public Long getTotalCount() { return totalCount; }
+    public void setTotalCount(Long totalCount) { this.totalCount = totalCount; }
+}
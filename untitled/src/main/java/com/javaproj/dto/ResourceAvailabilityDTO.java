@@ -0,0 +1,23 @@
+package com.javaproj.dto;
+
+import java.util.List;
+
+// Free windows of one room or professor over the requested days.
+public class ResourceAvailabilityDTO {
+    private Integer resourceId;
+    private String name; // room number, or professor first and last name
+    private List<FreeSlotDTO> freeSlots;
+
+    public ResourceAvailabilityDTO(Integer resourceId, String name, List<FreeSlotDTO> freeSlots) {
+        this.resourceId = resourceId;
+        this.name = name;
+        this.freeSlots = freeSlots;
+    }
+
+    public Integer getResourceId() { return resourceId; }
+    public void setResourceId(Integer resourceId) { this.resourceId = resourceId; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public List<FreeSlotDTO> getFreeSlots() { return freeSlots; }
+    public void setFreeSlots(List<FreeSlotDTO> freeSlots) { this.freeSlots = freeSlots; }
+}
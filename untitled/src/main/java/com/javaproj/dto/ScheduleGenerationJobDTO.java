@@ -0,0 +1,62 @@
+package com.javaproj.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class ScheduleGenerationJobDTO {
+    private String jobId;
+    private String status;
+    private String strategy;
+    private Integer coursesTotal;
+    private Integer coursesPlaced;
+    private Integer coursesRemaining;
+    private Double bestScore;
+    private String message;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private List<ScheduleResponseDTO> schedules;
+
+    public ScheduleGenerationJobDTO(String jobId, String status, String strategy,
+                                    Integer coursesTotal, Integer coursesPlaced, Integer coursesRemaining, Double bestScore,
+                                    String message, Instant submittedAt, Instant startedAt, Instant finishedAt,
+                                    List<ScheduleResponseDTO> schedules) {
+        this.jobId = jobId;
+        this.status = status;
+        this.strategy = strategy;
+        this.coursesTotal = coursesTotal;
+        this.coursesPlaced = coursesPlaced;
+        this.coursesRemaining = coursesRemaining;
+        this.bestScore = bestScore;
+        this.message = message;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.schedules = schedules;
+    }
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getStrategy() { return strategy; }
+    public void setStrategy(String strategy) { this.strategy = strategy; }
+    public Integer getCoursesTotal() { return coursesTotal; }
+    public void setCoursesTotal(Integer coursesTotal) { this.coursesTotal = coursesTotal; }
+    public Integer getCoursesPlaced() { return coursesPlaced; }
+    public void setCoursesPlaced(Integer coursesPlaced) { this.coursesPlaced = coursesPlaced; }
+    public Integer getCoursesRemaining() { return coursesRemaining; }
+    public void setCoursesRemaining(Integer coursesRemaining) { this.coursesRemaining = coursesRemaining; }
+    public Double getBestScore() { return bestScore; }
+    public void setBestScore(Double bestScore) { this.bestScore = bestScore; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(Instant submittedAt) { this.submittedAt = submittedAt; }
+    public Instant getStartedAt() { return startedAt; }
+    public void setStartedAt(Instant startedAt) { this.startedAt = startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    public List<ScheduleResponseDTO> getSchedules() { return schedules; }
+    public void setSchedules(List<ScheduleResponseDTO> schedules) { this.schedules = schedules; }
+}
@@ -2,14 +2,27 @@ package com.javaproj.dto;
 
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 
 public class ScheduleGenerationRequest {
+
+    public enum Strategy {
+        GREEDY,
+        SOLVER,
+        OPTIMIZE
+    }
+
     private List<Integer> courseIds;
     private String semester;
     private String academicYear;
     private List<String> daysOfWeek;
     private List<LocalTime> startTimes;
     private int defaultDurationHours = 2;
+    private Strategy strategy = Strategy.GREEDY;
+    private long timeBudgetMillis = 10_000;
+    private int maxBacktracks = 10_000;
+    private int workers;
+    private Map<Integer, Integer> expectedEnrollments;
 
     public List<Integer> getCourseIds() {
         return courseIds;
@@ -58,4 +71,44 @@ public class ScheduleGenerationRequest {
     public void setDefaultDurationHours(int defaultDurationHours) {
         this.defaultDurationHours = defaultDurationHours;
     }
-}
\ No newline at end of file
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    public int getMaxBacktracks() {
+        return maxBacktracks;
+    }
+
+    public void setMaxBacktracks(int maxBacktracks) {
+        this.maxBacktracks = maxBacktracks;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    public Map<Integer, Integer> getExpectedEnrollments() {
+        return expectedEnrollments;
+    }
+
+    public void setExpectedEnrollments(Map<Integer, Integer> expectedEnrollments) {
+        this.expectedEnrollments = expectedEnrollments;
+    }
+}
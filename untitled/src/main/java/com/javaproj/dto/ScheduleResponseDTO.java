@@ -26,6 +26,20 @@ public class ScheduleResponseDTO {
         this.academicYear = academicYear;
     }
 
+    // Flat form used by JPQL constructor expressions (ScheduleRepository.SCHEDULE_RESPONSE_SELECT),
+    // so a listing is built from one joined query instead of loading entities.
+    public ScheduleResponseDTO(Integer scheduleId,
+                               Integer courseId, String courseCode, String courseName,
+                               Integer professorId, String professorFirstName, String professorLastName,
+                               Integer roomId, String roomNumber, Integer capacity,
+                               String dayOfWeek, LocalTime startTime, LocalTime endTime, String semester, String academicYear) {
+        this(scheduleId,
+                new CourseDTO(courseId, courseCode, courseName),
+                new ProfessorDTO(professorId, professorFirstName, professorLastName),
+                new ClassroomDTO(roomId, roomNumber, capacity),
+                dayOfWeek, startTime, endTime, semester, academicYear);
+    }
+
     public Integer getScheduleId() { return scheduleId; }
     public void setScheduleId(Integer scheduleId) { this.scheduleId = scheduleId; }
     public CourseDTO getCourse() { return course; }
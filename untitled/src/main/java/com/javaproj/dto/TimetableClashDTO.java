@@ -0,0 +1,61 @@
+package com.javaproj.dto;
+
+import java.time.LocalTime;
+
+// Two schedules of the same term that a student is enrolled in and that overlap on the same day.
+public class TimetableClashDTO {
+    private Integer studentId;
+    private String studentFirstName;
+    private String studentLastName;
+    private String dayOfWeek;
+    private Integer firstScheduleId;
+    private String firstCourseCode;
+    private LocalTime firstStartTime;
+    private LocalTime firstEndTime;
+    private Integer secondScheduleId;
+    private String secondCourseCode;
+    private LocalTime secondStartTime;
+    private LocalTime secondEndTime;
+
+    public TimetableClashDTO(Integer studentId, String studentFirstName, String studentLastName, String dayOfWeek,
+                             Integer firstScheduleId, String firstCourseCode, LocalTime firstStartTime, LocalTime firstEndTime,
+                             Integer secondScheduleId, String secondCourseCode, LocalTime secondStartTime, LocalTime secondEndTime) {
+        this.studentId = studentId;
+        this.studentFirstName = studentFirstName;
+        this.studentLastName = studentLastName;
+        this.dayOfWeek = dayOfWeek;
+        this.firstScheduleId = firstScheduleId;
+        this.firstCourseCode = firstCourseCode;
+        this.firstStartTime = firstStartTime;
+        this.firstEndTime = firstEndTime;
+        this.secondScheduleId = secondScheduleId;
+        this.secondCourseCode = secondCourseCode;
+        this.secondStartTime = secondStartTime;
+        this.secondEndTime = secondEndTime;
+    }
+
+    public Integer getStudentId() { return studentId; }
+    public void setStudentId(Integer studentId) { this.studentId = studentId; }
+    public String getStudentFirstName() { return studentFirstName; }
+    public void setStudentFirstName(String studentFirstName) { this.studentFirstName = studentFirstName; }
+    public String getStudentLastName() { return studentLastName; }
+    public void setStudentLastName(String studentLastName) { this.studentLastName = studentLastName; }
+    public String getDayOfWeek() { return dayOfWeek; }
+    public void setDayOfWeek(String dayOfWeek) { this.dayOfWeek = dayOfWeek; }
+    public Integer getFirstScheduleId() { return firstScheduleId; }
+    public void setFirstScheduleId(Integer firstScheduleId) { this.firstScheduleId = firstScheduleId; }
+    public String getFirstCourseCode() { return firstCourseCode; }
+    public void setFirstCourseCode(String firstCourseCode) { this.firstCourseCode = firstCourseCode; }
+    public LocalTime getFirstStartTime() { return firstStartTime; }
+    public void setFirstStartTime(LocalTime firstStartTime) { this.firstStartTime = firstStartTime; }
+    public LocalTime getFirstEndTime() { return firstEndTime; }
+    public void setFirstEndTime(LocalTime firstEndTime) { this.firstEndTime = firstEndTime; }
+    public Integer getSecondScheduleId() { return secondScheduleId; }
+    public void setSecondScheduleId(Integer secondScheduleId) { this.secondScheduleId = secondScheduleId; }
+    public String getSecondCourseCode() { return secondCourseCode; }
+    public void setSecondCourseCode(String secondCourseCode) { this.secondCourseCode = secondCourseCode; }
+    public LocalTime getSecondStartTime() { return secondStartTime; }
+    public void setSecondStartTime(LocalTime secondStartTime) { this.secondStartTime = secondStartTime; }
+    public LocalTime getSecondEndTime() { return secondEndTime; }
+    public void setSecondEndTime(LocalTime secondEndTime) { this.secondEndTime = secondEndTime; }
+}
@@ -0,0 +1,27 @@
+package com.javaproj.dto;
+
+import java.util.List;
+
+// A student's weekly timetable, optionally restricted to one term. Sessions are ordered by term, day and start time.
+public class TimetableDTO {
+    private Integer studentId;
+    private String semester;
+    private String academicYear;
+    private List<TimetableEntryDTO> sessions;
+
+    public TimetableDTO(Integer studentId, String semester, String academicYear, List<TimetableEntryDTO> sessions) {
+        this.studentId = studentId;
+        this.semester = semester;
+        this.academicYear = academicYear;
+        this.sessions = sessions;
+    }
+
+    public Integer getStudentId() { return studentId; }
+    public void setStudentId(Integer studentId) { this.studentId = studentId; }
+    public String getSemester() { return semester; }
+    public void setSemester(String semester) { this.semester = semester; }
+    public String getAcademicYear() { return academicYear; }
+    public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+    public List<TimetableEntryDTO> getSessions() { return sessions; }
+    public void setSessions(List<TimetableEntryDTO> sessions) { this.sessions = sessions; }
+}
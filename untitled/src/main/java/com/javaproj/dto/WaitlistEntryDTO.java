@@ -0,0 +1,35 @@
+package com.javaproj.dto;
+
+import java.time.LocalDateTime;
+
+public class WaitlistEntryDTO {
+    private Integer waitlistId;
+    private Integer studentId;
+    private Integer scheduleId;
+    private String courseCode;
+    private LocalDateTime requestedAt;
+    private long position; // 1 = next to be promoted
+
+    public WaitlistEntryDTO(Integer waitlistId, Integer studentId, Integer scheduleId, String courseCode,
+                            LocalDateTime requestedAt, long position) {
+        this.waitlistId = waitlistId;
+        this.studentId = studentId;
+        this.scheduleId = scheduleId;
+        this.courseCode = courseCode;
+        this.requestedAt = requestedAt;
+        this.position = position;
+    }
+
+    public Integer getWaitlistId() { return waitlistId; }
+    public void setWaitlistId(Integer waitlistId) { this.waitlistId = waitlistId; }
+    public Integer getStudentId() { return studentId; }
+    public void setStudentId(Integer studentId) { this.studentId = studentId; }
+    public Integer getScheduleId() { return scheduleId; }
+    public void setScheduleId(Integer scheduleId) { this.scheduleId = scheduleId; }
+    public String getCourseCode() { return courseCode; }
+    public void setCourseCode(String courseCode) { this.courseCode = courseCode; }
+    public LocalDateTime getRequestedAt() { return requestedAt; }
+    public void setRequestedAt(LocalDateTime requestedAt) { this.requestedAt = requestedAt; }
+    public long getPosition() { return position; }
+    public void setPosition(long position) { this.position = position; }
+}
@@ -0,0 +1,8 @@
+package com.javaproj.exceptions;
+
+// No seat left in the schedule (or its waitlist has priority). The request can be waitlisted instead.
+public class ScheduleFullException extends IllegalStateException {
+    public ScheduleFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,116 @@
+package com.javaproj.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.r2dbc.ConnectionPoolMetrics;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.time.Duration;
+
+// Configuration of the reactive read server, a child context of the application started by ReactiveReadServer.
+// Deliberately not a @Configuration: the application's component scan must not pick it up.
+// - WebFlux's Java config (@EnableWebFlux, WebFluxAutoConfiguration) refuses to run next to Spring MVC, even in a
+//   child context, so the HttpHandler is built directly from the routes. Jackson's ObjectMapper and the
+//   MeterRegistry come from the application.
+// - The R2DBC pool is the only connection to the database: JPA, the services and their caches stay in the
+//   application, and nothing here blocks an event-loop thread.
+@ImportAutoConfiguration(PropertyPlaceholderAutoConfiguration.class)
+public class ReactiveReadContext {
+
+    @Bean
+    public NettyReactiveWebServerFactory reactiveReadServerFactory(@Value("${reactive-read.port:8101}") int port) {
+        return new NettyReactiveWebServerFactory(port);
+    }
+
+    // Streams beyond max-pool-size wait for a connection, up to acquire-timeout-ms.
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveReadConnectionPool(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${reactive-read.url:}") String url,
+            @Value("${spring.datasource.url:}") String jdbcUrl,
+            @Value("${reactive-read.username}") String username,
+            @Value("${reactive-read.password}") String password,
+            @Value("${reactive-read.max-pool-size:10}") int maxPoolSize,
+            @Value("${reactive-read.acquire-timeout-ms:10000}") long acquireTimeoutMs) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl(url, jdbcUrl)).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .name("reactiveRead")
+                .initialSize(0)
+                .maxSize(maxPoolSize)
+                .maxAcquireTime(Duration.ofMillis(acquireTimeoutMs))
+                .build());
+        // r2dbc.pool.* next to hikaricp.connections.* of the JPA pool
+        meterRegistry.ifAvailable(registry -> new ConnectionPoolMetrics(pool, "reactiveRead", Tags.empty()).bindTo(registry));
+        return pool;
+    }
+
+    @Bean
+    public ReactiveReadRepository reactiveReadRepository(ConnectionPool reactiveReadConnectionPool,
+                                                         @Value("${reactive-read.fetch-size:500}") int fetchSize) {
+        return new ReactiveReadRepository(DatabaseClient.create(reactiveReadConnectionPool), fetchSize);
+    }
+
+    @Bean
+    public HttpHandler httpHandler(ReactiveReadRepository reactiveReadRepository, ObjectProvider<ObjectMapper> objectMapper) {
+        ReactiveReadHandler handler = new ReactiveReadHandler(reactiveReadRepository);
+        Jackson2JsonEncoder encoder = new Jackson2JsonEncoder(objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build()));
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> codecs.defaultCodecs().jackson2JsonEncoder(encoder))
+                .webFilter(corsFilter())
+                .exceptionHandler(handler::handleError)
+                .build();
+        return RouterFunctions.toHttpHandler(RouterFunctions.route()
+                .GET("/api/v1/schedules", handler::getSchedules)
+                .GET("/api/v1/students/{id}/timetable", handler::getTimetable)
+                .build(), strategies);
+    }
+
+    // reactive-read.url, or by default the database of spring.datasource.url (the JDBC driver's parameters are
+    // dropped: they mean nothing to R2DBC).
+    static String r2dbcUrl(String url, String jdbcUrl) {
+        if (StringUtils.hasText(url)) {
+            return url;
+        }
+        if (jdbcUrl == null || !jdbcUrl.startsWith("jdbc:postgresql://")) {
+            throw new IllegalStateException("reactive-read.url must be set: spring.datasource.url (" + jdbcUrl
+                    + ") is not a jdbc:postgresql://host/database URL");
+        }
+        String r2dbcUrl = "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+        int query = r2dbcUrl.indexOf('?');
+        return query < 0 ? r2dbcUrl : r2dbcUrl.substring(0, query);
+    }
+
+    // Same origins as the servlet API (WebConfig).
+    private static CorsWebFilter corsFilter() {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.addAllowedOrigin("*");
+        cors.addAllowedMethod("GET");
+        cors.addAllowedHeader("*");
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/api/v1/**", cors);
+        return new CorsWebFilter(source);
+    }
+}
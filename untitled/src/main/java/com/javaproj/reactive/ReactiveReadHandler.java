@@ -0,0 +1,96 @@
+package com.javaproj.reactive;
+
+import com.javaproj.dto.ScheduleResponseDTO;
+import com.javaproj.dto.TimetableEntryDTO;
+import com.javaproj.services.ScheduleService;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+// Handlers of the reactive read server (routes in ReactiveReadContext). Both answer with application/x-ndjson, one
+// JSON object per line, written as the rows arrive. Parameters are those of the servlet endpoints.
+public class ReactiveReadHandler {
+
+    private final ReactiveReadRepository repository;
+
+    public ReactiveReadHandler(ReactiveReadRepository repository) {
+        this.repository = repository;
+    }
+
+    // GET /api/v1/schedules?courseId=&professorId=&classroomId=&semester=&academicYear=&department=&building=
+    public Mono<ServerResponse> getSchedules(ServerRequest request) {
+        ScheduleService.ScheduleFilter filter = new ScheduleService.ScheduleFilter();
+        try {
+            filter.courseId = intParam(request, "courseId");
+            filter.professorId = intParam(request, "professorId");
+            filter.classroomId = intParam(request, "classroomId");
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+        filter.semester = request.queryParam("semester").orElse(null);
+        filter.academicYear = request.queryParam("academicYear").orElse(null);
+        filter.department = request.queryParam("department").orElse(null);
+        filter.building = request.queryParam("building").orElse(null);
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(repository.streamSchedules(filter), ScheduleResponseDTO.class);
+    }
+
+    // GET /api/v1/students/{id}/timetable?semester=&academicYear=
+    public Mono<ServerResponse> getTimetable(ServerRequest request) {
+        Integer studentId;
+        try {
+            studentId = Integer.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return badRequest("Invalid student id: " + request.pathVariable("id"));
+        }
+        String semester = request.queryParam("semester").orElse(null);
+        String academicYear = request.queryParam("academicYear").orElse(null);
+        return repository.studentExists(studentId).flatMap(exists -> exists
+                ? ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(repository.streamTimetable(studentId, semester, academicYear), TimetableEntryDTO.class)
+                : ServerResponse.status(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .bodyValue("Student not found with id: " + studentId));
+    }
+
+    // No pooled connection within reactive-read.acquire-timeout-ms: 503 and Retry-After, as the servlet API answers
+    // when its request limit is reached. Registered as the server's exception handler, so it also covers a stream
+    // that fails before its first row is written. Anything else is left to the default handling (500).
+    public Mono<Void> handleError(ServerWebExchange exchange, Throwable error) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (!(error instanceof DataAccessResourceFailureException) || response.isCommitted()) {
+            return Mono.error(error);
+        }
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        response.getHeaders().setContentType(MediaType.TEXT_PLAIN);
+        byte[] body = "Too many requests in progress. Please retry later.".getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static Integer intParam(ServerRequest request, String name) {
+        String value = request.queryParam(name).orElse(null);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Mono<ServerResponse> badRequest(String message) {
+        return ServerResponse.badRequest().contentType(MediaType.TEXT_PLAIN).bodyValue(message);
+    }
+}
@@ -0,0 +1,117 @@
+package com.javaproj.reactive;
+
+import com.javaproj.dto.ClassroomDTO;
+import com.javaproj.dto.CourseDTO;
+import com.javaproj.dto.ProfessorDTO;
+import com.javaproj.dto.ScheduleResponseDTO;
+import com.javaproj.dto.TimetableEntryDTO;
+import com.javaproj.services.ScheduleService;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The read queries of the reactive server, in SQL over R2DBC. Course, professor and room names are joined in
+// (as ScheduleRepository.SCHEDULE_RESPONSE_SELECT does) instead of looked up in ReferenceDataCache, whose misses
+// would block an event-loop thread on JDBC.
+// Rows are fetched fetchSize at a time and only as fast as the client reads them, so a stream holds one batch of
+// rows in memory, however large the result.
+public class ReactiveReadRepository {
+
+    private static final String SCHEDULE_COLUMNS = "s.schedule_id, c.course_id, c.course_code, c.course_name, " +
+            "p.professor_id, p.first_name, p.last_name, r.room_id, r.room_number, r.capacity, " +
+            "s.day_of_week, s.start_time, s.end_time, s.semester, s.academic_year ";
+
+    private static final String SCHEDULE_JOINS = "JOIN Courses c ON c.course_id = s.course_id " +
+            "JOIN Professors p ON p.professor_id = s.professor_id " +
+            "JOIN Classrooms r ON r.room_id = s.room_id ";
+
+    // Same order as TimetableService: term, then day of the week, then start time.
+    private static final String DAY_ORDER = "CASE s.day_of_week WHEN 'Luni' THEN 0 WHEN 'Marti' THEN 1 " +
+            "WHEN 'Miercuri' THEN 2 WHEN 'Joi' THEN 3 WHEN 'Vineri' THEN 4 WHEN 'Sambata' THEN 5 " +
+            "WHEN 'Duminica' THEN 6 END";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveReadRepository(DatabaseClient databaseClient, int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    // Schedules matching all given filters (null fields are ignored), ordered by id.
+    public Flux<ScheduleResponseDTO> streamSchedules(ScheduleService.ScheduleFilter filter) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder where = new StringBuilder();
+        addCondition(where, parameters, "c.course_id", "courseId", filter.courseId);
+        addCondition(where, parameters, "p.professor_id", "professorId", filter.professorId);
+        addCondition(where, parameters, "r.room_id", "roomId", filter.classroomId);
+        addCondition(where, parameters, "s.semester", "semester", filter.semester);
+        addCondition(where, parameters, "s.academic_year", "academicYear", filter.academicYear);
+        addCondition(where, parameters, "c.department", "department", filter.department);
+        addCondition(where, parameters, "r.building", "building", filter.building);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT " + SCHEDULE_COLUMNS +
+                "FROM Schedule s " + SCHEDULE_JOINS + where + "ORDER BY s.schedule_id");
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveReadRepository::toScheduleDTO)
+                .all();
+    }
+
+    public Mono<Boolean> studentExists(Integer studentId) {
+        return databaseClient.sql("SELECT 1 FROM Students WHERE student_id = :studentId")
+                .bind("studentId", studentId)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    // Sessions of the student, all terms unless semester and/or academicYear are given.
+    public Flux<TimetableEntryDTO> streamTimetable(Integer studentId, String semester, String academicYear) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        StringBuilder where = new StringBuilder();
+        addCondition(where, parameters, "e.student_id", "studentId", studentId);
+        addCondition(where, parameters, "s.semester", "semester", semester);
+        addCondition(where, parameters, "s.academic_year", "academicYear", academicYear);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT e.enrollment_id, " + SCHEDULE_COLUMNS +
+                "FROM Enrollments e JOIN Schedule s ON s.schedule_id = e.schedule_id " + SCHEDULE_JOINS + where +
+                "ORDER BY s.academic_year, s.semester, " + DAY_ORDER + ", s.start_time");
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> {
+                    ScheduleResponseDTO schedule = toScheduleDTO(row);
+                    return new TimetableEntryDTO(row.get("enrollment_id", Integer.class), schedule.getScheduleId(),
+                            schedule.getCourse(), schedule.getProfessor(), schedule.getClassroom(),
+                            schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime(),
+                            schedule.getSemester(), schedule.getAcademicYear());
+                })
+                .all();
+    }
+
+    private static void addCondition(StringBuilder where, Map<String, Object> parameters, String column, String name, Object value) {
+        if (value == null) {
+            return;
+        }
+        where.append(where.length() == 0 ? "WHERE " : "AND ").append(column).append(" = :").append(name).append(' ');
+        parameters.put(name, value);
+    }
+
+    private static ScheduleResponseDTO toScheduleDTO(Readable row) {
+        return new ScheduleResponseDTO(row.get("schedule_id", Integer.class),
+                new CourseDTO(row.get("course_id", Integer.class), row.get("course_code", String.class), row.get("course_name", String.class)),
+                new ProfessorDTO(row.get("professor_id", Integer.class), row.get("first_name", String.class), row.get("last_name", String.class)),
+                new ClassroomDTO(row.get("room_id", Integer.class), row.get("room_number", String.class), row.get("capacity", Integer.class)),
+                row.get("day_of_week", String.class), row.get("start_time", LocalTime.class), row.get("end_time", LocalTime.class),
+                row.get("semester", String.class), row.get("academic_year", String.class));
+    }
+}
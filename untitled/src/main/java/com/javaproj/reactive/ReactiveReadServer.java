@@ -0,0 +1,52 @@
+package com.javaproj.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.reactive.context.AnnotationConfigReactiveWebServerApplicationContext;
+import org.springframework.boot.web.reactive.context.StandardReactiveWebEnvironment;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+
+// Starts the reactive read server (ReactiveReadContext) as a child context once the application has been refreshed,
+// and closes it first on shutdown. The child sees the application's properties and beans, but its own port is
+// published as local.reactive-read.port so that local.server.port stays the servlet one.
+public class ReactiveReadServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveReadServer.class);
+
+    private final ConfigurableApplicationContext parent;
+    private volatile AnnotationConfigReactiveWebServerApplicationContext context;
+
+    public ReactiveReadServer(ConfigurableApplicationContext parent) {
+        this.parent = parent;
+    }
+
+    @Override
+    public void start() {
+        AnnotationConfigReactiveWebServerApplicationContext child = new AnnotationConfigReactiveWebServerApplicationContext();
+        child.setId(parent.getId() + ":reactive-read");
+        child.setParent(parent);
+        StandardReactiveWebEnvironment environment = new StandardReactiveWebEnvironment();
+        environment.merge(parent.getEnvironment());
+        child.setEnvironment(environment);
+        child.setServerNamespace("reactive-read");
+        child.register(ReactiveReadContext.class);
+        child.refresh();
+        context = child;
+        log.info("Reactive read API (NDJSON) started on port {}", child.getWebServer().getPort());
+    }
+
+    @Override
+    public void stop() {
+        AnnotationConfigReactiveWebServerApplicationContext child = context;
+        context = null;
+        if (child != null) {
+            child.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return context != null;
+    }
+}
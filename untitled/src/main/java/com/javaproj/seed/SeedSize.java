@@ -0,0 +1,28 @@
+package com.javaproj.seed;
+
+// Size profiles of the synthetic data set (seed.size=small|medium|large|x-large). Every course is offered once
+// in the seeded term; students take 3 to 7 courses each, about 5 on average.
+public enum SeedSize {
+
+    SMALL(1_000, 60, 120, 30),
+    MEDIUM(10_000, 400, 1_000, 150),
+    LARGE(40_000, 1_500, 4_000, 500),
+    X_LARGE(100_000, 3_500, 10_000, 1_200);
+
+    private final int students;
+    private final int professors;
+    private final int courses;
+    private final int classrooms;
+
+    SeedSize(int students, int professors, int courses, int classrooms) {
+        this.students = students;
+        this.professors = professors;
+        this.courses = courses;
+        this.classrooms = classrooms;
+    }
+
+    public int getStudents() { return students; }
+    public int getProfessors() { return professors; }
+    public int getCourses() { return courses; }
+    public int getClassrooms() { return classrooms; }
+}
@@ -0,0 +1,552 @@
+package com.javaproj.seed;
+
+import com.javaproj.db.BatchWriter;
+import com.javaproj.db.ClassroomRepository;
+import com.javaproj.db.CourseRepository;
+import com.javaproj.db.Enrollment;
+import com.javaproj.db.ProfessorRepository;
+import com.javaproj.db.Schedule;
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.db.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Seeds a synthetic university for load and scale tests. Runs only with the "seed" profile and, by default,
+// exits when done (see application-seed.properties):
+//   java -jar untitled-1.0-SNAPSHOT-exec.jar --spring.profiles.active=seed --seed.size=large
+// The data set for a size profile (SeedSize):
+// - departments of different sizes (DEPARTMENTS); professors, courses and student majors follow their weights
+// - classrooms: mostly 20-40 seat seminar rooms, fewer lecture halls, a few amphitheatres
+// - every course once in the term (seed.semester, seed.academic-year), in two-hour slots Monday to Friday, in the
+//   smallest free room that fits its expected demand; no room or professor is booked twice in a slot
+// - course popularity is skewed (log-normal), so a few courses fill up while most stay partly empty; students
+//   take 3 to 7 courses, 70% of them in their major, without timetable clashes and within room capacity
+// Students, professors, courses and classrooms have IDENTITY ids and are written with JDBC batch inserts (the
+// driver's reWriteBatchedInserts sends each batch as multi-row INSERTs); schedules and enrollments have sequence
+// ids and go through BatchWriter. The same seed.random-seed gives the same data set. Refuses to run on a database
+// that already holds seeded students.
+@Component
+@Profile("seed")
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String EMAIL_DOMAIN = "seed.example.com";
+
+    private record Department(String code, String name, int weight) {
+    }
+
+    private static final List<Department> DEPARTMENTS = List.of(
+            new Department("CS", "Computer Science", 18),
+            new Department("EN", "Engineering", 15),
+            new Department("EC", "Economics", 12),
+            new Department("LW", "Law", 9),
+            new Department("MA", "Mathematics", 8),
+            new Department("BI", "Biology", 7),
+            new Department("PS", "Psychology", 7),
+            new Department("PH", "Physics", 6),
+            new Department("LT", "Literature", 6),
+            new Department("CH", "Chemistry", 5),
+            new Department("HI", "History", 4),
+            new Department("PL", "Philosophy", 3));
+
+    private static final String[][] BUILDINGS = {
+            {"MB", "Main Building"}, {"TW", "Tech Wing"}, {"SH", "Science Hall"}, {"LA", "Library Annex"}, {"NC", "North Campus"}};
+    private static final String[] FIRST_NAMES = {
+            "Andrei", "Maria", "Ioana", "Alexandru", "Elena", "Mihai", "Ana", "Stefan",
+            "Cristina", "Gabriel", "Daria", "Vlad", "Irina", "Radu", "Bianca", "Tudor"};
+    private static final String[] LAST_NAMES = {
+            "Popescu", "Ionescu", "Popa", "Dumitru", "Stan", "Stoica", "Gheorghe", "Matei",
+            "Ciobanu", "Rusu", "Munteanu", "Constantin", "Marin", "Florea", "Barbu", "Dinu"};
+    private static final String[] COURSE_TOPICS = {
+            "Introduction to", "Foundations of", "Methods in", "Advanced", "Topics in", "Seminar in", "Applied"};
+
+    private static final List<String> DAYS = List.of("Luni", "Marti", "Miercuri", "Joi", "Vineri");
+    private static final List<LocalTime> START_TIMES = List.of(
+            LocalTime.of(8, 0), LocalTime.of(10, 0), LocalTime.of(12, 0),
+            LocalTime.of(14, 0), LocalTime.of(16, 0), LocalTime.of(18, 0));
+    private static final int SESSION_HOURS = 2;
+    private static final int SLOTS = DAYS.size() * START_TIMES.size();
+
+    // Courses per student: 3 to 7, weighted towards 5.
+    private static final int[] COURSE_LOADS = {3, 4, 4, 5, 5, 5, 5, 6, 6, 7};
+    private static final double AVERAGE_COURSE_LOAD = 5.0;
+    private static final double MAJOR_SHARE = 0.7;
+    // Rooms are chosen for the expected demand plus this margin.
+    private static final double ROOM_HEADROOM = 1.2;
+    private static final int ENROLLMENTS_PER_TRANSACTION = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BatchWriter batchWriter;
+    private final StudentRepository studentRepository;
+    private final ProfessorRepository professorRepository;
+    private final CourseRepository courseRepository;
+    private final ClassroomRepository classroomRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableApplicationContext applicationContext;
+
+    private final SeedSize size;
+    private final String semester;
+    private final String academicYear;
+    private final long randomSeed;
+    private final int insertBatchSize;
+    private final boolean exitWhenDone;
+
+    @Autowired
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  BatchWriter batchWriter,
+                                  StudentRepository studentRepository,
+                                  ProfessorRepository professorRepository,
+                                  CourseRepository courseRepository,
+                                  ClassroomRepository classroomRepository,
+                                  ScheduleRepository scheduleRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ConfigurableApplicationContext applicationContext,
+                                  @Value("${seed.size:small}") SeedSize size,
+                                  @Value("${seed.semester:Toamna 2024}") String semester,
+                                  @Value("${seed.academic-year:2024-2025}") String academicYear,
+                                  @Value("${seed.random-seed:42}") long randomSeed,
+                                  @Value("${seed.insert-batch-size:1000}") int insertBatchSize,
+                                  @Value("${seed.exit-when-done:true}") boolean exitWhenDone) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchWriter = batchWriter;
+        this.studentRepository = studentRepository;
+        this.professorRepository = professorRepository;
+        this.courseRepository = courseRepository;
+        this.classroomRepository = classroomRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationContext = applicationContext;
+        this.size = size;
+        this.semester = semester;
+        this.academicYear = academicYear;
+        this.randomSeed = randomSeed;
+        this.insertBatchSize = insertBatchSize;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer seeded = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM Students WHERE email LIKE ?", Integer.class, "%@%" + EMAIL_DOMAIN);
+        if (seeded != null && seeded > 0) {
+            throw new IllegalStateException("The database already holds " + seeded + " seeded students; seed an empty database.");
+        }
+        log.info("Seeding a {} university for {} {}: {} students, {} professors, {} courses, {} classrooms",
+                size, semester, academicYear, size.getStudents(), size.getProfessors(), size.getCourses(), size.getClassrooms());
+        long startedAt = System.nanoTime();
+        Random random = new Random(randomSeed);
+
+        long phaseStartedAt = System.nanoTime();
+        int[] classroomIds = new int[size.getClassrooms()];
+        int[] capacities = new int[size.getClassrooms()];
+        seedClassrooms(random, classroomIds, capacities);
+        log.info("Seeded {} classrooms in {} ms", classroomIds.length, millisSince(phaseStartedAt));
+
+        phaseStartedAt = System.nanoTime();
+        int[][] professorIds = seedProfessors(random);
+        log.info("Seeded {} professors in {} ms", Arrays.stream(professorIds).mapToInt(ids -> ids.length).sum(), millisSince(phaseStartedAt));
+
+        phaseStartedAt = System.nanoTime();
+        List<int[]> coursesByDepartment = new ArrayList<>();
+        double[] popularity = seedCourses(random, coursesByDepartment);
+        log.info("Seeded {} courses in {} ms", popularity.length, millisSince(phaseStartedAt));
+
+        phaseStartedAt = System.nanoTime();
+        int[] studentIds = new int[size.getStudents()];
+        int[] majors = new int[size.getStudents()];
+        seedStudents(random, studentIds, majors);
+        log.info("Seeded {} students in {} ms", studentIds.length, millisSince(phaseStartedAt));
+
+        phaseStartedAt = System.nanoTime();
+        Sessions sessions = seedSchedules(coursesByDepartment, popularity, professorIds, classroomIds, capacities);
+        log.info("Seeded {} schedules in {} ms ({} courses could not be placed)",
+                sessions.count, millisSince(phaseStartedAt), popularity.length - sessions.count);
+
+        phaseStartedAt = System.nanoTime();
+        int enrollments = seedEnrollments(random, studentIds, majors, sessions);
+        log.info("Seeded {} enrollments in {} ms", enrollments, millisSince(phaseStartedAt));
+
+        log.info("Seeding finished in {} ms", millisSince(startedAt));
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+
+    private void seedClassrooms(Random random, int[] classroomIds, int[] capacities) {
+        List<Object[]> rows = new ArrayList<>(classroomIds.length);
+        for (int i = 0; i < classroomIds.length; i++) {
+            String[] building = BUILDINGS[i % BUILDINGS.length];
+            double kind = random.nextDouble();
+            int capacity;
+            boolean hasProjector;
+            if (kind < 0.55) {
+                capacity = 20 + 5 * random.nextInt(5);          // seminar room, 20-40
+                hasProjector = random.nextBoolean();
+            } else if (kind < 0.85) {
+                capacity = 50 + 10 * random.nextInt(8);         // lecture hall, 50-120
+                hasProjector = true;
+            } else if (kind < 0.97) {
+                capacity = 150 + 25 * random.nextInt(5);        // large hall, 150-250
+                hasProjector = true;
+            } else {
+                capacity = 300 + 50 * random.nextInt(5);        // amphitheatre, 300-500
+                hasProjector = true;
+            }
+            capacities[i] = capacity;
+            rows.add(new Object[]{String.format("%s-%04d", building[0], i), capacity, hasProjector, building[1]});
+        }
+        insertAll("INSERT INTO Classrooms (room_number, capacity, has_projector, building) VALUES (?, ?, ?, ?)", rows);
+
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT room_id, room_number FROM Classrooms",
+                rs -> { ids.put(rs.getString(2), rs.getInt(1)); });
+        for (int i = 0; i < classroomIds.length; i++) {
+            classroomIds[i] = ids.get((String) rows.get(i)[0]);
+        }
+    }
+
+    // Professor ids per department.
+    private int[][] seedProfessors(Random random) {
+        int[] counts = apportion(size.getProfessors());
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 0; d < counts.length; d++) {
+            for (int k = 0; k < counts[d]; k++) {
+                String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                String office = BUILDINGS[random.nextInt(BUILDINGS.length)][0] + (100 + random.nextInt(400));
+                rows.add(new Object[]{firstName, lastName, email(firstName, lastName, rows.size(), "staff"),
+                        DEPARTMENTS.get(d).name(), office});
+            }
+        }
+        insertAll("INSERT INTO Professors (first_name, last_name, email, department, office) VALUES (?, ?, ?, ?, ?)", rows);
+
+        Map<String, Integer> ids = idsByEmail("SELECT professor_id, email FROM Professors WHERE email LIKE ?");
+        int[][] professorIds = new int[counts.length][];
+        int row = 0;
+        for (int d = 0; d < counts.length; d++) {
+            professorIds[d] = new int[counts[d]];
+            for (int k = 0; k < counts[d]; k++) {
+                professorIds[d][k] = ids.get((String) rows.get(row++)[2]);
+            }
+        }
+        return professorIds;
+    }
+
+    // Adds each department's course ids to coursesByDepartment and returns the popularity of every course, in
+    // the same order (department by department).
+    private double[] seedCourses(Random random, List<int[]> coursesByDepartment) {
+        int[] counts = apportion(size.getCourses());
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 0; d < counts.length; d++) {
+            Department department = DEPARTMENTS.get(d);
+            for (int k = 0; k < counts[d]; k++) {
+                String name = COURSE_TOPICS[k % COURSE_TOPICS.length] + " " + department.name() + " " + (k / COURSE_TOPICS.length + 1);
+                rows.add(new Object[]{department.code() + (1000 + k), name, 3 + random.nextInt(4), department.name()});
+            }
+        }
+        insertAll("INSERT INTO Courses (course_code, course_name, credits, department) VALUES (?, ?, ?, ?)", rows);
+
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT course_id, course_code FROM Courses",
+                rs -> { ids.put(rs.getString(2), rs.getInt(1)); });
+        double[] popularity = new double[rows.size()];
+        int row = 0;
+        for (int d = 0; d < counts.length; d++) {
+            int[] courseIds = new int[counts[d]];
+            for (int k = 0; k < counts[d]; k++) {
+                courseIds[k] = ids.get((String) rows.get(row)[0]);
+                popularity[row++] = Math.exp(random.nextGaussian());
+            }
+            coursesByDepartment.add(courseIds);
+        }
+        return popularity;
+    }
+
+    private void seedStudents(Random random, int[] studentIds, int[] majors) {
+        int totalWeight = DEPARTMENTS.stream().mapToInt(Department::weight).sum();
+        int currentYear = LocalDate.now().getYear();
+        List<Object[]> rows = new ArrayList<>(studentIds.length);
+        for (int i = 0; i < studentIds.length; i++) {
+            majors[i] = weightedDepartment(random, totalWeight);
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            rows.add(new Object[]{firstName, lastName, email(firstName, lastName, i, "students"),
+                    DEPARTMENTS.get(majors[i]).name(), LocalDate.of(currentYear - random.nextInt(4), 10, 1)});
+        }
+        insertAll("INSERT INTO Students (first_name, last_name, email, major, enrollment_date) VALUES (?, ?, ?, ?, ?)", rows);
+
+        Map<String, Integer> ids = idsByEmail("SELECT student_id, email FROM Students WHERE email LIKE ?");
+        for (int i = 0; i < studentIds.length; i++) {
+            studentIds[i] = ids.get((String) rows.get(i)[2]);
+        }
+    }
+
+    // Placed sessions, indexed 0..count-1, with each department's sessions and their cumulative popularity
+    // for sampling.
+    private static final class Sessions {
+        int count;
+        int[] scheduleIds;
+        int[] slots;
+        int[] seatsLeft;
+        int[][] byDepartment;
+        double[][] cumulativePopularity;
+    }
+
+    // Most popular courses first, each in the next slot (round robin) that has a free professor of its
+    // department and a free room; the room is the smallest free one with capacity for the expected demand,
+    // or the largest free one if none is big enough.
+    private Sessions seedSchedules(List<int[]> coursesByDepartment, double[] popularity, int[][] professorIds,
+                                   int[] classroomIds, int[] capacities) {
+        int departments = coursesByDepartment.size();
+        int[] courseDepartment = new int[popularity.length];
+        int[] courseIds = new int[popularity.length];
+        double[] departmentPopularity = new double[departments];
+        int row = 0;
+        for (int d = 0; d < departments; d++) {
+            for (int courseId : coursesByDepartment.get(d)) {
+                courseDepartment[row] = d;
+                courseIds[row] = courseId;
+                departmentPopularity[d] += popularity[row++];
+            }
+        }
+        int totalWeight = DEPARTMENTS.stream().mapToInt(Department::weight).sum();
+        double expectedEnrollments = size.getStudents() * AVERAGE_COURSE_LOAD;
+
+        Integer[] roomsBySize = new Integer[classroomIds.length];
+        for (int i = 0; i < roomsBySize.length; i++) {
+            roomsBySize[i] = i;
+        }
+        Arrays.sort(roomsBySize, Comparator.comparingInt(i -> capacities[i]));
+        int[] sortedCapacities = Arrays.stream(roomsBySize).mapToInt(i -> capacities[i]).toArray();
+        boolean[][] roomBusy = new boolean[SLOTS][roomsBySize.length];
+        boolean[][][] professorBusy = new boolean[SLOTS][departments][];
+        for (int slot = 0; slot < SLOTS; slot++) {
+            for (int d = 0; d < departments; d++) {
+                professorBusy[slot][d] = new boolean[professorIds[d].length];
+            }
+        }
+        int[] nextProfessor = new int[departments];
+
+        Integer[] order = new Integer[popularity.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> popularity[i]).reversed());
+
+        // course id, professor id, room id, slot
+        List<int[]> placements = new ArrayList<>(popularity.length);
+        List<Integer> placedCourses = new ArrayList<>(popularity.length);
+        List<Integer> placedSlots = new ArrayList<>(popularity.length);
+        List<Integer> placedCapacities = new ArrayList<>(popularity.length);
+        int nextSlot = 0;
+        for (int course : order) {
+            int d = courseDepartment[course];
+            double share = (double) DEPARTMENTS.get(d).weight() / totalWeight;
+            int demand = (int) Math.ceil(expectedEnrollments * share * popularity[course] / departmentPopularity[d] * ROOM_HEADROOM);
+            for (int attempt = 0; attempt < SLOTS; attempt++) {
+                int slot = (nextSlot + attempt) % SLOTS;
+                int room = freeRoom(roomBusy[slot], sortedCapacities, demand);
+                int professor = freeProfessor(professorBusy[slot][d], nextProfessor[d]);
+                if (room < 0 || professor < 0) {
+                    continue;
+                }
+                roomBusy[slot][room] = true;
+                professorBusy[slot][d][professor] = true;
+                nextProfessor[d] = (professor + 1) % professorIds[d].length;
+                nextSlot = slot + 1;
+
+                placements.add(new int[]{courseIds[course], professorIds[d][professor], classroomIds[roomsBySize[room]], slot});
+                placedCourses.add(course);
+                placedSlots.add(slot);
+                placedCapacities.add(sortedCapacities[room]);
+                break;
+            }
+        }
+        List<Schedule> saved = transactionTemplate.execute(status -> {
+            List<Schedule> schedules = new ArrayList<>(placements.size());
+            for (int[] placement : placements) {
+                int slot = placement[3];
+                Schedule schedule = new Schedule();
+                schedule.setCourse(courseRepository.getReferenceById(placement[0]));
+                schedule.setProfessor(professorRepository.getReferenceById(placement[1]));
+                schedule.setClassroom(classroomRepository.getReferenceById(placement[2]));
+                schedule.setDayOfWeek(DAYS.get(slot % DAYS.size()));
+                schedule.setStartTime(START_TIMES.get(slot / DAYS.size()));
+                schedule.setEndTime(START_TIMES.get(slot / DAYS.size()).plusHours(SESSION_HOURS));
+                schedule.setSemester(semester);
+                schedule.setAcademicYear(academicYear);
+                schedules.add(schedule);
+            }
+            return batchWriter.persistAll(schedules);
+        });
+
+        Sessions sessions = new Sessions();
+        sessions.count = saved.size();
+        sessions.scheduleIds = saved.stream().mapToInt(Schedule::getScheduleId).toArray();
+        sessions.slots = placedSlots.stream().mapToInt(Integer::intValue).toArray();
+        sessions.seatsLeft = placedCapacities.stream().mapToInt(Integer::intValue).toArray();
+        List<List<Integer>> byDepartment = new ArrayList<>();
+        for (int d = 0; d < departments; d++) {
+            byDepartment.add(new ArrayList<>());
+        }
+        for (int s = 0; s < sessions.count; s++) {
+            byDepartment.get(courseDepartment[placedCourses.get(s)]).add(s);
+        }
+        sessions.byDepartment = new int[departments][];
+        sessions.cumulativePopularity = new double[departments][];
+        for (int d = 0; d < departments; d++) {
+            sessions.byDepartment[d] = byDepartment.get(d).stream().mapToInt(Integer::intValue).toArray();
+            sessions.cumulativePopularity[d] = new double[sessions.byDepartment[d].length];
+            double sum = 0;
+            for (int k = 0; k < sessions.byDepartment[d].length; k++) {
+                sum += popularity[placedCourses.get(sessions.byDepartment[d][k])];
+                sessions.cumulativePopularity[d][k] = sum;
+            }
+        }
+        return sessions;
+    }
+
+    // Index into the rooms sorted by capacity, or -1 if every room is busy.
+    private static int freeRoom(boolean[] busy, int[] sortedCapacities, int demand) {
+        int fitting = Arrays.binarySearch(sortedCapacities, demand);
+        if (fitting < 0) {
+            fitting = -fitting - 1;
+        } else {
+            while (fitting > 0 && sortedCapacities[fitting - 1] == demand) {
+                fitting--;
+            }
+        }
+        for (int room = fitting; room < busy.length; room++) {
+            if (!busy[room]) {
+                return room;
+            }
+        }
+        for (int room = Math.min(fitting, busy.length) - 1; room >= 0; room--) {
+            if (!busy[room]) {
+                return room;
+            }
+        }
+        return -1;
+    }
+
+    // Rotates through the department's professors so teaching load is spread evenly.
+    private static int freeProfessor(boolean[] busy, int from) {
+        for (int k = 0; k < busy.length; k++) {
+            int professor = (from + k) % busy.length;
+            if (!busy[professor]) {
+                return professor;
+            }
+        }
+        return -1;
+    }
+
+    private int seedEnrollments(Random random, int[] studentIds, int[] majors, Sessions sessions) {
+        int totalWeight = DEPARTMENTS.stream().mapToInt(Department::weight).sum();
+        List<int[]> pairs = new ArrayList<>((int) (studentIds.length * AVERAGE_COURSE_LOAD));
+        for (int student = 0; student < studentIds.length; student++) {
+            int wanted = COURSE_LOADS[random.nextInt(COURSE_LOADS.length)];
+            long takenSlots = 0;
+            int taken = 0;
+            for (int attempt = 0; taken < wanted && attempt < wanted * 10; attempt++) {
+                int d = random.nextDouble() < MAJOR_SHARE ? majors[student] : weightedDepartment(random, totalWeight);
+                double[] cumulative = sessions.cumulativePopularity[d];
+                if (cumulative.length == 0) {
+                    continue;
+                }
+                int k = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+                int session = sessions.byDepartment[d][Math.min(k < 0 ? -k - 1 : k, cumulative.length - 1)];
+                long slotBit = 1L << sessions.slots[session];
+                if (sessions.seatsLeft[session] == 0 || (takenSlots & slotBit) != 0) {
+                    continue;
+                }
+                sessions.seatsLeft[session]--;
+                takenSlots |= slotBit;
+                taken++;
+                pairs.add(new int[]{studentIds[student], sessions.scheduleIds[session]});
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        for (int from = 0; from < pairs.size(); from += ENROLLMENTS_PER_TRANSACTION) {
+            List<int[]> chunk = pairs.subList(from, Math.min(from + ENROLLMENTS_PER_TRANSACTION, pairs.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Enrollment> enrollments = new ArrayList<>(chunk.size());
+                for (int[] pair : chunk) {
+                    Enrollment enrollment = new Enrollment();
+                    enrollment.setStudent(studentRepository.getReferenceById(pair[0]));
+                    enrollment.setSchedule(scheduleRepository.getReferenceById(pair[1]));
+                    enrollment.setEnrollmentDate(today.minusDays(random.nextInt(30)));
+                    enrollments.add(enrollment);
+                }
+                batchWriter.persistAll(enrollments);
+            });
+        }
+        return pairs.size();
+    }
+
+    private void insertAll(String sql, List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(sql, rows, insertBatchSize, (ps, row) -> {
+            for (int i = 0; i < row.length; i++) {
+                ps.setObject(i + 1, row[i]);
+            }
+        });
+    }
+
+    private Map<String, Integer> idsByEmail(String sql) {
+        Map<String, Integer> ids = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> { ids.put(rs.getString(2), rs.getInt(1)); }, "%@%" + EMAIL_DOMAIN);
+        return ids;
+    }
+
+    // Count per department in proportion to its weight, at least one each.
+    private static int[] apportion(int total) {
+        int totalWeight = DEPARTMENTS.stream().mapToInt(Department::weight).sum();
+        int[] counts = new int[DEPARTMENTS.size()];
+        for (int d = 0; d < counts.length; d++) {
+            counts[d] = Math.max(1, Math.round((float) total * DEPARTMENTS.get(d).weight() / totalWeight));
+        }
+        return counts;
+    }
+
+    private static int weightedDepartment(Random random, int totalWeight) {
+        int pick = random.nextInt(totalWeight);
+        for (int d = 0; d < DEPARTMENTS.size(); d++) {
+            pick -= DEPARTMENTS.get(d).weight();
+            if (pick < 0) {
+                return d;
+            }
+        }
+        return DEPARTMENTS.size() - 1;
+    }
+
+    private static String email(String firstName, String lastName, int number, String group) {
+        return (firstName + "." + lastName + "." + number).toLowerCase() + "@" + group + "." + EMAIL_DOMAIN;
+    }
+
+    private static long millisSince(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
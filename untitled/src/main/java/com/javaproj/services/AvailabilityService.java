@@ -0,0 +1,179 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.ClassroomRepository;
+import com.javaproj.db.Professor;
+import com.javaproj.db.ProfessorRepository;
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.dto.AvailabilityDTO;
+import com.javaproj.dto.FreeSlotDTO;
+import com.javaproj.dto.ResourceAvailabilityDTO;
+import com.javaproj.exceptions.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Free time windows of rooms and professors for a term, computed in one pass: the term's schedules are read
+// with a single slot query into an OccupancyIndex and every requested (resource, day) bitmap is walked for
+// free runs, instead of probing one window at a time with findRoomConflicts/findProfessorConflicts.
+@Service
+public class AvailabilityService {
+
+    // Days of the Schedules check constraint used when the query does not name any.
+    public static final List<String> DEFAULT_DAYS = List.of("Luni", "Marti", "Miercuri", "Joi", "Vineri");
+    public static final LocalTime DEFAULT_DAY_START = LocalTime.of(8, 0);
+    public static final LocalTime DEFAULT_DAY_END = LocalTime.of(20, 0);
+    public static final int DEFAULT_MIN_DURATION_MINUTES = 60;
+
+    private final ScheduleRepository scheduleRepository;
+    private final ClassroomRepository classroomRepository;
+    private final ProfessorRepository professorRepository;
+
+    @Autowired
+    public AvailabilityService(ScheduleRepository scheduleRepository,
+                               ClassroomRepository classroomRepository,
+                               ProfessorRepository professorRepository) {
+        this.scheduleRepository = scheduleRepository;
+        this.classroomRepository = classroomRepository;
+        this.professorRepository = professorRepository;
+    }
+
+    // Bound from query parameters. Rooms are reported when roomIds or a room filter is given, or when no
+    // professorIds are; the room filters narrow both the given roomIds and "all rooms".
+    public static class FreeSlotQuery {
+        public List<Integer> roomIds;
+        public List<Integer> professorIds;
+        public String semester;
+        public String academicYear;
+        public Integer minDurationMinutes;
+        public Integer minCapacity;
+        public Boolean hasProjector;
+        public String building;
+        public List<String> daysOfWeek;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+        public LocalTime dayStart;
+        @DateTimeFormat(iso = DateTimeFormat.ISO.TIME)
+        public LocalTime dayEnd;
+
+        public FreeSlotQuery() {}
+
+        public List<Integer> getRoomIds() { return roomIds; }
+        public void setRoomIds(List<Integer> roomIds) { this.roomIds = roomIds; }
+        public List<Integer> getProfessorIds() { return professorIds; }
+        public void setProfessorIds(List<Integer> professorIds) { this.professorIds = professorIds; }
+        public String getSemester() { return semester; }
+        public void setSemester(String semester) { this.semester = semester; }
+        public String getAcademicYear() { return academicYear; }
+        public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+        public Integer getMinDurationMinutes() { return minDurationMinutes; }
+        public void setMinDurationMinutes(Integer minDurationMinutes) { this.minDurationMinutes = minDurationMinutes; }
+        public Integer getMinCapacity() { return minCapacity; }
+        public void setMinCapacity(Integer minCapacity) { this.minCapacity = minCapacity; }
+        public Boolean getHasProjector() { return hasProjector; }
+        public void setHasProjector(Boolean hasProjector) { this.hasProjector = hasProjector; }
+        public String getBuilding() { return building; }
+        public void setBuilding(String building) { this.building = building; }
+        public List<String> getDaysOfWeek() { return daysOfWeek; }
+        public void setDaysOfWeek(List<String> daysOfWeek) { this.daysOfWeek = daysOfWeek; }
+        public LocalTime getDayStart() { return dayStart; }
+        public void setDayStart(LocalTime dayStart) { this.dayStart = dayStart; }
+        public LocalTime getDayEnd() { return dayEnd; }
+        public void setDayEnd(LocalTime dayEnd) { this.dayEnd = dayEnd; }
+
+        boolean hasRoomFilter() {
+            return minCapacity != null || hasProjector != null || building != null;
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public AvailabilityDTO findFreeSlots(FreeSlotQuery query) {
+        if (query.semester == null || query.academicYear == null) {
+            throw new IllegalArgumentException("semester and academicYear are required.");
+        }
+        int minMinutes = query.minDurationMinutes != null ? query.minDurationMinutes : DEFAULT_MIN_DURATION_MINUTES;
+        if (minMinutes < 1 || minMinutes > 24 * 60) {
+            throw new IllegalArgumentException("minDurationMinutes must be between 1 and 1440.");
+        }
+        LocalTime dayStart = query.dayStart != null ? query.dayStart : DEFAULT_DAY_START;
+        LocalTime dayEnd = query.dayEnd != null ? query.dayEnd : DEFAULT_DAY_END;
+        if (!dayEnd.isAfter(dayStart)) {
+            throw new IllegalArgumentException("dayEnd must be after dayStart.");
+        }
+        List<String> days = query.daysOfWeek != null && !query.daysOfWeek.isEmpty() ? query.daysOfWeek : DEFAULT_DAYS;
+
+        boolean withProfessors = query.professorIds != null && !query.professorIds.isEmpty();
+        boolean withRooms = (query.roomIds != null && !query.roomIds.isEmpty()) || query.hasRoomFilter() || !withProfessors;
+        List<Classroom> rooms = withRooms ? findRooms(query) : List.of();
+        List<Professor> professors = withProfessors ? findProfessors(query.professorIds) : List.of();
+
+        OccupancyIndex occupancy = OccupancyIndex.fromSlots(
+                scheduleRepository.findSlotsBySemesterAndAcademicYear(query.semester, query.academicYear));
+
+        List<ResourceAvailabilityDTO> roomAvailability = new ArrayList<>(rooms.size());
+        for (Classroom room : rooms) {
+            List<FreeSlotDTO> slots = new ArrayList<>();
+            for (String day : days) {
+                for (OccupancyIndex.FreeWindow window : occupancy.findFreeRoomWindows(room.getRoomId(), day, dayStart, dayEnd, minMinutes)) {
+                    slots.add(new FreeSlotDTO(day, window.getStartTime(), window.getEndTime(), window.getMinutes()));
+                }
+            }
+            roomAvailability.add(new ResourceAvailabilityDTO(room.getRoomId(), room.getRoomNumber(), slots));
+        }
+        List<ResourceAvailabilityDTO> professorAvailability = new ArrayList<>(professors.size());
+        for (Professor professor : professors) {
+            List<FreeSlotDTO> slots = new ArrayList<>();
+            for (String day : days) {
+                for (OccupancyIndex.FreeWindow window : occupancy.findFreeProfessorWindows(professor.getProfessorId(), day, dayStart, dayEnd, minMinutes)) {
+                    slots.add(new FreeSlotDTO(day, window.getStartTime(), window.getEndTime(), window.getMinutes()));
+                }
+            }
+            professorAvailability.add(new ResourceAvailabilityDTO(professor.getProfessorId(),
+                    professor.getFirstName() + " " + professor.getLastName(), slots));
+        }
+        return new AvailabilityDTO(query.semester, query.academicYear, minMinutes, roomAvailability, professorAvailability);
+    }
+
+    private List<Classroom> findRooms(FreeSlotQuery query) {
+        if (query.roomIds == null || query.roomIds.isEmpty()) {
+            return classroomRepository.findFiltered(query.building, query.minCapacity, query.hasProjector);
+        }
+        Set<Integer> requested = new HashSet<>(query.roomIds);
+        List<Classroom> found = classroomRepository.findAllById(requested);
+        if (found.size() < requested.size()) {
+            for (Classroom room : found) {
+                requested.remove(room.getRoomId());
+            }
+            throw new ResourceNotFoundException("Classroom not found with id: " + requested.iterator().next());
+        }
+        List<Classroom> rooms = new ArrayList<>();
+        for (Classroom room : found) {
+            if ((query.minCapacity == null || room.getCapacity() >= query.minCapacity)
+                    && (query.hasProjector == null || room.isHasProjector() == query.hasProjector)
+                    && (query.building == null || query.building.equals(room.getBuilding()))) {
+                rooms.add(room);
+            }
+        }
+        rooms.sort((a, b) -> Integer.compare(a.getRoomId(), b.getRoomId()));
+        return rooms;
+    }
+
+    private List<Professor> findProfessors(List<Integer> professorIds) {
+        Set<Integer> requested = new HashSet<>(professorIds);
+        List<Professor> found = new ArrayList<>(professorRepository.findAllById(requested));
+        if (found.size() < requested.size()) {
+            for (Professor professor : found) {
+                requested.remove(professor.getProfessorId());
+            }
+            throw new ResourceNotFoundException("Professor not found with id: " + requested.iterator().next());
+        }
+        found.sort((a, b) -> Integer.compare(a.getProfessorId(), b.getProfessorId()));
+        return found;
+    }
+}
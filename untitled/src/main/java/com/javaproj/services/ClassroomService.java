@@ -1,9 +1,12 @@
 package com.javaproj.services;
 
+import com.javaproj.config.CacheConfig;
 import com.javaproj.db.Classroom;
 import com.javaproj.db.ClassroomRepository;
+import com.javaproj.dto.KeysetPage;
 import com.javaproj.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,7 @@ public class ClassroomService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSROOMS, key = "#result.roomId")
     public Classroom createClassroom(Classroom classroom) {
         return classroomRepository.save(classroom);
     }
@@ -30,6 +34,15 @@ public class ClassroomService {
         return classroomRepository.findAll();
     }
 
+    // One keyset page of classrooms, ordered by id. The count query only runs when includeTotal is set.
+    @Transactional(readOnly = true)
+    public KeysetPage<Classroom> getClassroomPage(String building, Integer minCapacity, Boolean hasProjector, Integer after, Integer limit, boolean includeTotal) {
+        int pageSize = KeysetPage.normalizeLimit(limit);
+        List<Classroom> rows = classroomRepository.findPage(KeysetPage.normalizeAfter(after), building, minCapacity, hasProjector, KeysetPage.fetchOneMore(pageSize));
+        Long total = includeTotal ? classroomRepository.countFiltered(building, minCapacity, hasProjector) : null;
+        return KeysetPage.of(rows, pageSize, Classroom::getRoomId, total);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Classroom> getClassroomById(Integer roomId) {
         return classroomRepository.findById(roomId);
@@ -56,6 +69,7 @@ public class ClassroomService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSROOMS, key = "#roomId")
     public Classroom updateClassroom(Integer roomId, Classroom classroomDetails) {
         Classroom classroom = classroomRepository.findById(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Classroom not found with id: " + roomId));
@@ -69,6 +83,7 @@ public class ClassroomService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CLASSROOMS, key = "#roomId")
     public void deleteClassroom(Integer roomId) {
         Classroom classroom = classroomRepository.findById(roomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Classroom not found with id: " + roomId));
@@ -0,0 +1,293 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.Course;
+import com.javaproj.db.Professor;
+import com.javaproj.db.Schedule;
+import com.javaproj.dto.ScheduleGenerationRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Backtracking search over (day, start time, professor) assignments with a room picked per assignment.
+// - Propagation: each course's domain is pruned against the term occupancy up front, and every
+//   assignment is forward-checked so no remaining course is left without a feasible value.
+// - Ordering: most constrained course (smallest domain) first.
+// - Bounds: at most problem.getMaxBacktracks() backtracks per attempt and problem.getTimeBudget()
+//   overall. Once a bound is hit the attempt finishes first-fit and skips courses that no longer fit.
+// While time remains, incomplete attempts are retried with shuffled tie-breaks and the attempt with
+// the best objective score is returned.
+@Component
+public class ConstraintSolverSchedulingEngine implements SchedulingEngine {
+
+    // Search nodes between two deadline checks.
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+    // Consecutive attempts without a better score before the remaining time budget is given up.
+    private static final int MAX_STALE_ATTEMPTS = 3;
+
+    @Override
+    public ScheduleGenerationRequest.Strategy getStrategy() {
+        return ScheduleGenerationRequest.Strategy.SOLVER;
+    }
+
+    @Override
+    public List<Schedule> generate(SchedulingProblem problem) {
+        long deadline = System.nanoTime() + problem.getTimeBudget().toNanos();
+        SchedulingProgress progress = problem.getProgress();
+        List<Schedule> best = null;
+        double bestScore = Double.POSITIVE_INFINITY;
+        long seed = 0;
+        int staleAttempts = 0;
+
+        do {
+            List<Schedule> candidate = new Search(problem, seed++, deadline).run();
+            double score = problem.getObjective().evaluate(candidate, problem);
+            progress.reportBest(candidate.size(), score);
+            if (best == null || score < bestScore) {
+                best = candidate;
+                bestScore = score;
+                staleAttempts = 0;
+            } else {
+                staleAttempts++;
+            }
+            if (candidate.size() == problem.getCourses().size()) {
+                break;
+            }
+        } while (staleAttempts < MAX_STALE_ATTEMPTS && System.nanoTime() < deadline && !progress.isCancelled());
+
+        for (Schedule schedule : best) {
+            problem.getOccupancy().occupy(schedule.getClassroom().getRoomId(), schedule.getProfessor().getProfessorId(),
+                    schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime());
+        }
+        return best;
+    }
+
+    private static final class Value {
+        final String day;
+        final LocalTime startTime;
+        final LocalTime endTime;
+        final Professor professor;
+
+        Value(String day, LocalTime startTime, LocalTime endTime, Professor professor) {
+            this.day = day;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.professor = professor;
+        }
+    }
+
+    // One attempt. Seed 0 keeps the request's day/time/professor order; later seeds shuffle tie-breaks.
+    private static final class Search {
+        private final SchedulingProblem problem;
+        private final OccupancyIndex occupancy;
+        private final long deadline;
+        private final int maxBacktracks;
+
+        private final Course[] order;
+        private final List<Value>[] domains;
+        private final int[] cursor;
+
+        // Distinct domains (one per department) with the last position that uses each of them,
+        // so forward checking looks at every shared domain once instead of once per course.
+        private final List<List<Value>> distinctDomains;
+        private final int[] lastPositionOfDomain;
+        private final int[] residue;
+        private final Value[] assigned;
+        private final Classroom[] rooms;
+
+        private boolean exhaustive = true;
+        private int backtracks;
+        private long nodes;
+
+        @SuppressWarnings("unchecked")
+        Search(SchedulingProblem problem, long seed, long deadline) {
+            this.problem = problem;
+            this.occupancy = problem.getOccupancy().copy();
+            this.deadline = deadline;
+            this.maxBacktracks = problem.getMaxBacktracks();
+            Random random = seed == 0 ? null : new Random(seed);
+
+            // Courses of the same department share candidate professors and therefore the same domain.
+            Map<String, List<Value>> domainsByDepartment = new HashMap<>();
+            List<Course> placeable = new ArrayList<>();
+            Map<Course, List<Value>> courseDomains = new HashMap<>();
+            for (Course course : problem.getCourses()) {
+                List<Value> domain = domainsByDepartment.computeIfAbsent(
+                        SchedulingProblem.departmentKey(course.getDepartment()), d -> buildDomain(course, random));
+                if (!domain.isEmpty()) {
+                    placeable.add(course);
+                    courseDomains.put(course, domain);
+                }
+            }
+
+            if (random != null) {
+                Collections.shuffle(placeable, random);
+            }
+            placeable.sort(Comparator.comparingInt(c -> courseDomains.get(c).size()));
+
+            int n = placeable.size();
+            this.order = placeable.toArray(new Course[0]);
+            this.domains = new List[n];
+            for (int i = 0; i < n; i++) {
+                domains[i] = courseDomains.get(order[i]);
+            }
+            this.cursor = new int[n];
+            this.distinctDomains = new ArrayList<>(domainsByDepartment.values());
+            this.lastPositionOfDomain = new int[distinctDomains.size()];
+            this.residue = new int[distinctDomains.size()];
+            Arrays.fill(lastPositionOfDomain, -1);
+            for (int d = 0; d < distinctDomains.size(); d++) {
+                for (int i = n - 1; i >= 0; i--) {
+                    if (domains[i] == distinctDomains.get(d)) {
+                        lastPositionOfDomain[d] = i;
+                        break;
+                    }
+                }
+            }
+            this.assigned = new Value[n];
+            this.rooms = new Classroom[n];
+            Arrays.fill(cursor, -1);
+        }
+
+        private List<Value> buildDomain(Course course, Random random) {
+            List<Value> domain = new ArrayList<>();
+            List<Professor> candidates = problem.candidateProfessors(course);
+            for (String day : problem.getDaysOfWeek()) {
+                for (LocalTime startTime : problem.getStartTimes()) {
+                    LocalTime endTime = problem.endTimeFor(startTime);
+                    for (Professor professor : candidates) {
+                        Value value = new Value(day, startTime, endTime, professor);
+                        if (isFeasible(value)) {
+                            domain.add(value);
+                        }
+                    }
+                }
+            }
+            if (random != null) {
+                Collections.shuffle(domain, random);
+            }
+            return domain;
+        }
+
+        List<Schedule> run() {
+            int n = order.length;
+            int depth = 0;
+            while (depth < n) {
+                if (++nodes % DEADLINE_CHECK_INTERVAL == 0) {
+                    if (problem.getProgress().isCancelled()) {
+                        break;
+                    }
+                    problem.getProgress().reportSearching(depth);
+                    if (exhaustive && System.nanoTime() > deadline) {
+                        exhaustive = false;
+                    }
+                }
+                if (tryNextValue(depth)) {
+                    depth++;
+                    continue;
+                }
+
+                // Dead end: every remaining value of this course conflicts or empties a later domain.
+                cursor[depth] = -1;
+                if (exhaustive && depth > 0 && backtracks < maxBacktracks) {
+                    backtracks++;
+                    depth--;
+                    unassign(depth);
+                } else if (exhaustive) {
+                    // Out of budget: retry this course without forward checking, then continue first-fit.
+                    exhaustive = false;
+                } else {
+                    depth++;
+                }
+            }
+
+            List<Schedule> placements = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (assigned[i] != null) {
+                    Value value = assigned[i];
+                    placements.add(problem.newSchedule(order[i], value.professor, rooms[i], value.day, value.startTime));
+                }
+            }
+            return placements;
+        }
+
+        private boolean tryNextValue(int position) {
+            List<Value> values = domains[position];
+            for (int i = cursor[position] + 1; i < values.size(); i++) {
+                cursor[position] = i;
+                Value value = values.get(i);
+                if (!occupancy.isProfessorFree(value.professor.getProfessorId(), value.day, value.startTime, value.endTime)) {
+                    continue;
+                }
+                Classroom room = freeRoom(value);
+                if (room == null) {
+                    continue;
+                }
+                occupancy.occupy(room.getRoomId(), value.professor.getProfessorId(), value.day, value.startTime, value.endTime);
+                assigned[position] = value;
+                rooms[position] = room;
+                if (exhaustive && !forwardCheck(position)) {
+                    unassign(position);
+                    continue;
+                }
+                return true;
+            }
+            return false;
+        }
+
+        private void unassign(int position) {
+            Value value = assigned[position];
+            occupancy.release(rooms[position].getRoomId(), value.professor.getProfessorId(), value.day, value.startTime, value.endTime);
+            assigned[position] = null;
+            rooms[position] = null;
+        }
+
+        // Every course after the given position must still have at least one feasible value.
+        // The last value found feasible for a domain is remembered and checked first.
+        private boolean forwardCheck(int position) {
+            for (int d = 0; d < distinctDomains.size(); d++) {
+                if (lastPositionOfDomain[d] <= position) {
+                    continue;
+                }
+                List<Value> values = distinctDomains.get(d);
+                if (isFeasible(values.get(residue[d]))) {
+                    continue;
+                }
+                boolean supported = false;
+                for (int i = 0; i < values.size(); i++) {
+                    if (isFeasible(values.get(i))) {
+                        residue[d] = i;
+                        supported = true;
+                        break;
+                    }
+                }
+                if (!supported) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isFeasible(Value value) {
+            return occupancy.isProfessorFree(value.professor.getProfessorId(), value.day, value.startTime, value.endTime)
+                    && freeRoom(value) != null;
+        }
+
+        private Classroom freeRoom(Value value) {
+            for (Classroom classroom : problem.getClassrooms()) {
+                if (occupancy.isRoomFree(classroom.getRoomId(), value.day, value.startTime, value.endTime)) {
+                    return classroom;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.javaproj.services;
 
+import com.javaproj.config.CacheConfig;
 import com.javaproj.db.Course;
 import com.javaproj.db.CourseRepository;
+import com.javaproj.dto.KeysetPage;
 import com.javaproj.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,6 +24,7 @@ public class CourseService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#result.courseId")
     public Course createCourse(Course course) {
         return courseRepository.save(course);
     }
@@ -30,6 +34,15 @@ public class CourseService {
         return courseRepository.findAll();
     }
 
+    // One keyset page of courses, ordered by id. The count query only runs when includeTotal is set.
+    @Transactional(readOnly = true)
+    public KeysetPage<Course> getCoursePage(String department, Integer credits, Integer after, Integer limit, boolean includeTotal) {
+        int pageSize = KeysetPage.normalizeLimit(limit);
+        List<Course> rows = courseRepository.findPage(KeysetPage.normalizeAfter(after), department, credits, KeysetPage.fetchOneMore(pageSize));
+        Long total = includeTotal ? courseRepository.countFiltered(department, credits) : null;
+        return KeysetPage.of(rows, pageSize, Course::getCourseId, total);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Course> getCourseById(Integer courseId) {
         return courseRepository.findById(courseId);
@@ -56,6 +69,7 @@ public class CourseService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#courseId")
     public Course updateCourse(Integer courseId, Course courseDetails) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
@@ -70,6 +84,7 @@ public class CourseService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.COURSES, key = "#courseId")
     public void deleteCourse(Integer courseId) {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
@@ -1,22 +1,37 @@
 package com.javaproj.services;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.javaproj.db.*;
+import com.javaproj.dto.EnrollmentImportResultDTO;
+import com.javaproj.dto.EnrollmentImportRowDTO;
 import com.javaproj.dto.EnrollmentResponseDTO;
+import com.javaproj.dto.TimetableClashDTO;
+import com.javaproj.dto.KeysetPage;
 import com.javaproj.dto.ScheduleResponseDTO;
 import com.javaproj.dto.StudentDTO;
 import com.javaproj.dto.CourseDTO;
 import com.javaproj.dto.ProfessorDTO;
 import com.javaproj.dto.ClassroomDTO;
 import com.javaproj.exceptions.ResourceNotFoundException;
+import com.javaproj.exceptions.ScheduleFullException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class EnrollmentService {
@@ -24,17 +39,41 @@ public class EnrollmentService {
     private final EnrollmentRepository enrollmentRepository;
     private final StudentRepository studentRepository;
     private final ScheduleRepository scheduleRepository;
-    private final CourseRepository courseRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final BatchWriter batchWriter;
+    private final SeatInventory seatInventory;
+    private final WaitlistService waitlistService;
+    private final TimetableService timetableService;
+    private final SchedulerMetrics schedulerMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Ids per IN (...) query, well below PostgreSQL's bind parameter limit.
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+    // Range of the Enrollments grade check constraint.
+    private static final BigDecimal MIN_GRADE = BigDecimal.ZERO;
+    private static final BigDecimal MAX_GRADE = BigDecimal.valueOf(100);
 
     @Autowired
     public EnrollmentService(EnrollmentRepository enrollmentRepository,
                              StudentRepository studentRepository,
                              ScheduleRepository scheduleRepository,
-                             CourseRepository courseRepository) {
+                             ReferenceDataCache referenceDataCache,
+                             BatchWriter batchWriter,
+                             SeatInventory seatInventory,
+                             WaitlistService waitlistService,
+                             TimetableService timetableService,
+                             SchedulerMetrics schedulerMetrics,
+                             ApplicationEventPublisher eventPublisher) {
         this.enrollmentRepository = enrollmentRepository;
         this.studentRepository = studentRepository;
         this.scheduleRepository = scheduleRepository;
-        this.courseRepository = courseRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.batchWriter = batchWriter;
+        this.seatInventory = seatInventory;
+        this.waitlistService = waitlistService;
+        this.timetableService = timetableService;
+        this.schedulerMetrics = schedulerMetrics;
+        this.eventPublisher = eventPublisher;
     }
 
     // Existing EnrollmentRequest static class
@@ -43,6 +82,9 @@ public class EnrollmentService {
         public Integer scheduleId;
         public LocalDate enrollmentDate;
         public BigDecimal grade;
+        // Line of the CSV import the request was parsed from; JSON rows are numbered by position.
+        @JsonIgnore
+        public Integer line;
 
         public EnrollmentRequest() {}
 
@@ -54,6 +96,48 @@ public class EnrollmentService {
         public void setEnrollmentDate(LocalDate enrollmentDate) { this.enrollmentDate = enrollmentDate; }
         public BigDecimal getGrade() { return grade; }
         public void setGrade(BigDecimal grade) { this.grade = grade; }
+        public Integer getLine() { return line; }
+        public void setLine(Integer line) { this.line = line; }
+    }
+
+    // Optional filters of the paged enrollment listing, bound from query parameters. All set filters must match.
+    public static class EnrollmentFilter {
+        public Integer studentId;
+        public Integer scheduleId;
+        public Integer courseId;
+        public String semester;
+        public String academicYear;
+        public String department;
+        public String building;
+
+        public EnrollmentFilter() {}
+
+        public Integer getStudentId() { return studentId; }
+        public void setStudentId(Integer studentId) { this.studentId = studentId; }
+        public Integer getScheduleId() { return scheduleId; }
+        public void setScheduleId(Integer scheduleId) { this.scheduleId = scheduleId; }
+        public Integer getCourseId() { return courseId; }
+        public void setCourseId(Integer courseId) { this.courseId = courseId; }
+        public String getSemester() { return semester; }
+        public void setSemester(String semester) { this.semester = semester; }
+        public String getAcademicYear() { return academicYear; }
+        public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+        public String getDepartment() { return department; }
+        public void setDepartment(String department) { this.department = department; }
+        public String getBuilding() { return building; }
+        public void setBuilding(String building) { this.building = building; }
+
+        // Filters that only exist in paged mode; the id filters also work on the plain list, in the combinations
+        // below.
+        public boolean hasTermOrLocationFilter() {
+            return semester != null || academicYear != null || department != null || building != null;
+        }
+
+        // Id filters the plain list has no query for: courseId without studentId, or scheduleId with another one.
+        public boolean hasIdFiltersOnlyPagedModeCombines() {
+            return (courseId != null && studentId == null)
+                    || (scheduleId != null && (studentId != null || courseId != null));
+        }
     }
 
     private ScheduleResponseDTO convertScheduleToDTO(Schedule schedule) {
@@ -79,8 +163,8 @@ public class EnrollmentService {
         );
     }
 
-
-    private EnrollmentResponseDTO convertToDTO(Enrollment enrollment) {
+    // Package-private for MappingBenchmark (benchmarks module).
+    EnrollmentResponseDTO convertToDTO(Enrollment enrollment) {
         if (enrollment == null) {
             return null;
         }
@@ -103,23 +187,49 @@ public class EnrollmentService {
         );
     }
 
-    private List<EnrollmentResponseDTO> convertToDTOList(List<Enrollment> enrollments) {
-        return enrollments.stream().map(this::convertToDTO).collect(Collectors.toList());
-    }
-
     @Transactional
     public EnrollmentResponseDTO createEnrollment(EnrollmentRequest enrollmentRequest) {
-        Student student = studentRepository.findById(enrollmentRequest.studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + enrollmentRequest.studentId));
-        Schedule schedule = scheduleRepository.findById(enrollmentRequest.scheduleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + enrollmentRequest.scheduleId));
+        Student student = studentRepository.findById(enrollmentRequest.studentId).orElse(null);
+        if (student == null) {
+            schedulerMetrics.enrollmentRejected(SchedulerMetrics.SOURCE_REQUEST, "student_not_found");
+            throw new ResourceNotFoundException("Student not found with id: " + enrollmentRequest.studentId);
+        }
+        // Course, professor and classroom are needed for the response, so fetch them with the schedule.
+        Schedule schedule = scheduleRepository.findWithDetailsByScheduleId(enrollmentRequest.scheduleId).orElse(null);
+        if (schedule == null) {
+            schedulerMetrics.enrollmentRejected(SchedulerMetrics.SOURCE_REQUEST, "schedule_not_found");
+            throw new ResourceNotFoundException("Schedule not found with id: " + enrollmentRequest.scheduleId);
+        }
 
         if (enrollmentRepository.findByStudentAndSchedule(student, schedule).isPresent()) {
+            schedulerMetrics.enrollmentRejected(SchedulerMetrics.SOURCE_REQUEST, "duplicate");
             throw new IllegalStateException("Student " + student.getFirstName() + " " + student.getLastName() +
                     " is already enrolled in schedule ID " + schedule.getScheduleId() +
                     " (Course: " + schedule.getCourse().getCourseName() + ").");
         }
 
+        List<TermSlot> clashes = enrollmentRepository.findClashingSlots(student.getStudentId(), schedule.getScheduleId());
+        if (!clashes.isEmpty()) {
+            schedulerMetrics.enrollmentRejected(SchedulerMetrics.SOURCE_REQUEST, "timetable_clash");
+            throw new IllegalStateException(clashMessage(student.getStudentId(),
+                    scheduleRepository.findTermSlotsByIds(List.of(schedule.getScheduleId())).get(0), clashes.get(0)));
+        }
+
+        // Seats freed while others are waitlisted belong to the waitlist.
+        if (waitlistService.hasWaitlist(schedule.getScheduleId())) {
+            schedulerMetrics.enrollmentRejected(SchedulerMetrics.SOURCE_REQUEST, "waitlisted");
+            throw new ScheduleFullException("Schedule ID " + schedule.getScheduleId() + " (Course: " +
+                    schedule.getCourse().getCourseName() + ") has a waitlist.");
+        }
+        // Last check, so a seat is only taken for an enrollment that is otherwise valid. Given back if the
+        // insert fails and the transaction rolls back.
+        if (!seatInventory.tryReserve(schedule.getScheduleId())) {
+            schedulerMetrics.enrollmentRejected(SchedulerMetrics.SOURCE_REQUEST, "schedule_full");
+            throw new ScheduleFullException("Schedule ID " + schedule.getScheduleId() + " (Course: " +
+                    schedule.getCourse().getCourseName() + ") is full: all " +
+                    seatInventory.getCapacity(schedule.getScheduleId()) + " seats are taken.");
+        }
+
         Enrollment enrollment = new Enrollment();
         enrollment.setStudent(student);
         enrollment.setSchedule(schedule);
@@ -127,40 +237,226 @@ public class EnrollmentService {
         enrollment.setGrade(enrollmentRequest.grade);
 
         Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+        schedulerMetrics.enrollmentsCreated(SchedulerMetrics.SOURCE_REQUEST, 1);
+        timetableService.enrollmentAddedAfterCommit(student.getStudentId(), new TimetableSession(
+                savedEnrollment.getEnrollmentId(), schedule.getScheduleId(), schedule.getCourse().getCourseId(),
+                schedule.getProfessor().getProfessorId(), schedule.getClassroom().getRoomId(), schedule.getDayOfWeek(),
+                schedule.getStartTime(), schedule.getEndTime(), schedule.getSemester(), schedule.getAcademicYear()));
         return convertToDTO(savedEnrollment);
     }
 
+    // Bulk import. Unlike createEnrollment this does a fixed number of queries per IN_CLAUSE_CHUNK_SIZE ids
+    // instead of three per row: students and schedules are resolved with IN queries, duplicates are found by
+    // comparing against the existing (student, schedule) pairs of the imported students, timetable clashes
+    // come from a StudentTimetableIndex over the same pairs, seats are taken from the SeatInventory (never for
+    // a schedule with a waitlist), and the new rows are inserted in JDBC batches. Rows that fail are reported and skipped; the others are imported.
+    @Transactional
+    public EnrollmentImportResultDTO importEnrollments(List<EnrollmentRequest> enrollmentRequests) {
+        Set<Integer> studentIds = new HashSet<>();
+        Set<Integer> scheduleIds = new HashSet<>();
+        for (EnrollmentRequest request : enrollmentRequests) {
+            if (request != null && request.studentId != null && request.scheduleId != null) {
+                studentIds.add(request.studentId);
+                scheduleIds.add(request.scheduleId);
+            }
+        }
+        Set<Integer> existingStudents = new HashSet<>(inChunks(studentIds, studentRepository::findExistingIds));
+        Map<Integer, TermSlot> schedules = new HashMap<>();
+        for (TermSlot slot : inChunks(scheduleIds, scheduleRepository::findTermSlotsByIds)) {
+            schedules.put(slot.getScheduleId(), slot);
+        }
+        seatInventory.load(schedules.keySet());
+        Set<Long> enrolled = new HashSet<>();
+        StudentTimetableIndex timetables = new StudentTimetableIndex();
+        for (StudentTermSlot slot : inChunks(existingStudents, enrollmentRepository::findTermSlotsByStudentIds)) {
+            enrolled.add(pairKey(slot.getStudentId(), slot.getScheduleId()));
+            timetables.add(slot.getStudentId(), slot);
+        }
+
+        EnrollmentImportRowDTO[] results = new EnrollmentImportRowDTO[enrollmentRequests.size()];
+        List<Enrollment> toInsert = new ArrayList<>();
+        List<Integer> insertedRows = new ArrayList<>();
+        for (int i = 0; i < enrollmentRequests.size(); i++) {
+            EnrollmentRequest request = enrollmentRequests.get(i);
+            int row = rowNumber(request, i);
+            if (request == null || request.studentId == null || request.scheduleId == null) {
+                results[i] = new EnrollmentImportRowDTO(row, request == null ? null : request.studentId,
+                        request == null ? null : request.scheduleId, EnrollmentImportRowDTO.Status.INVALID, null,
+                        "studentId and scheduleId are required.");
+                continue;
+            }
+            // Checked here: a row the database rejects would roll back the whole import.
+            if (request.grade != null && (request.grade.compareTo(MIN_GRADE) < 0 || request.grade.compareTo(MAX_GRADE) > 0)) {
+                results[i] = new EnrollmentImportRowDTO(row, request.studentId, request.scheduleId,
+                        EnrollmentImportRowDTO.Status.INVALID, null, "grade must be between 0 and 100.");
+                continue;
+            }
+            TermSlot schedule = schedules.get(request.scheduleId);
+            TermSlot clash;
+            if (!existingStudents.contains(request.studentId)) {
+                results[i] = new EnrollmentImportRowDTO(row, request.studentId, request.scheduleId,
+                        EnrollmentImportRowDTO.Status.STUDENT_NOT_FOUND, null, "Student not found with id: " + request.studentId);
+            } else if (schedule == null) {
+                results[i] = new EnrollmentImportRowDTO(row, request.studentId, request.scheduleId,
+                        EnrollmentImportRowDTO.Status.SCHEDULE_NOT_FOUND, null, "Schedule not found with id: " + request.scheduleId);
+            } else if (enrolled.contains(pairKey(request.studentId, request.scheduleId))) {
+                // Already in the database, or an earlier row of this import.
+                results[i] = new EnrollmentImportRowDTO(row, request.studentId, request.scheduleId,
+                        EnrollmentImportRowDTO.Status.DUPLICATE, null,
+                        "Student " + request.studentId + " is already enrolled in schedule ID " + request.scheduleId + ".");
+            } else if ((clash = timetables.findClash(request.studentId, schedule)) != null) {
+                // Overlaps an existing enrollment, or an earlier row of this import.
+                results[i] = new EnrollmentImportRowDTO(row, request.studentId, request.scheduleId,
+                        EnrollmentImportRowDTO.Status.TIMETABLE_CLASH, null, clashMessage(request.studentId, schedule, clash));
+            } else if (waitlistService.hasWaitlist(request.scheduleId)) {
+                // Seats freed while others are waitlisted belong to the waitlist, as in createEnrollment.
+                results[i] = new EnrollmentImportRowDTO(row, request.studentId, request.scheduleId,
+                        EnrollmentImportRowDTO.Status.WAITLISTED, null,
+                        "Schedule ID " + request.scheduleId + " has a waitlist.");
+            } else if (!seatInventory.tryReserve(request.scheduleId)) {
+                results[i] = new EnrollmentImportRowDTO(row, request.studentId, request.scheduleId,
+                        EnrollmentImportRowDTO.Status.SCHEDULE_FULL, null,
+                        "Schedule ID " + request.scheduleId + " is full: all " +
+                                seatInventory.getCapacity(request.scheduleId) + " seats are taken.");
+            } else {
+                enrolled.add(pairKey(request.studentId, request.scheduleId));
+                timetables.add(request.studentId, schedule);
+                Enrollment enrollment = new Enrollment();
+                // References only: both ids were verified above, so no select is needed per row.
+                enrollment.setStudent(studentRepository.getReferenceById(request.studentId));
+                enrollment.setSchedule(scheduleRepository.getReferenceById(request.scheduleId));
+                enrollment.setEnrollmentDate(request.enrollmentDate != null ? request.enrollmentDate : LocalDate.now());
+                enrollment.setGrade(request.grade);
+                toInsert.add(enrollment);
+                insertedRows.add(i);
+            }
+        }
+
+        List<Enrollment> saved = batchWriter.persistAll(toInsert);
+        Set<Integer> enrolledStudents = new HashSet<>();
+        for (int i : insertedRows) {
+            enrolledStudents.add(enrollmentRequests.get(i).studentId);
+        }
+        timetableService.invalidateAfterCommit(enrolledStudents);
+        for (int j = 0; j < saved.size(); j++) {
+            int i = insertedRows.get(j);
+            EnrollmentRequest request = enrollmentRequests.get(i);
+            results[i] = new EnrollmentImportRowDTO(rowNumber(request, i), request.studentId, request.scheduleId,
+                    EnrollmentImportRowDTO.Status.CREATED, saved.get(j).getEnrollmentId(), null);
+        }
+        schedulerMetrics.enrollmentsCreated(SchedulerMetrics.SOURCE_IMPORT, saved.size());
+        for (EnrollmentImportRowDTO result : results) {
+            if (result.getStatus() != EnrollmentImportRowDTO.Status.CREATED) {
+                schedulerMetrics.enrollmentRejected(SchedulerMetrics.SOURCE_IMPORT, result.getStatus().name());
+            }
+        }
+        return new EnrollmentImportResultDTO(results.length, saved.size(), results.length - saved.size(), Arrays.asList(results));
+    }
+
+    // Parses the CSV form of a bulk import: one enrollment per line as studentId,scheduleId[,enrollmentDate[,grade]].
+    // A header line (any first line that does not start with a number) and blank lines are skipped.
+    public List<EnrollmentRequest> parseEnrollmentCsv(String csv) {
+        List<EnrollmentRequest> requests = new ArrayList<>();
+        String[] lines = csv.split("\\r?\\n");
+        for (int lineNumber = 1; lineNumber <= lines.length; lineNumber++) {
+            String line = lines[lineNumber - 1].trim();
+            if (line.isEmpty() || (lineNumber == 1 && !Character.isDigit(line.charAt(0)))) {
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            try {
+                EnrollmentRequest request = new EnrollmentRequest();
+                request.line = lineNumber;
+                request.studentId = Integer.valueOf(columns[0].trim());
+                request.scheduleId = columns.length > 1 ? Integer.valueOf(columns[1].trim()) : null;
+                if (columns.length > 2 && !columns[2].isBlank()) {
+                    request.enrollmentDate = LocalDate.parse(columns[2].trim());
+                }
+                if (columns.length > 3 && !columns[3].isBlank()) {
+                    request.grade = new BigDecimal(columns[3].trim());
+                }
+                requests.add(request);
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid CSV at line " + lineNumber + ": " + line);
+            }
+        }
+        return requests;
+    }
+
+    // Clash report for a whole term, computed by the database in one self-join over enrollments.
+    @Transactional(readOnly = true)
+    public List<TimetableClashDTO> getTimetableClashes(String semester, String academicYear) {
+        return enrollmentRepository.findClashesByTerm(semester, academicYear);
+    }
+
+    private static String clashMessage(Integer studentId, TermSlot requested, TermSlot existing) {
+        return "Timetable clash: student " + studentId + " is already enrolled in schedule ID " + existing.getScheduleId() +
+                " (" + existing.getCourseCode() + ", " + existing.getDayOfWeek() + " " + existing.getStartTime() + "-" +
+                existing.getEndTime() + "), which overlaps schedule ID " + requested.getScheduleId() +
+                " (" + requested.getCourseCode() + ", " + requested.getStartTime() + "-" + requested.getEndTime() + ").";
+    }
+
+    private static int rowNumber(EnrollmentRequest request, int index) {
+        return request != null && request.line != null ? request.line : index + 1;
+    }
+
+    private static long pairKey(int studentId, int scheduleId) {
+        return ((long) studentId << 32) | (scheduleId & 0xFFFFFFFFL);
+    }
+
+    private static <T> List<T> inChunks(Collection<Integer> ids, Function<List<Integer>, List<T>> query) {
+        List<Integer> all = new ArrayList<>(ids);
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            results.addAll(query.apply(all.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, all.size()))));
+        }
+        return results;
+    }
+
+    // One keyset page of enrollments, ordered by id. The count query only runs when includeTotal is set.
     @Transactional(readOnly = true)
-    public List<EnrollmentResponseDTO> getAllEnrollments() {
-        return convertToDTOList(enrollmentRepository.findAll());
+    public KeysetPage<EnrollmentResponseDTO> getEnrollmentPage(EnrollmentFilter filter, Integer after, Integer limit, boolean includeTotal) {
+        int pageSize = KeysetPage.normalizeLimit(limit);
+        List<EnrollmentResponseDTO> rows = enrollmentRepository.findResponsePage(KeysetPage.normalizeAfter(after),
+                filter.studentId, filter.scheduleId, filter.courseId, filter.semester, filter.academicYear,
+                filter.department, filter.building, KeysetPage.fetchOneMore(pageSize));
+        Long total = includeTotal
+                ? enrollmentRepository.countFiltered(filter.studentId, filter.scheduleId, filter.courseId,
+                        filter.semester, filter.academicYear, filter.department, filter.building)
+                : null;
+        return KeysetPage.of(rows, pageSize, EnrollmentResponseDTO::getEnrollmentId, total);
     }
 
     @Transactional(readOnly = true)
     public Optional<EnrollmentResponseDTO> getEnrollmentById(Integer enrollmentId) {
-        return enrollmentRepository.findById(enrollmentId).map(this::convertToDTO);
+        return enrollmentRepository.findResponseById(enrollmentId);
     }
 
     @Transactional(readOnly = true)
     public List<EnrollmentResponseDTO> getEnrollmentsByStudentId(Integer studentId) {
-        studentRepository.findById(studentId) // Check if student exists
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-        return convertToDTOList(enrollmentRepository.findByStudent_StudentId(studentId));
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        return enrollmentRepository.findResponsesByStudentId(studentId);
     }
 
     @Transactional(readOnly = true)
     public List<EnrollmentResponseDTO> getEnrollmentsByScheduleId(Integer scheduleId) {
-        scheduleRepository.findById(scheduleId) // Check if schedule exists
-                .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + scheduleId));
-        return convertToDTOList(enrollmentRepository.findBySchedule_ScheduleId(scheduleId));
+        if (!scheduleRepository.existsById(scheduleId)) {
+            throw new ResourceNotFoundException("Schedule not found with id: " + scheduleId);
+        }
+        return enrollmentRepository.findResponsesByScheduleId(scheduleId);
     }
 
     @Transactional(readOnly = true)
     public Optional<EnrollmentResponseDTO> getEnrollmentByStudentIdAndScheduleId(Integer studentId, Integer scheduleId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-        Schedule schedule = scheduleRepository.findById(scheduleId)
-                .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + scheduleId));
-        return enrollmentRepository.findByStudentAndSchedule(student, schedule).map(this::convertToDTO);
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        if (!scheduleRepository.existsById(scheduleId)) {
+            throw new ResourceNotFoundException("Schedule not found with id: " + scheduleId);
+        }
+        return enrollmentRepository.findResponseByStudentIdAndScheduleId(studentId, scheduleId);
     }
 
 
@@ -190,12 +486,22 @@ public class EnrollmentService {
         Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found with id: " + enrollmentId));
         enrollmentRepository.delete(enrollment);
+        seatInventory.releaseAfterCommit(enrollment.getSchedule().getScheduleId());
+        timetableService.enrollmentRemovedAfterCommit(enrollment.getStudent().getStudentId(), enrollment.getSchedule().getScheduleId());
+        // Promotion from the waitlist happens after commit, in the background (WaitlistService).
+        eventPublisher.publishEvent(new SeatReleasedEvent(enrollment.getSchedule().getScheduleId()));
     }
 
     @Transactional(readOnly=true)
     public List<EnrollmentResponseDTO> getEnrollmentsByStudentIdAndCourseId(Integer studentId, Integer courseId) {
-        studentRepository.findById(studentId).orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-        courseRepository.findById(courseId).orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
-        return convertToDTOList(enrollmentRepository.findByStudentIdAndCourseId(studentId, courseId));
+        // Course first: a cache miss must be the transaction's first read to be read from the primary.
+        boolean courseExists = referenceDataCache.getCourse(courseId).isPresent();
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        if (!courseExists) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+        return enrollmentRepository.findResponsesByStudentIdAndCourseId(studentId, courseId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,227 @@
+package com.javaproj.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.javaproj.db.EnrollmentRepository;
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.dto.EnrollmentResponseDTO;
+import com.javaproj.dto.ScheduleResponseDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// Streams schedules and enrollments straight from a database cursor to the response, one row at a time.
+// Rows are DTO projections, so nothing accumulates in the persistence context and heap use stays flat
+// regardless of how many rows are exported.
+@Service
+public class ExportService {
+
+    // Rows between two explicit flushes. The first row is flushed on its own so the client sees data
+    // as soon as the query returns its first batch.
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String SCHEDULE_CSV_HEADER = "scheduleId,courseId,courseCode,courseName," +
+            "professorId,professorFirstName,professorLastName,roomId,roomNumber,capacity," +
+            "dayOfWeek,startTime,endTime,semester,academicYear";
+    private static final String ENROLLMENT_CSV_HEADER = "enrollmentId,studentId,studentFirstName,studentLastName," +
+            "studentEmail,studentMajor," + SCHEDULE_CSV_HEADER + ",enrollmentDate,grade";
+
+    public enum Format {
+        NDJSON(new MediaType("application", "x-ndjson"), "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String fileExtension;
+
+        Format(MediaType mediaType, String fileExtension) {
+            this.mediaType = mediaType;
+            this.fileExtension = fileExtension;
+        }
+
+        public MediaType getMediaType() { return mediaType; }
+        public String getFileExtension() { return fileExtension; }
+
+        public static Format fromParameter(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format '" + value + "'. Use ndjson or csv.");
+            }
+        }
+    }
+
+    private final ScheduleRepository scheduleRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    @Autowired
+    public ExportService(ScheduleRepository scheduleRepository,
+                         EnrollmentRepository enrollmentRepository,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager) {
+        this.scheduleRepository = scheduleRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.objectMapper = objectMapper;
+        // The cursor behind a Stream query only lives as long as its transaction (PostgreSQL also needs
+        // autocommit off to honour the fetch size), so the whole export runs inside one read-only transaction.
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    public void exportSchedules(ScheduleService.ScheduleFilter filter, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        ObjectWriter json = objectMapper.writerFor(ScheduleResponseDTO.class);
+        if (format == Format.CSV) {
+            writer.write(SCHEDULE_CSV_HEADER);
+            writer.write('\n');
+        }
+        inTransaction(() -> {
+            try (Stream<ScheduleResponseDTO> rows = scheduleRepository.streamResponses(filter.courseId, filter.professorId,
+                    filter.classroomId, filter.semester, filter.academicYear, filter.department, filter.building)) {
+                writeRows(rows.iterator(), writer, row -> {
+                    if (format == Format.CSV) {
+                        writeScheduleColumns(writer, row);
+                    } else {
+                        writer.write(json.writeValueAsString(row));
+                    }
+                });
+            }
+        });
+        writer.flush();
+    }
+
+    public void exportEnrollments(EnrollmentService.EnrollmentFilter filter, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        ObjectWriter json = objectMapper.writerFor(EnrollmentResponseDTO.class);
+        if (format == Format.CSV) {
+            writer.write(ENROLLMENT_CSV_HEADER);
+            writer.write('\n');
+        }
+        inTransaction(() -> {
+            try (Stream<EnrollmentResponseDTO> rows = enrollmentRepository.streamResponses(filter.studentId, filter.scheduleId,
+                    filter.courseId, filter.semester, filter.academicYear, filter.department, filter.building)) {
+                writeRows(rows.iterator(), writer, row -> {
+                    if (format == Format.CSV) {
+                        writeEnrollmentColumns(writer, row);
+                    } else {
+                        writer.write(json.writeValueAsString(row));
+                    }
+                });
+            }
+        });
+        writer.flush();
+    }
+
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private void inTransaction(IoAction action) throws IOException {
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try {
+                    action.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Usually the client went away; the transaction is rolled back and the cursor closed.
+            throw e.getCause();
+        }
+    }
+
+    private static <T> void writeRows(Iterator<T> rows, Writer writer, RowWriter<T> rowWriter) throws IOException {
+        long written = 0;
+        while (rows.hasNext()) {
+            rowWriter.write(rows.next());
+            writer.write('\n');
+            if (++written % FLUSH_INTERVAL == 1) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static void writeScheduleColumns(Writer writer, ScheduleResponseDTO schedule) throws IOException {
+        writer.write(csv(schedule.getScheduleId()));
+        writer.write(',');
+        writer.write(csv(schedule.getCourse().getCourseId()));
+        writer.write(',');
+        writer.write(csv(schedule.getCourse().getCourseCode()));
+        writer.write(',');
+        writer.write(csv(schedule.getCourse().getCourseName()));
+        writer.write(',');
+        writer.write(csv(schedule.getProfessor().getProfessorId()));
+        writer.write(',');
+        writer.write(csv(schedule.getProfessor().getFirstName()));
+        writer.write(',');
+        writer.write(csv(schedule.getProfessor().getLastName()));
+        writer.write(',');
+        writer.write(csv(schedule.getClassroom().getRoomId()));
+        writer.write(',');
+        writer.write(csv(schedule.getClassroom().getRoomNumber()));
+        writer.write(',');
+        writer.write(csv(schedule.getClassroom().getCapacity()));
+        writer.write(',');
+        writer.write(csv(schedule.getDayOfWeek()));
+        writer.write(',');
+        writer.write(csv(schedule.getStartTime()));
+        writer.write(',');
+        writer.write(csv(schedule.getEndTime()));
+        writer.write(',');
+        writer.write(csv(schedule.getSemester()));
+        writer.write(',');
+        writer.write(csv(schedule.getAcademicYear()));
+    }
+
+    private static void writeEnrollmentColumns(Writer writer, EnrollmentResponseDTO enrollment) throws IOException {
+        writer.write(csv(enrollment.getEnrollmentId()));
+        writer.write(',');
+        writer.write(csv(enrollment.getStudent().getStudentId()));
+        writer.write(',');
+        writer.write(csv(enrollment.getStudent().getFirstName()));
+        writer.write(',');
+        writer.write(csv(enrollment.getStudent().getLastName()));
+        writer.write(',');
+        writer.write(csv(enrollment.getStudent().getEmail()));
+        writer.write(',');
+        writer.write(csv(enrollment.getStudent().getMajor()));
+        writer.write(',');
+        writeScheduleColumns(writer, enrollment.getSchedule());
+        writer.write(',');
+        writer.write(csv(enrollment.getEnrollmentDate()));
+        writer.write(',');
+        writer.write(csv(enrollment.getGrade()));
+    }
+
+    // RFC 4180 quoting: only values containing a separator, quote or line break are quoted.
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,65 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.Course;
+import com.javaproj.db.Professor;
+import com.javaproj.db.Schedule;
+import com.javaproj.dto.ScheduleGenerationRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// First-fit: each course, in request order, takes the first free (day, start time, professor, room).
+// Courses that do not fit on the first pass are left unplaced.
+@Component
+public class GreedySchedulingEngine implements SchedulingEngine {
+
+    @Override
+    public ScheduleGenerationRequest.Strategy getStrategy() {
+        return ScheduleGenerationRequest.Strategy.GREEDY;
+    }
+
+    @Override
+    public List<Schedule> generate(SchedulingProblem problem) {
+        OccupancyIndex occupancy = problem.getOccupancy();
+        SchedulingProgress progress = problem.getProgress();
+        List<Schedule> placements = new ArrayList<>();
+
+        for (Course course : problem.getCourses()) {
+            if (progress.isCancelled()) {
+                break;
+            }
+            Schedule placement = placeFirstFit(problem, occupancy, course);
+            if (placement != null) {
+                placements.add(placement);
+                progress.reportSearching(placements.size());
+            }
+        }
+        return placements;
+    }
+
+    private Schedule placeFirstFit(SchedulingProblem problem, OccupancyIndex occupancy, Course course) {
+        List<Professor> suitableProfessors = problem.candidateProfessors(course);
+        for (String day : problem.getDaysOfWeek()) {
+            for (LocalTime startTime : problem.getStartTimes()) {
+                LocalTime endTime = problem.endTimeFor(startTime);
+
+                for (Professor professor : suitableProfessors) {
+                    if (!occupancy.isProfessorFree(professor.getProfessorId(), day, startTime, endTime)) {
+                        continue;
+                    }
+                    for (Classroom classroom : problem.getClassrooms()) {
+                        if (!occupancy.isRoomFree(classroom.getRoomId(), day, startTime, endTime)) {
+                            continue;
+                        }
+                        occupancy.occupy(classroom.getRoomId(), professor.getProfessorId(), day, startTime, endTime);
+                        return problem.newSchedule(course, professor, classroom, day, startTime);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
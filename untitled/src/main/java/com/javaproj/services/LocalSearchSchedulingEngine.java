@@ -0,0 +1,305 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.Course;
+import com.javaproj.db.Professor;
+import com.javaproj.db.Schedule;
+import com.javaproj.dto.ScheduleGenerationRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+// Multi-start simulated annealing. Each worker builds its own first-fit timetable from a differently
+// shuffled problem (worker 0 keeps the request order), then moves single courses to other
+// days/times/professors/rooms while minimising the SoftConstraintObjective. Workers run in parallel
+// on a dedicated ForkJoinPool until the time budget expires; the best timetable wins.
+@Component
+public class LocalSearchSchedulingEngine implements SchedulingEngine {
+
+    private static final double START_TEMPERATURE = 10.0;
+    private static final double END_TEMPERATURE = 0.01;
+    // Moves between two deadline checks / temperature updates.
+    private static final int MOVES_PER_STEP = 128;
+
+    private final GreedySchedulingEngine greedySchedulingEngine;
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    @Autowired
+    public LocalSearchSchedulingEngine(GreedySchedulingEngine greedySchedulingEngine) {
+        this.greedySchedulingEngine = greedySchedulingEngine;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public ScheduleGenerationRequest.Strategy getStrategy() {
+        return ScheduleGenerationRequest.Strategy.OPTIMIZE;
+    }
+
+    // Each worker holds its own copy of the term's occupancy, so there are at most as many as the pool has threads.
+    @Override
+    public void validate(ScheduleGenerationRequest request) {
+        if (request.getWorkers() < 0 || request.getWorkers() > pool.getParallelism()) {
+            throw new IllegalArgumentException("workers must be between 1 and " + pool.getParallelism()
+                    + " (0 for one per processor).");
+        }
+    }
+
+    @Override
+    public List<Schedule> generate(SchedulingProblem problem) {
+        SoftConstraintObjective objective = problem.getObjective() instanceof SoftConstraintObjective soft
+                ? soft : new SoftConstraintObjective();
+        long deadline = System.nanoTime() + problem.getTimeBudget().toNanos();
+        int workers = problem.getWorkers() > 0 ? Math.min(problem.getWorkers(), pool.getParallelism()) : pool.getParallelism();
+
+        List<ForkJoinTask<Worker>> tasks = new ArrayList<>(workers);
+        for (int seed = 0; seed < workers; seed++) {
+            tasks.add(pool.submit(new Worker(problem, objective, seed, deadline)));
+        }
+
+        Worker best = null;
+        for (ForkJoinTask<Worker> task : tasks) {
+            Worker worker = task.join();
+            if (best == null || worker.bestScore < best.bestScore) {
+                best = worker;
+            }
+        }
+
+        for (Schedule schedule : best.bestPlacements) {
+            problem.getOccupancy().occupy(schedule.getClassroom().getRoomId(), schedule.getProfessor().getProfessorId(),
+                    schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime());
+        }
+        return best.bestPlacements;
+    }
+
+    private final class Worker extends RecursiveTask<Worker> {
+        private final SchedulingProblem problem;
+        private final SoftConstraintObjective objective;
+        private final long seed;
+        private final long deadline;
+
+        private Random random;
+        private OccupancyIndex occupancy;
+        private List<Schedule> placed;
+        private List<Course> unplaced;
+        private Map<Integer, Map<String, List<Schedule>>> sessionsByProfessorDay;
+        private Map<String, List<Professor>> candidatesByDepartment;
+
+        private double currentScore;
+        private double bestScore;
+        private List<Schedule> bestPlacements;
+
+        Worker(SchedulingProblem problem, SoftConstraintObjective objective, long seed, long deadline) {
+            this.problem = problem;
+            this.objective = objective;
+            this.seed = seed;
+            this.deadline = deadline;
+        }
+
+        @Override
+        protected Worker compute() {
+            random = new Random(seed);
+            SchedulingProblem start = seed == 0 ? problem.withCopiedOccupancy() : problem.shuffled(random);
+            placed = new ArrayList<>(greedySchedulingEngine.generate(start));
+            occupancy = start.getOccupancy();
+
+            Map<Integer, Integer> placedPerCourse = new HashMap<>();
+            for (Schedule schedule : placed) {
+                placedPerCourse.merge(schedule.getCourse().getCourseId(), 1, Integer::sum);
+            }
+            unplaced = new ArrayList<>();
+            for (Course course : problem.getCourses()) {
+                if (placedPerCourse.merge(course.getCourseId(), -1, Integer::sum) < 0) {
+                    unplaced.add(course);
+                }
+            }
+
+            sessionsByProfessorDay = new HashMap<>();
+            for (Schedule schedule : placed) {
+                sessions(schedule.getProfessor(), schedule.getDayOfWeek()).add(schedule);
+            }
+            candidatesByDepartment = new HashMap<>();
+
+            currentScore = objective.evaluate(placed, problem);
+            snapshot();
+            anneal();
+            return this;
+        }
+
+        private void anneal() {
+            long startedAt = System.nanoTime();
+            long budget = Math.max(1, deadline - startedAt);
+            if (problem.getDaysOfWeek().isEmpty() || problem.getStartTimes().isEmpty()) {
+                return;
+            }
+            while (!placed.isEmpty() || !unplaced.isEmpty()) {
+                long now = System.nanoTime();
+                if (now >= deadline || problem.getProgress().isCancelled()) {
+                    break;
+                }
+                double progress = (double) (now - startedAt) / budget;
+                double temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, progress);
+                for (int i = 0; i < MOVES_PER_STEP; i++) {
+                    if (!unplaced.isEmpty() && (placed.isEmpty() || random.nextInt(4) == 0)) {
+                        tryPlace();
+                    } else {
+                        tryMove(temperature);
+                    }
+                }
+            }
+        }
+
+        // Puts an unplaced course into a random free slot. Always an improvement, since an unplaced
+        // course outweighs any soft penalty.
+        private void tryPlace() {
+            int index = random.nextInt(unplaced.size());
+            Course course = unplaced.get(index);
+            String day = pick(problem.getDaysOfWeek());
+            LocalTime startTime = pick(problem.getStartTimes());
+            LocalTime endTime = problem.endTimeFor(startTime);
+            Professor professor = pick(candidates(course));
+            if (!occupancy.isProfessorFree(professor.getProfessorId(), day, startTime, endTime)) {
+                return;
+            }
+            Classroom room = randomFreeRoom(day, startTime, endTime);
+            if (room == null) {
+                return;
+            }
+
+            Schedule schedule = problem.newSchedule(course, professor, room, day, startTime);
+            List<Schedule> sessions = sessions(professor, day);
+            double before = objective.professorDayPenalty(sessions);
+            sessions.add(schedule);
+            double after = objective.professorDayPenalty(sessions);
+
+            occupancy.occupy(room.getRoomId(), professor.getProfessorId(), day, startTime, endTime);
+            placed.add(schedule);
+            unplaced.set(index, unplaced.get(unplaced.size() - 1));
+            unplaced.remove(unplaced.size() - 1);
+            currentScore += after - before + objective.placementPenalty(schedule, problem)
+                    - SoftConstraintObjective.UNPLACED_COURSE_WEIGHT;
+            if (currentScore < bestScore) {
+                snapshot();
+            }
+        }
+
+        // Moves one placed course. One move in three only changes the room, the rest pick a new
+        // day, start time and professor as well.
+        private void tryMove(double temperature) {
+            Schedule schedule = placed.get(random.nextInt(placed.size()));
+            String oldDay = schedule.getDayOfWeek();
+            LocalTime oldStart = schedule.getStartTime();
+            LocalTime oldEnd = schedule.getEndTime();
+            Professor oldProfessor = schedule.getProfessor();
+            Classroom oldRoom = schedule.getClassroom();
+
+            String day = oldDay;
+            LocalTime startTime = oldStart;
+            Professor professor = oldProfessor;
+            if (random.nextInt(3) != 0) {
+                day = pick(problem.getDaysOfWeek());
+                startTime = pick(problem.getStartTimes());
+                professor = pick(candidates(schedule.getCourse()));
+            }
+            LocalTime endTime = problem.endTimeFor(startTime);
+
+            occupancy.release(oldRoom.getRoomId(), oldProfessor.getProfessorId(), oldDay, oldStart, oldEnd);
+            Classroom room = occupancy.isProfessorFree(professor.getProfessorId(), day, startTime, endTime)
+                    ? randomFreeRoom(day, startTime, endTime) : null;
+            if (room == null) {
+                occupancy.occupy(oldRoom.getRoomId(), oldProfessor.getProfessorId(), oldDay, oldStart, oldEnd);
+                return;
+            }
+
+            List<Schedule> oldSessions = sessions(oldProfessor, oldDay);
+            List<Schedule> newSessions = sessions(professor, day);
+            boolean sameGroup = oldSessions == newSessions;
+            double before = objective.placementPenalty(schedule, problem) + objective.professorDayPenalty(oldSessions)
+                    + (sameGroup ? 0.0 : objective.professorDayPenalty(newSessions));
+
+            oldSessions.remove(schedule);
+            apply(schedule, professor, room, day, startTime, endTime);
+            newSessions.add(schedule);
+
+            double after = objective.placementPenalty(schedule, problem) + objective.professorDayPenalty(oldSessions)
+                    + (sameGroup ? 0.0 : objective.professorDayPenalty(newSessions));
+            double delta = after - before;
+
+            if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                occupancy.occupy(room.getRoomId(), professor.getProfessorId(), day, startTime, endTime);
+                currentScore += delta;
+                if (currentScore < bestScore) {
+                    snapshot();
+                }
+            } else {
+                newSessions.remove(schedule);
+                apply(schedule, oldProfessor, oldRoom, oldDay, oldStart, oldEnd);
+                oldSessions.add(schedule);
+                occupancy.occupy(oldRoom.getRoomId(), oldProfessor.getProfessorId(), oldDay, oldStart, oldEnd);
+            }
+        }
+
+        private void apply(Schedule schedule, Professor professor, Classroom room, String day, LocalTime startTime, LocalTime endTime) {
+            schedule.setProfessor(professor);
+            schedule.setClassroom(room);
+            schedule.setDayOfWeek(day);
+            schedule.setStartTime(startTime);
+            schedule.setEndTime(endTime);
+        }
+
+        private Classroom randomFreeRoom(String day, LocalTime startTime, LocalTime endTime) {
+            List<Classroom> classrooms = problem.getClassrooms();
+            int size = classrooms.size();
+            if (size == 0) {
+                return null;
+            }
+            int offset = random.nextInt(size);
+            for (int i = 0; i < size; i++) {
+                Classroom classroom = classrooms.get((offset + i) % size);
+                if (occupancy.isRoomFree(classroom.getRoomId(), day, startTime, endTime)) {
+                    return classroom;
+                }
+            }
+            return null;
+        }
+
+        private List<Schedule> sessions(Professor professor, String day) {
+            return sessionsByProfessorDay
+                    .computeIfAbsent(professor.getProfessorId(), id -> new HashMap<>())
+                    .computeIfAbsent(day, d -> new ArrayList<>());
+        }
+
+        private List<Professor> candidates(Course course) {
+            return candidatesByDepartment.computeIfAbsent(
+                    SchedulingProblem.departmentKey(course.getDepartment()), d -> problem.candidateProfessors(course));
+        }
+
+        private <T> T pick(List<T> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+
+        // Placements are mutated in place by later moves, so the best timetable is kept as copies.
+        private void snapshot() {
+            bestScore = currentScore;
+            problem.getProgress().reportBest(placed.size(), currentScore);
+            bestPlacements = new ArrayList<>(placed.size());
+            for (Schedule schedule : placed) {
+                bestPlacements.add(problem.newSchedule(schedule.getCourse(), schedule.getProfessor(),
+                        schedule.getClassroom(), schedule.getDayOfWeek(), schedule.getStartTime()));
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.javaproj.services;
+
+import com.javaproj.db.ScheduleSlot;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-memory occupancy of rooms and professors for a single semester/academic year.
+// Each (resource, day) pair owns a bitmap with one bit per minute of the day, so a conflict check
+// is a handful of word operations instead of a findRoomConflicts/findProfessorConflicts round-trip.
+// Intervals are half-open [start, end), matching the overlap predicate used by ScheduleRepository.
+// Not thread-safe: use copy() to hand an independent index to another thread. Copies share the counter of
+// availability checks (getConflictChecks), so an engine's total includes the work of all its threads.
+public class OccupancyIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+
+    private final Map<Integer, Map<String, long[]>> roomBits = new HashMap<>();
+    private final Map<Integer, Map<String, long[]>> professorBits = new HashMap<>();
+    private final LongAdder conflictChecks;
+
+    // A free interval [start, end) in minutes of the day; an end of 24:00 is reported as LocalTime.MAX.
+    public static final class FreeWindow {
+        private final int startMinute;
+        private final int endMinute;
+
+        FreeWindow(int startMinute, int endMinute) {
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+        }
+
+        public LocalTime getStartTime() { return toTime(startMinute); }
+        public LocalTime getEndTime() { return toTime(endMinute); }
+        public int getMinutes() { return endMinute - startMinute; }
+    }
+
+    public OccupancyIndex() {
+        this(new LongAdder());
+    }
+
+    private OccupancyIndex(LongAdder conflictChecks) {
+        this.conflictChecks = conflictChecks;
+    }
+
+    public static OccupancyIndex fromSlots(Collection<? extends ScheduleSlot> slots) {
+        OccupancyIndex index = new OccupancyIndex();
+        for (ScheduleSlot slot : slots) {
+            index.occupy(slot.getRoomId(), slot.getProfessorId(), slot.getDayOfWeek(), slot.getStartTime(), slot.getEndTime());
+        }
+        return index;
+    }
+
+    public boolean isRoomFree(Integer roomId, String dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        conflictChecks.increment();
+        return isFree(roomBits, roomId, dayOfWeek, startTime, endTime);
+    }
+
+    public boolean isProfessorFree(Integer professorId, String dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        conflictChecks.increment();
+        return isFree(professorBits, professorId, dayOfWeek, startTime, endTime);
+    }
+
+    // Free intervals of at least minMinutes within [from, to) of the given day, in time order.
+    public List<FreeWindow> findFreeRoomWindows(Integer roomId, String dayOfWeek, LocalTime from, LocalTime to, int minMinutes) {
+        return findFreeWindows(roomBits, roomId, dayOfWeek, from, to, minMinutes);
+    }
+
+    public List<FreeWindow> findFreeProfessorWindows(Integer professorId, String dayOfWeek, LocalTime from, LocalTime to, int minMinutes) {
+        return findFreeWindows(professorBits, professorId, dayOfWeek, from, to, minMinutes);
+    }
+
+    public void occupy(Integer roomId, Integer professorId, String dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        setRange(roomBits, roomId, dayOfWeek, startTime, endTime, true);
+        setRange(professorBits, professorId, dayOfWeek, startTime, endTime, true);
+    }
+
+    // Frees a previously occupied interval. Only valid for intervals that were occupied as a whole,
+    // since bitmaps do not remember which schedule set a given bit.
+    public void release(Integer roomId, Integer professorId, String dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        setRange(roomBits, roomId, dayOfWeek, startTime, endTime, false);
+        setRange(professorBits, professorId, dayOfWeek, startTime, endTime, false);
+    }
+
+    // isRoomFree/isProfessorFree calls on this index and all its copies.
+    public long getConflictChecks() {
+        return conflictChecks.sum();
+    }
+
+    public OccupancyIndex copy() {
+        OccupancyIndex copy = new OccupancyIndex(conflictChecks);
+        deepCopy(roomBits, copy.roomBits);
+        deepCopy(professorBits, copy.professorBits);
+        return copy;
+    }
+
+    private static boolean isFree(Map<Integer, Map<String, long[]>> bits, Integer resourceId, String dayOfWeek,
+                                  LocalTime startTime, LocalTime endTime) {
+        if (!isValidInterval(startTime, endTime)) {
+            return false;
+        }
+        Map<String, long[]> days = bits.get(resourceId);
+        if (days == null) {
+            return true;
+        }
+        long[] words = days.get(dayOfWeek);
+        if (words == null) {
+            return true;
+        }
+        int from = toMinute(startTime);
+        int to = toEndMinute(endTime);
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            if ((words[word] & mask(word, from, to)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Walks the day's bitmap from one occupied/free boundary to the next, a word at a time.
+    private static List<FreeWindow> findFreeWindows(Map<Integer, Map<String, long[]>> bits, Integer resourceId, String dayOfWeek,
+                                                    LocalTime from, LocalTime to, int minMinutes) {
+        List<FreeWindow> windows = new ArrayList<>();
+        if (!isValidInterval(from, to)) {
+            return windows;
+        }
+        int start = toMinute(from);
+        int end = toEndMinute(to);
+        Map<String, long[]> days = bits.get(resourceId);
+        long[] words = days == null ? null : days.get(dayOfWeek);
+        if (words == null) {
+            if (end - start >= minMinutes) {
+                windows.add(new FreeWindow(start, end));
+            }
+            return windows;
+        }
+        int minute = start;
+        while (minute < end) {
+            int freeStart = nextMinute(words, minute, end, false);
+            if (freeStart >= end) {
+                break;
+            }
+            int freeEnd = nextMinute(words, freeStart, end, true);
+            if (freeEnd - freeStart >= minMinutes) {
+                windows.add(new FreeWindow(freeStart, freeEnd));
+            }
+            minute = freeEnd;
+        }
+        return windows;
+    }
+
+    // First minute in [from, to) whose bit is set (occupied) or clear (free); to if there is none.
+    private static int nextMinute(long[] words, int from, int to, boolean occupied) {
+        for (int word = from >>> 6; (word << 6) < to; word++) {
+            long candidates = occupied ? words[word] : ~words[word];
+            if (word == from >>> 6) {
+                candidates &= -1L << (from & 63);
+            }
+            if (candidates != 0) {
+                return Math.min(to, (word << 6) + Long.numberOfTrailingZeros(candidates));
+            }
+        }
+        return to;
+    }
+
+    private static void setRange(Map<Integer, Map<String, long[]>> bits, Integer resourceId, String dayOfWeek,
+                                 LocalTime startTime, LocalTime endTime, boolean occupied) {
+        if (resourceId == null || dayOfWeek == null || !isValidInterval(startTime, endTime)) {
+            return;
+        }
+        long[] words = bits.computeIfAbsent(resourceId, id -> new HashMap<>())
+                .computeIfAbsent(dayOfWeek, day -> new long[WORDS_PER_DAY]);
+        int from = toMinute(startTime);
+        int to = toEndMinute(endTime);
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            if (occupied) {
+                words[word] |= mask(word, from, to);
+            } else {
+                words[word] &= ~mask(word, from, to);
+            }
+        }
+    }
+
+    // Bits of the given word that fall inside [from, to).
+    private static long mask(int word, int from, int to) {
+        int wordStart = word << 6;
+        int lo = Math.max(from, wordStart) - wordStart;
+        int hi = Math.min(to, wordStart + Long.SIZE) - wordStart;
+        long upper = hi == Long.SIZE ? -1L : (1L << hi) - 1;
+        long lower = (1L << lo) - 1;
+        return upper & ~lower;
+    }
+
+    private static boolean isValidInterval(LocalTime startTime, LocalTime endTime) {
+        return startTime != null && endTime != null && endTime.isAfter(startTime);
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalTime toTime(int minute) {
+        return minute >= MINUTES_PER_DAY ? LocalTime.MAX : LocalTime.of(minute / 60, minute % 60);
+    }
+
+    // End times with a seconds part still cover the minute they end in.
+    private static int toEndMinute(LocalTime time) {
+        int minute = toMinute(time);
+        return (time.getSecond() > 0 || time.getNano() > 0) ? minute + 1 : minute;
+    }
+
+    private static void deepCopy(Map<Integer, Map<String, long[]>> source, Map<Integer, Map<String, long[]>> target) {
+        for (Map.Entry<Integer, Map<String, long[]>> resource : source.entrySet()) {
+            Map<String, long[]> days = new HashMap<>();
+            for (Map.Entry<String, long[]> day : resource.getValue().entrySet()) {
+                days.put(day.getKey(), day.getValue().clone());
+            }
+            target.put(resource.getKey(), days);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.javaproj.services;
 
 import com.javaproj.db.Professor;
 import com.javaproj.db.ProfessorRepository;
+import com.javaproj.dto.KeysetPage;
+import com.javaproj.config.CacheConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.javaproj.exceptions.ResourceNotFoundException;
@@ -21,6 +24,7 @@ public class ProfessorService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROFESSORS, key = "#result.professorId")
     public Professor createProfessor(Professor professor) {
         return professorRepository.save(professor);
     }
@@ -30,6 +34,15 @@ public class ProfessorService {
         return professorRepository.findAll();
     }
 
+    // One keyset page of professors, ordered by id. The count query only runs when includeTotal is set.
+    @Transactional(readOnly = true)
+    public KeysetPage<Professor> getProfessorPage(String department, Integer after, Integer limit, boolean includeTotal) {
+        int pageSize = KeysetPage.normalizeLimit(limit);
+        List<Professor> rows = professorRepository.findPage(KeysetPage.normalizeAfter(after), department, KeysetPage.fetchOneMore(pageSize));
+        Long total = includeTotal ? professorRepository.countFiltered(department) : null;
+        return KeysetPage.of(rows, pageSize, Professor::getProfessorId, total);
+    }
+
     @Transactional(readOnly = true)
     public Optional<Professor> getProfessorById(Integer professorId) {
         return professorRepository.findById(professorId);
@@ -41,6 +54,7 @@ public class ProfessorService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROFESSORS, key = "#professorId")
     public Professor updateProfessor(Integer professorId, Professor professorDetails) {
         Professor professor = professorRepository.findById(professorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Professor not found with id: " + professorId));
@@ -55,6 +69,7 @@ public class ProfessorService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PROFESSORS, key = "#professorId")
     public void deleteProfessor(Integer professorId) {
         Professor professor = professorRepository.findById(professorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Professor not found with id: " + professorId));
@@ -0,0 +1,141 @@
+package com.javaproj.services;
+
+import com.javaproj.config.CacheConfig;
+import com.javaproj.config.EvictionCountingCache;
+import com.javaproj.db.Classroom;
+import com.javaproj.db.ClassroomRepository;
+import com.javaproj.db.Course;
+import com.javaproj.db.CourseRepository;
+import com.javaproj.db.Professor;
+import com.javaproj.db.ProfessorRepository;
+import com.javaproj.db.ReplicaRoutingDataSource;
+import com.javaproj.dto.ClassroomDTO;
+import com.javaproj.dto.CourseDTO;
+import com.javaproj.dto.ProfessorDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Read-through cache of the course, professor and classroom summaries that schedule requests need
+// (existence checks, conflict messages, response DTOs). Values are DTOs rather than entities, so a cached
+// value never carries a detached persistence context or lazy collection. They are shared between requests
+// and must not be modified.
+// Missing ids are not cached. CourseService, ProfessorService and ClassroomService evict an entry when
+// they create, update or delete the row. A miss is read in onPrimary, so an eviction is not followed by a reload
+// of the old row from a lagging replica. That only holds if the miss takes the connection: outside a transaction,
+// or as the first statement of the caller's transaction (which then stays on the primary). A read-only transaction
+// that has already read something holds a replica connection and the miss is read there; callers look up
+// reference data before their other reads (e.g. EnrollmentService.getEnrollmentsByStudentIdAndCourseId).
+@Service
+public class ReferenceDataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final CourseRepository courseRepository;
+    private final ProfessorRepository professorRepository;
+    private final ClassroomRepository classroomRepository;
+    private final CacheManager cacheManager;
+    private final boolean warmUp;
+
+    @Autowired
+    public ReferenceDataCache(CourseRepository courseRepository,
+                              ProfessorRepository professorRepository,
+                              ClassroomRepository classroomRepository,
+                              CacheManager cacheManager,
+                              @Value("${reference-cache.warm-up:false}") boolean warmUp) {
+        this.courseRepository = courseRepository;
+        this.professorRepository = professorRepository;
+        this.classroomRepository = classroomRepository;
+        this.cacheManager = cacheManager;
+        this.warmUp = warmUp;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.COURSES, unless = "#result == null")
+    public Optional<CourseDTO> getCourse(Integer courseId) {
+        return ReplicaRoutingDataSource.onPrimary(() -> courseRepository.findById(courseId)).map(ReferenceDataCache::toDTO);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PROFESSORS, unless = "#result == null")
+    public Optional<ProfessorDTO> getProfessor(Integer professorId) {
+        return ReplicaRoutingDataSource.onPrimary(() -> professorRepository.findById(professorId)).map(ReferenceDataCache::toDTO);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CLASSROOMS, unless = "#result == null")
+    public Optional<ClassroomDTO> getClassroom(Integer roomId) {
+        return ReplicaRoutingDataSource.onPrimary(() -> classroomRepository.findById(roomId)).map(ReferenceDataCache::toDTO);
+    }
+
+    // With reference-cache.warm-up=true, loads every course, professor and classroom once the application is
+    // ready, so the first schedule requests after a deploy do not each miss. The three tables are read in
+    // parallel on their own threads; start-up does not wait for them. Tables larger than
+    // reference-cache.maximum-size only partly stay in the cache. A row read before an update committed must not
+    // be cached after that update's eviction, so a table's warm-up stops at the first eviction of its cache since
+    // the read; the rows not cached by then are loaded on their first miss.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!warmUp) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        fillAll().whenComplete((ignored, error) -> {
+            if (error != null) {
+                log.warn("Reference cache warm-up failed", error);
+            } else {
+                log.info("Reference cache warmed up in {} ms", (System.nanoTime() - startedAt) / 1_000_000);
+            }
+        });
+    }
+
+    // Package-private for ReferenceDataCacheTest.
+    CompletableFuture<Void> fillAll() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("reference-cache-warm-up-");
+        return CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> fill(CacheConfig.COURSES, courseRepository::findAll, Course::getCourseId, ReferenceDataCache::toDTO), executor),
+                CompletableFuture.runAsync(() -> fill(CacheConfig.PROFESSORS, professorRepository::findAll, Professor::getProfessorId, ReferenceDataCache::toDTO), executor),
+                CompletableFuture.runAsync(() -> fill(CacheConfig.CLASSROOMS, classroomRepository::findAll, Classroom::getRoomId, ReferenceDataCache::toDTO), executor));
+    }
+
+    // Values are stored as the @Cacheable methods store them: the DTO, without the Optional.
+    private <E> void fill(String cacheName, Supplier<List<E>> rows, Function<E, Integer> id, Function<E, Object> toDTO) {
+        Cache cache = cacheManager.getCache(cacheName);
+        long evictionsBeforeRead = EvictionCountingCache.evictions(cache);
+        for (E row : ReplicaRoutingDataSource.onPrimary(rows)) {
+            if (EvictionCountingCache.evictions(cache) != evictionsBeforeRead) {
+                return;
+            }
+            Integer key = id.apply(row);
+            cache.putIfAbsent(key, toDTO.apply(row));
+            // An eviction between the check and the put may have been for this row.
+            if (EvictionCountingCache.evictions(cache) != evictionsBeforeRead) {
+                cache.evict(key);
+                return;
+            }
+        }
+    }
+
+    private static CourseDTO toDTO(Course course) {
+        return new CourseDTO(course.getCourseId(), course.getCourseCode(), course.getCourseName());
+    }
+
+    private static ProfessorDTO toDTO(Professor professor) {
+        return new ProfessorDTO(professor.getProfessorId(), professor.getFirstName(), professor.getLastName());
+    }
+
+    private static ClassroomDTO toDTO(Classroom classroom) {
+        return new ClassroomDTO(classroom.getRoomId(), classroom.getRoomNumber(), classroom.getCapacity());
+    }
+}
@@ -0,0 +1,105 @@
+package com.javaproj.services;
+
+import com.javaproj.dto.ScheduleGenerationRequest;
+import com.javaproj.dto.ScheduleResponseDTO;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Future;
+
+// A generation submitted through ScheduleGenerationJobService. State changes are synchronized so a
+// cancellation and the worker finishing cannot both win.
+public class ScheduleGenerationJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        CANCELLED
+    }
+
+    private final String jobId;
+    private final ScheduleGenerationRequest request;
+    private final SchedulingProgress progress = new SchedulingProgress();
+    private final Instant submittedAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String message;
+    private volatile List<ScheduleResponseDTO> schedules;
+    private volatile Future<?> future;
+
+    public ScheduleGenerationJob(String jobId, ScheduleGenerationRequest request) {
+        this.jobId = jobId;
+        this.request = request;
+    }
+
+    public String getJobId() { return jobId; }
+    public ScheduleGenerationRequest getRequest() { return request; }
+    public SchedulingProgress getProgress() { return progress; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public Status getStatus() { return status; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public String getMessage() { return message; }
+    public List<ScheduleResponseDTO> getSchedules() { return schedules; }
+    public Future<?> getFuture() { return future; }
+    public void setFuture(Future<?> future) { this.future = future; }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED || status == Status.CANCELLED;
+    }
+
+    public synchronized boolean markRunning() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        status = Status.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    public synchronized void complete(List<ScheduleResponseDTO> generatedSchedules) {
+        if (isFinished()) {
+            return;
+        }
+        schedules = generatedSchedules;
+        if (generatedSchedules.isEmpty() && !request.getCourseIds().isEmpty()) {
+            message = "Could not schedule any of the requested courses with the given constraints.";
+        }
+        finish(Status.COMPLETED);
+    }
+
+    public synchronized void fail(String errorMessage) {
+        if (isFinished()) {
+            return;
+        }
+        message = errorMessage;
+        finish(Status.FAILED);
+    }
+
+    // Cancels the job if it has not started. A running job is not finished here: it stops at the engine's next
+    // checkpoint, and whether it saved anything decides its final status.
+    public synchronized boolean cancelIfQueued() {
+        if (status != Status.QUEUED) {
+            return false;
+        }
+        cancel();
+        return true;
+    }
+
+    public synchronized void cancel() {
+        if (isFinished()) {
+            return;
+        }
+        message = "Schedule generation was cancelled.";
+        finish(Status.CANCELLED);
+    }
+
+    private void finish(Status finalStatus) {
+        status = finalStatus;
+        finishedAt = Instant.now();
+    }
+}
@@ -0,0 +1,117 @@
+package com.javaproj.services;
+
+import com.javaproj.dto.ScheduleGenerationJobDTO;
+import com.javaproj.dto.ScheduleGenerationRequest;
+import com.javaproj.exceptions.ResourceNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Runs ScheduleService.generateAutomaticSchedule in the background on the bounded
+// scheduleGenerationExecutor. Jobs are kept in memory until they have been finished for longer
+// than the configured retention.
+@Service
+public class ScheduleGenerationJobService {
+
+    private final ScheduleService scheduleService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration retention;
+    private final Map<String, ScheduleGenerationJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ScheduleGenerationJobService(ScheduleService scheduleService,
+                                        @Qualifier("scheduleGenerationExecutor") ThreadPoolTaskExecutor executor,
+                                        @Value("${scheduler.generation.job-retention-minutes:60}") long retentionMinutes) {
+        this.scheduleService = scheduleService;
+        this.executor = executor;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    // Throws IllegalArgumentException for unsupported strategies or settings (e.g. workers) and TaskRejectedException
+    // when the queue is full.
+    public ScheduleGenerationJobDTO submit(ScheduleGenerationRequest request) {
+        scheduleService.getSchedulingEngine(request);
+        evictExpiredJobs();
+
+        ScheduleGenerationJob job = new ScheduleGenerationJob(UUID.randomUUID().toString(), request);
+        jobs.put(job.getJobId(), job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RuntimeException e) {
+            jobs.remove(job.getJobId());
+            throw e;
+        }
+        return convertToDTO(job);
+    }
+
+    public Optional<ScheduleGenerationJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(this::convertToDTO);
+    }
+
+    // Queued jobs are cancelled immediately. Running jobs stop at the engine's next checkpoint and stay RUNNING
+    // until then: they end CANCELLED with nothing saved, or COMPLETED if the cancellation came after the save
+    // had started.
+    public Optional<ScheduleGenerationJobDTO> cancel(String jobId) {
+        ScheduleGenerationJob job = jobs.get(jobId);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.getProgress().cancel();
+        if (job.cancelIfQueued() && job.getFuture() != null) {
+            job.getFuture().cancel(false);
+        }
+        return Optional.of(convertToDTO(job));
+    }
+
+    private void run(ScheduleGenerationJob job) {
+        if (!job.markRunning()) {
+            return; // cancelled while queued
+        }
+        if (job.getProgress().isCancelled()) {
+            job.cancel();
+            return;
+        }
+        try {
+            job.complete(scheduleService.generateAutomaticSchedule(job.getRequest(), job.getProgress()));
+        } catch (CancellationException e) {
+            job.cancel();
+        } catch (ResourceNotFoundException | IllegalArgumentException e) {
+            job.fail(e.getMessage());
+        } catch (Exception e) {
+            job.fail("An unexpected error occurred during schedule generation: " + e.getMessage());
+        }
+    }
+
+    private void evictExpiredJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private ScheduleGenerationJobDTO convertToDTO(ScheduleGenerationJob job) {
+        SchedulingProgress progress = job.getProgress();
+        return new ScheduleGenerationJobDTO(
+                job.getJobId(),
+                job.getStatus().name(),
+                job.getRequest().getStrategy() != null ? job.getRequest().getStrategy().name() : null,
+                progress.getCoursesTotal(),
+                progress.getCoursesPlaced(),
+                progress.getCoursesRemaining(),
+                progress.getBestScore(),
+                job.getMessage(),
+                job.getSubmittedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getStatus() == ScheduleGenerationJob.Status.COMPLETED ? job.getSchedules() : null
+        );
+    }
+}
@@ -0,0 +1,17 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Schedule;
+
+import java.util.List;
+
+// Scores a (possibly partial) generated timetable. Lower is better.
+// Engines that produce several candidate timetables use it to pick the one they return.
+public interface ScheduleObjective {
+
+    double evaluate(List<Schedule> placements, SchedulingProblem problem);
+
+    // Default objective: place as many of the requested courses as possible.
+    static ScheduleObjective unplacedCourses() {
+        return (placements, problem) -> problem.getCourses().size() - placements.size();
+    }
+}
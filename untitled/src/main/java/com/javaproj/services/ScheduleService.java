@@ -3,37 +3,77 @@ package com.javaproj.services;
 import com.javaproj.db.*;
 import com.javaproj.dto.ClassroomDTO; // Import DTOs
 import com.javaproj.dto.CourseDTO;
+import com.javaproj.dto.KeysetPage;
 import com.javaproj.dto.ProfessorDTO;
 import com.javaproj.dto.ScheduleResponseDTO;
 import com.javaproj.exceptions.ResourceNotFoundException;
 import com.javaproj.dto.ScheduleGenerationRequest; // Assuming this was created earlier
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ScheduleService {
 
+    private static final Logger log = LoggerFactory.getLogger(ScheduleService.class);
+
     private final ScheduleRepository scheduleRepository;
     private final CourseRepository courseRepository;
     private final ProfessorRepository professorRepository;
     private final ClassroomRepository classroomRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final TimetableService timetableService;
+    private final BatchWriter batchWriter;
+    private final Map<ScheduleGenerationRequest.Strategy, SchedulingEngine> schedulingEngines;
+    private final SchedulerMetrics schedulerMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
     @Autowired
     public ScheduleService(ScheduleRepository scheduleRepository,
                            CourseRepository courseRepository,
                            ProfessorRepository professorRepository,
-                           ClassroomRepository classroomRepository) {
+                           ClassroomRepository classroomRepository,
+                           ReferenceDataCache referenceDataCache,
+                           TimetableService timetableService,
+                           BatchWriter batchWriter,
+                           List<SchedulingEngine> schedulingEngines,
+                           SchedulerMetrics schedulerMetrics,
+                           PlatformTransactionManager transactionManager) {
         this.scheduleRepository = scheduleRepository;
         this.courseRepository = courseRepository;
         this.professorRepository = professorRepository;
         this.classroomRepository = classroomRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.timetableService = timetableService;
+        this.batchWriter = batchWriter;
+        this.schedulingEngines = new EnumMap<>(ScheduleGenerationRequest.Strategy.class);
+        for (SchedulingEngine engine : schedulingEngines) {
+            this.schedulingEngines.put(engine.getStrategy(), engine);
+        }
+        this.schedulerMetrics = schedulerMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     // Existing ScheduleRequest static class remains the same...
@@ -67,8 +107,54 @@ public class ScheduleService {
         public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
     }
 
-    // Convert entity to DTO
-    private ScheduleResponseDTO convertToDTO(Schedule schedule) {
+    // Optional filters of the paged schedule listing, bound from query parameters. All set filters must match.
+    public static class ScheduleFilter {
+        public Integer courseId;
+        public Integer professorId;
+        public Integer classroomId;
+        public String semester;
+        public String academicYear;
+        public String department;
+        public String building;
+
+        public ScheduleFilter() {}
+
+        public Integer getCourseId() { return courseId; }
+        public void setCourseId(Integer courseId) { this.courseId = courseId; }
+        public Integer getProfessorId() { return professorId; }
+        public void setProfessorId(Integer professorId) { this.professorId = professorId; }
+        public Integer getClassroomId() { return classroomId; }
+        public void setClassroomId(Integer classroomId) { this.classroomId = classroomId; }
+        public String getSemester() { return semester; }
+        public void setSemester(String semester) { this.semester = semester; }
+        public String getAcademicYear() { return academicYear; }
+        public void setAcademicYear(String academicYear) { this.academicYear = academicYear; }
+        public String getDepartment() { return department; }
+        public void setDepartment(String department) { this.department = department; }
+        public String getBuilding() { return building; }
+        public void setBuilding(String building) { this.building = building; }
+
+        // Filters that only exist in paged mode; the id filters also work on the plain list, one at a time.
+        public boolean hasTermOrLocationFilter() {
+            return semester != null || academicYear != null || department != null || building != null;
+        }
+
+        // Only the paged query combines id filters.
+        public boolean hasSeveralIdFilters() {
+            return (courseId != null ? 1 : 0) + (professorId != null ? 1 : 0) + (classroomId != null ? 1 : 0) > 1;
+        }
+    }
+
+    // For a schedule whose associations are references: the details come from the cached DTOs, so the
+    // references are never initialised.
+    private ScheduleResponseDTO convertToDTO(Schedule schedule, CourseDTO course, ProfessorDTO professor, ClassroomDTO classroom) {
+        return new ScheduleResponseDTO(schedule.getScheduleId(), course, professor, classroom,
+                schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime(),
+                schedule.getSemester(), schedule.getAcademicYear());
+    }
+
+    // Convert entity to DTO. Package-private for MappingBenchmark (benchmarks module).
+    ScheduleResponseDTO convertToDTO(Schedule schedule) {
         if (schedule == null) {
             return null;
         }
@@ -100,13 +186,15 @@ public class ScheduleService {
         );
     }
 
+    // Course, professor and classroom come from ReferenceDataCache; the new schedule only needs references
+    // to them, so a warm cache leaves the two conflict queries and the insert as the only statements.
     @Transactional
     public ScheduleResponseDTO createSchedule(ScheduleRequest scheduleRequest) {
-        Course course = courseRepository.findById(scheduleRequest.courseId)
+        CourseDTO course = referenceDataCache.getCourse(scheduleRequest.courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + scheduleRequest.courseId));
-        Professor professor = professorRepository.findById(scheduleRequest.professorId)
+        ProfessorDTO professor = referenceDataCache.getProfessor(scheduleRequest.professorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Professor not found with id: " + scheduleRequest.professorId));
-        Classroom classroom = classroomRepository.findById(scheduleRequest.classroomId)
+        ClassroomDTO classroom = referenceDataCache.getClassroom(scheduleRequest.classroomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Classroom not found with id: " + scheduleRequest.classroomId));
 
         if (scheduleRequest.endTime.isBefore(scheduleRequest.startTime) || scheduleRequest.endTime.equals(scheduleRequest.startTime)) {
@@ -130,9 +218,9 @@ public class ScheduleService {
         }
 
         Schedule schedule = new Schedule();
-        schedule.setCourse(course);
-        schedule.setProfessor(professor);
-        schedule.setClassroom(classroom);
+        schedule.setCourse(courseRepository.getReferenceById(course.getCourseId()));
+        schedule.setProfessor(professorRepository.getReferenceById(professor.getProfessorId()));
+        schedule.setClassroom(classroomRepository.getReferenceById(classroom.getRoomId()));
         schedule.setDayOfWeek(scheduleRequest.dayOfWeek);
         schedule.setStartTime(scheduleRequest.startTime);
         schedule.setEndTime(scheduleRequest.endTime);
@@ -140,45 +228,111 @@ public class ScheduleService {
         schedule.setAcademicYear(scheduleRequest.academicYear);
 
         Schedule savedSchedule = scheduleRepository.save(schedule);
-        return convertToDTO(savedSchedule); // Convert to DTO before returning
+        return convertToDTO(savedSchedule, course, professor, classroom);
     }
 
-    @Transactional(readOnly = true)
-    public List<ScheduleResponseDTO> getAllSchedules() {
-        return scheduleRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Bulk import. Every row is validated (references, times, conflicts with the term and with earlier rows
+    // of the same import) before anything is written; the rows are then inserted in JDBC batches.
+    // All-or-nothing: the first invalid row aborts the import.
+    @Transactional
+    public List<ScheduleResponseDTO> createSchedules(List<ScheduleRequest> scheduleRequests) {
+        Map<Integer, Course> courses = courseRepository.findAllById(
+                scheduleRequests.stream().map(r -> r.courseId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Course::getCourseId, Function.identity()));
+        Map<Integer, Professor> professors = professorRepository.findAllById(
+                scheduleRequests.stream().map(r -> r.professorId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Professor::getProfessorId, Function.identity()));
+        Map<Integer, Classroom> classrooms = classroomRepository.findAllById(
+                scheduleRequests.stream().map(r -> r.classroomId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Classroom::getRoomId, Function.identity()));
+
+        Map<String, OccupancyIndex> occupancyByTerm = new HashMap<>();
+        List<Schedule> schedules = new ArrayList<>(scheduleRequests.size());
+        for (ScheduleRequest scheduleRequest : scheduleRequests) {
+            Course course = courses.get(scheduleRequest.courseId);
+            if (course == null) {
+                throw new ResourceNotFoundException("Course not found with id: " + scheduleRequest.courseId);
+            }
+            Professor professor = professors.get(scheduleRequest.professorId);
+            if (professor == null) {
+                throw new ResourceNotFoundException("Professor not found with id: " + scheduleRequest.professorId);
+            }
+            Classroom classroom = classrooms.get(scheduleRequest.classroomId);
+            if (classroom == null) {
+                throw new ResourceNotFoundException("Classroom not found with id: " + scheduleRequest.classroomId);
+            }
+            if (scheduleRequest.endTime.isBefore(scheduleRequest.startTime) || scheduleRequest.endTime.equals(scheduleRequest.startTime)) {
+                throw new IllegalArgumentException("End time must be after start time.");
+            }
+
+            OccupancyIndex occupancy = occupancyByTerm.computeIfAbsent(
+                    scheduleRequest.semester + "|" + scheduleRequest.academicYear,
+                    term -> OccupancyIndex.fromSlots(scheduleRepository.findSlotsBySemesterAndAcademicYear(
+                            scheduleRequest.semester, scheduleRequest.academicYear)));
+            if (!occupancy.isRoomFree(classroom.getRoomId(), scheduleRequest.dayOfWeek, scheduleRequest.startTime, scheduleRequest.endTime)) {
+                throw new IllegalStateException("Room conflict detected for classroom " + classroom.getRoomNumber() + " at the given time slot.");
+            }
+            if (!occupancy.isProfessorFree(professor.getProfessorId(), scheduleRequest.dayOfWeek, scheduleRequest.startTime, scheduleRequest.endTime)) {
+                throw new IllegalStateException("Professor " + professor.getFirstName() + " " + professor.getLastName() + " conflict detected for the given time slot.");
+            }
+            occupancy.occupy(classroom.getRoomId(), professor.getProfessorId(), scheduleRequest.dayOfWeek, scheduleRequest.startTime, scheduleRequest.endTime);
+
+            Schedule schedule = new Schedule();
+            schedule.setCourse(course);
+            schedule.setProfessor(professor);
+            schedule.setClassroom(classroom);
+            schedule.setDayOfWeek(scheduleRequest.dayOfWeek);
+            schedule.setStartTime(scheduleRequest.startTime);
+            schedule.setEndTime(scheduleRequest.endTime);
+            schedule.setSemester(scheduleRequest.semester);
+            schedule.setAcademicYear(scheduleRequest.academicYear);
+            schedules.add(schedule);
+        }
+
+        return batchWriter.persistAll(schedules).stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
+    // One keyset page of schedules, ordered by id. The count query only runs when includeTotal is set.
     @Transactional(readOnly = true)
-    public Optional<ScheduleResponseDTO> getScheduleById(Integer scheduleId) {
-        return scheduleRepository.findById(scheduleId).map(this::convertToDTO);
+    public KeysetPage<ScheduleResponseDTO> getSchedulePage(ScheduleFilter filter, Integer after, Integer limit, boolean includeTotal) {
+        int pageSize = KeysetPage.normalizeLimit(limit);
+        List<ScheduleResponseDTO> rows = scheduleRepository.findResponsePage(KeysetPage.normalizeAfter(after),
+                filter.courseId, filter.professorId, filter.classroomId, filter.semester, filter.academicYear,
+                filter.department, filter.building, KeysetPage.fetchOneMore(pageSize));
+        Long total = includeTotal
+                ? scheduleRepository.countFiltered(filter.courseId, filter.professorId, filter.classroomId,
+                        filter.semester, filter.academicYear, filter.department, filter.building)
+                : null;
+        return KeysetPage.of(rows, pageSize, ScheduleResponseDTO::getScheduleId, total);
     }
 
-    // Method to convert list of Schedule entities to list of ScheduleResponseDTOs
-    private List<ScheduleResponseDTO> convertToDTOList(List<Schedule> schedules) {
-        return schedules.stream().map(this::convertToDTO).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public Optional<ScheduleResponseDTO> getScheduleById(Integer scheduleId) {
+        return scheduleRepository.findResponseById(scheduleId);
     }
 
     @Transactional(readOnly = true)
     public List<ScheduleResponseDTO> getSchedulesByCourseId(Integer courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
-        return convertToDTOList(scheduleRepository.findByCourse(course));
+        if (referenceDataCache.getCourse(courseId).isEmpty()) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+        return scheduleRepository.findResponsesByCourseId(courseId);
     }
 
     @Transactional(readOnly = true)
     public List<ScheduleResponseDTO> getSchedulesByProfessorId(Integer professorId) {
-        Professor professor = professorRepository.findById(professorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Professor not found with id: " + professorId));
-        return convertToDTOList(scheduleRepository.findByProfessor(professor));
+        if (referenceDataCache.getProfessor(professorId).isEmpty()) {
+            throw new ResourceNotFoundException("Professor not found with id: " + professorId);
+        }
+        return scheduleRepository.findResponsesByProfessorId(professorId);
     }
 
     @Transactional(readOnly = true)
     public List<ScheduleResponseDTO> getSchedulesByClassroomId(Integer classroomId) {
-        Classroom classroom = classroomRepository.findById(classroomId)
-                .orElseThrow(() -> new ResourceNotFoundException("Classroom not found with id: " + classroomId));
-        return convertToDTOList(scheduleRepository.findByClassroom(classroom));
+        if (referenceDataCache.getClassroom(classroomId).isEmpty()) {
+            throw new ResourceNotFoundException("Classroom not found with id: " + classroomId);
+        }
+        return scheduleRepository.findResponsesByClassroomId(classroomId);
     }
 
     // findRoomConflicts and findProfessorConflicts can still return List<Schedule>
@@ -205,11 +359,11 @@ public class ScheduleService {
     public ScheduleResponseDTO updateSchedule(Integer scheduleId, ScheduleRequest scheduleRequestDetails) {
         Schedule schedule = scheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + scheduleId));
-        Course course = courseRepository.findById(scheduleRequestDetails.courseId)
+        CourseDTO course = referenceDataCache.getCourse(scheduleRequestDetails.courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + scheduleRequestDetails.courseId));
-        Professor professor = professorRepository.findById(scheduleRequestDetails.professorId)
+        ProfessorDTO professor = referenceDataCache.getProfessor(scheduleRequestDetails.professorId)
                 .orElseThrow(() -> new ResourceNotFoundException("Professor not found with id: " + scheduleRequestDetails.professorId));
-        Classroom classroom = classroomRepository.findById(scheduleRequestDetails.classroomId)
+        ClassroomDTO classroom = referenceDataCache.getClassroom(scheduleRequestDetails.classroomId)
                 .orElseThrow(() -> new ResourceNotFoundException("Classroom not found with id: " + scheduleRequestDetails.classroomId));
 
         if (scheduleRequestDetails.endTime.isBefore(scheduleRequestDetails.startTime) || scheduleRequestDetails.endTime.equals(scheduleRequestDetails.startTime)) {
@@ -235,9 +389,9 @@ public class ScheduleService {
             throw new IllegalStateException("Professor " + professor.getFirstName() + " " + professor.getLastName() + " conflict detected for the updated time slot.");
         }
 
-        schedule.setCourse(course);
-        schedule.setProfessor(professor);
-        schedule.setClassroom(classroom);
+        schedule.setCourse(courseRepository.getReferenceById(course.getCourseId()));
+        schedule.setProfessor(professorRepository.getReferenceById(professor.getProfessorId()));
+        schedule.setClassroom(classroomRepository.getReferenceById(classroom.getRoomId()));
         schedule.setDayOfWeek(scheduleRequestDetails.dayOfWeek);
         schedule.setStartTime(scheduleRequestDetails.startTime);
         schedule.setEndTime(scheduleRequestDetails.endTime);
@@ -245,7 +399,8 @@ public class ScheduleService {
         schedule.setAcademicYear(scheduleRequestDetails.academicYear);
 
         Schedule updatedSchedule = scheduleRepository.save(schedule);
-        return convertToDTO(updatedSchedule); // dto
+        timetableService.scheduleChangedAfterCommit(scheduleId);
+        return convertToDTO(updatedSchedule, course, professor, classroom);
     }
 
     @Transactional
@@ -253,76 +408,127 @@ public class ScheduleService {
         Schedule schedule = scheduleRepository.findById(scheduleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + scheduleId));
         scheduleRepository.delete(schedule);
+        timetableService.scheduleChangedAfterCommit(scheduleId);
     }
 
-    @Transactional
+    // Not @Transactional: generation may run for the whole time budget, so the database is only
+    // touched in two short transactions, one to load the term and one to save the result.
     public List<ScheduleResponseDTO> generateAutomaticSchedule(ScheduleGenerationRequest request) {
-        List<Schedule> generatedSchedulesInternal = new ArrayList<>();
-        List<Course> coursesToSchedule = new ArrayList<>();
-        for (Integer courseId : request.getCourseIds()) {
-            coursesToSchedule.add(courseRepository.findById(courseId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId)));
+        return generateAutomaticSchedule(request, new SchedulingProgress());
+    }
+
+    public List<ScheduleResponseDTO> generateAutomaticSchedule(ScheduleGenerationRequest request, SchedulingProgress progress) {
+        SchedulingEngine engine = getSchedulingEngine(request);
+        String strategy = engine.getStrategy().name().toLowerCase(Locale.ROOT);
+        long startedAt = System.nanoTime();
+        String outcome = "error";
+        try {
+            SchedulingProblem problem = readOnlyTransactionTemplate.execute(status -> loadSchedulingProblem(request, progress));
+            if (problem == null) {
+                outcome = "skipped";
+                return new ArrayList<>();
+            }
+
+            progress.start(problem.getCourses().size());
+            List<Schedule> placements = engine.generate(problem);
+            if (progress.isCancelled()) {
+                throw new CancellationException("Schedule generation was cancelled.");
+            }
+            List<ScheduleResponseDTO> generated = transactionTemplate.execute(status -> saveGeneratedSchedules(problem, placements, strategy));
+            outcome = "success";
+            return generated;
+        } catch (CancellationException e) {
+            outcome = "cancelled";
+            throw e;
+        } finally {
+            schedulerMetrics.recordGeneration(strategy, outcome, Duration.ofNanos(System.nanoTime() - startedAt));
         }
+    }
+
+    // Throws IllegalArgumentException for unsupported strategies and settings the engine rejects.
+    public SchedulingEngine getSchedulingEngine(ScheduleGenerationRequest request) {
+        SchedulingEngine engine = schedulingEngines.get(request.getStrategy());
+        if (engine == null) {
+            throw new IllegalArgumentException("Unsupported scheduling strategy: " + request.getStrategy());
+        }
+        engine.validate(request);
+        return engine;
+    }
+
+    private SchedulingProblem loadSchedulingProblem(ScheduleGenerationRequest request, SchedulingProgress progress) {
+        List<Course> coursesToSchedule = loadCourses(request.getCourseIds());
 
         List<Professor> allProfessors = professorRepository.findAll();
         List<Classroom> allClassrooms = classroomRepository.findAll();
+        if (allProfessors.isEmpty()) {
+            log.warn("No professors available to schedule courses for {} {}.", request.getSemester(), request.getAcademicYear());
+            return null;
+        }
 
-        for (Course course : coursesToSchedule) {
-            boolean scheduled = false;
-            List<Professor> suitableProfessors = allProfessors.stream()
-                    .filter(p -> p.getDepartment().equalsIgnoreCase(course.getDepartment()))
-                    .collect(Collectors.toList());
+        // One query for the whole term; every conflict check during generation is answered from memory.
+        OccupancyIndex occupancy = OccupancyIndex.fromSlots(
+                scheduleRepository.findSlotsBySemesterAndAcademicYear(request.getSemester(), request.getAcademicYear()));
+
+        return new SchedulingProblem(
+                coursesToSchedule, allProfessors, allClassrooms,
+                request.getDaysOfWeek(), request.getStartTimes(), Duration.ofHours(request.getDefaultDurationHours()),
+                request.getSemester(), request.getAcademicYear(), occupancy, request.getExpectedEnrollments(),
+                new SoftConstraintObjective(),
+                Duration.ofMillis(request.getTimeBudgetMillis()), request.getMaxBacktracks(), request.getWorkers(),
+                progress);
+    }
 
-            if (suitableProfessors.isEmpty()) {
-                suitableProfessors = allProfessors;
-            }
-            if (suitableProfessors.isEmpty()){
-                System.err.println("No professors available to schedule course: " + course.getCourseName());
+    // Other writers may have claimed rooms or professors while the engine was running, so placements
+    // are re-checked against the term as it is now before being saved.
+    private List<ScheduleResponseDTO> saveGeneratedSchedules(SchedulingProblem problem, List<Schedule> placements, String strategy) {
+        OccupancyIndex current = OccupancyIndex.fromSlots(
+                scheduleRepository.findSlotsBySemesterAndAcademicYear(problem.getSemester(), problem.getAcademicYear()));
+
+        List<Schedule> accepted = new ArrayList<>();
+        Set<Integer> placedCourseIds = new HashSet<>();
+        for (Schedule placement : placements) {
+            Integer roomId = placement.getClassroom().getRoomId();
+            Integer professorId = placement.getProfessor().getProfessorId();
+            if (!current.isRoomFree(roomId, placement.getDayOfWeek(), placement.getStartTime(), placement.getEndTime())
+                    || !current.isProfessorFree(professorId, placement.getDayOfWeek(), placement.getStartTime(), placement.getEndTime())) {
                 continue;
             }
+            current.occupy(roomId, professorId, placement.getDayOfWeek(), placement.getStartTime(), placement.getEndTime());
+            accepted.add(placement);
+            placedCourseIds.add(placement.getCourse().getCourseId());
+        }
+        // Last checkpoint: a job cancelled while the engine was finishing saves nothing (the exception rolls the
+        // transaction back). A cancellation after this point is too late and the job completes.
+        if (problem.getProgress().isCancelled()) {
+            throw new CancellationException("Schedule generation was cancelled.");
+        }
+        List<Schedule> generatedSchedulesInternal = batchWriter.persistAll(accepted);
 
-            for (String day : request.getDaysOfWeek()) {
-                if (scheduled) break;
-                for (LocalTime startTime : request.getStartTimes()) {
-                    if (scheduled) break;
-                    LocalTime endTime = startTime.plusHours(request.getDefaultDurationHours());
-
-                    for (Professor professor : suitableProfessors) {
-                        if (scheduled) break;
-                        List<Schedule> professorConflicts = scheduleRepository.findProfessorConflicts(
-                                professor.getProfessorId(), day, request.getSemester(), request.getAcademicYear(), startTime, endTime);
-                        if (!professorConflicts.isEmpty()) {
-                            continue;
-                        }
-
-                        for (Classroom classroom : allClassrooms) {
-                            List<Schedule> roomConflicts = scheduleRepository.findRoomConflicts(
-                                    classroom.getRoomId(), day, request.getSemester(), request.getAcademicYear(), startTime, endTime);
-                            if (!roomConflicts.isEmpty()) {
-                                continue;
-                            }
-
-                            Schedule newSchedule = new Schedule();
-                            newSchedule.setCourse(course);
-                            newSchedule.setProfessor(professor);
-                            newSchedule.setClassroom(classroom);
-                            newSchedule.setDayOfWeek(day);
-                            newSchedule.setStartTime(startTime);
-                            newSchedule.setEndTime(endTime);
-                            newSchedule.setSemester(request.getSemester());
-                            newSchedule.setAcademicYear(request.getAcademicYear());
-
-                            generatedSchedulesInternal.add(scheduleRepository.save(newSchedule));
-                            scheduled = true;
-                            break;
-                        }
-                    }
-                }
-            }
-            if (!scheduled) {
-                System.err.println("Could not schedule course: " + course.getCourseName() + " with given constraints.");
+        int unplaced = 0;
+        for (Course course : problem.getCourses()) {
+            if (!placedCourseIds.contains(course.getCourseId())) {
+                unplaced++;
+                log.warn("Could not schedule course {} ({}) with the given constraints.", course.getCourseCode(), course.getCourseName());
             }
         }
+        schedulerMetrics.recordGenerationResult(strategy, problem.getCourses().size() - unplaced, unplaced,
+                problem.getOccupancy().getConflictChecks() + current.getConflictChecks());
+        problem.getProgress().reportPlaced(generatedSchedulesInternal.size());
         return generatedSchedulesInternal.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // Loads all requested courses in one query, preserving request order and reporting the first missing id.
+    private List<Course> loadCourses(List<Integer> courseIds) {
+        Map<Integer, Course> coursesById = courseRepository.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(Course::getCourseId, Function.identity()));
+        List<Course> courses = new ArrayList<>(courseIds.size());
+        for (Integer courseId : courseIds) {
+            Course course = coursesById.get(courseId);
+            if (course == null) {
+                throw new ResourceNotFoundException("Course not found with id: " + courseId);
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+}
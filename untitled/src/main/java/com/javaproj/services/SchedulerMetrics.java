@@ -0,0 +1,105 @@
+package com.javaproj.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Locale;
+
+// Meters of the registration hot paths, published through Actuator (/actuator/metrics, /actuator/prometheus):
+// - schedule.generation: time per generation run, by strategy and outcome (success, cancelled, skipped, error)
+// - schedule.generation.courses: courses placed or left unplaced, by strategy
+// - schedule.generation.conflict.checks: room/professor availability checks made by the engine and the final
+//   re-check before saving, by strategy
+// - enrollments.created: by source (request, import, waitlist), once the inserting transaction has committed
+// - enrollments.rejected: by source and reason (duplicate, timetable_clash, schedule_full, waitlisted, ...);
+//   inserts whose transaction rolled back are counted here with reason rolled_back
+// Cache hit rates (cache.gets by name and result) and connection pool saturation (hikaricp.connections.*) are
+// published by Spring Boot itself.
+@Component
+public class SchedulerMetrics {
+
+    public static final String SOURCE_REQUEST = "request";
+    public static final String SOURCE_IMPORT = "import";
+    public static final String SOURCE_WAITLIST = "waitlist";
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SchedulerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordGeneration(String strategy, String outcome, Duration duration) {
+        Timer.builder("schedule.generation")
+                .description("Automatic schedule generation runs")
+                .tag("strategy", strategy)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(duration);
+    }
+
+    public void recordGenerationResult(String strategy, int placed, int unplaced, long conflictChecks) {
+        courses(strategy, "placed").increment(placed);
+        courses(strategy, "unplaced").increment(unplaced);
+        Counter.builder("schedule.generation.conflict.checks")
+                .description("Room and professor availability checks during schedule generation")
+                .tag("strategy", strategy)
+                .register(meterRegistry)
+                .increment(conflictChecks);
+    }
+
+    // Called when the enrollments are inserted; counted when the current transaction completes (immediately
+    // outside a transaction), so an insert that fails at flush or commit is not counted as created.
+    public void enrollmentsCreated(String source, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            created(source).increment(count);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    created(source).increment(count);
+                } else if (status == STATUS_ROLLED_BACK) {
+                    rejected(source, "rolled_back").increment(count);
+                }
+            }
+        });
+    }
+
+    public void enrollmentRejected(String source, String reason) {
+        rejected(source, reason).increment();
+    }
+
+    private Counter created(String source) {
+        return Counter.builder("enrollments.created")
+                .description("Enrollments inserted")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private Counter rejected(String source, String reason) {
+        return Counter.builder("enrollments.rejected")
+                .description("Enrollment attempts that were refused")
+                .tag("source", source)
+                .tag("reason", reason.toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+    }
+
+    private Counter courses(String strategy, String result) {
+        return Counter.builder("schedule.generation.courses")
+                .description("Courses placed or left unplaced by schedule generation")
+                .tag("strategy", strategy)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Schedule;
+import com.javaproj.dto.ScheduleGenerationRequest;
+
+import java.util.List;
+
+// Strategy used by ScheduleService.generateAutomaticSchedule to place courses.
+// Implementations work purely in memory against the problem's OccupancyIndex and return
+// new, unsaved Schedule entities; persisting them is left to the caller.
+public interface SchedulingEngine {
+
+    ScheduleGenerationRequest.Strategy getStrategy();
+
+    // Rejects request settings the engine cannot honour with IllegalArgumentException, before a job is queued.
+    default void validate(ScheduleGenerationRequest request) {
+    }
+
+    List<Schedule> generate(SchedulingProblem problem);
+}
@@ -0,0 +1,135 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.Course;
+import com.javaproj.db.Professor;
+import com.javaproj.db.Schedule;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+// Everything a SchedulingEngine needs to place a batch of courses: the courses themselves,
+// the available professors and classrooms, the allowed days/start times and the occupancy
+// of the term at the time generation started.
+public class SchedulingProblem {
+
+    private final List<Course> courses;
+    private final List<Professor> professors;
+    private final List<Classroom> classrooms;
+    private final List<String> daysOfWeek;
+    private final List<LocalTime> startTimes;
+    private final Duration sessionDuration;
+    private final String semester;
+    private final String academicYear;
+    private final OccupancyIndex occupancy;
+    private final Map<Integer, Integer> expectedEnrollments;
+    private final ScheduleObjective objective;
+    private final Duration timeBudget;
+    private final int maxBacktracks;
+    private final int workers;
+    private final SchedulingProgress progress;
+
+    public SchedulingProblem(List<Course> courses, List<Professor> professors, List<Classroom> classrooms,
+                             List<String> daysOfWeek, List<LocalTime> startTimes, Duration sessionDuration,
+                             String semester, String academicYear, OccupancyIndex occupancy,
+                             Map<Integer, Integer> expectedEnrollments,
+                             ScheduleObjective objective, Duration timeBudget, int maxBacktracks, int workers,
+                             SchedulingProgress progress) {
+        this.courses = courses;
+        this.professors = professors;
+        this.classrooms = classrooms;
+        this.daysOfWeek = daysOfWeek;
+        this.startTimes = startTimes;
+        this.sessionDuration = sessionDuration;
+        this.semester = semester;
+        this.academicYear = academicYear;
+        this.occupancy = occupancy;
+        this.expectedEnrollments = expectedEnrollments != null ? expectedEnrollments : Collections.emptyMap();
+        this.objective = objective;
+        this.timeBudget = timeBudget;
+        this.maxBacktracks = maxBacktracks;
+        this.workers = workers;
+        this.progress = progress != null ? progress : new SchedulingProgress();
+    }
+
+    public List<Course> getCourses() { return courses; }
+    public List<Professor> getProfessors() { return professors; }
+    public List<Classroom> getClassrooms() { return classrooms; }
+    public List<String> getDaysOfWeek() { return daysOfWeek; }
+    public List<LocalTime> getStartTimes() { return startTimes; }
+    public Duration getSessionDuration() { return sessionDuration; }
+    public String getSemester() { return semester; }
+    public String getAcademicYear() { return academicYear; }
+    public OccupancyIndex getOccupancy() { return occupancy; }
+    public Map<Integer, Integer> getExpectedEnrollments() { return expectedEnrollments; }
+    public ScheduleObjective getObjective() { return objective; }
+    public Duration getTimeBudget() { return timeBudget; }
+    public int getMaxBacktracks() { return maxBacktracks; }
+    public int getWorkers() { return workers; }
+    public SchedulingProgress getProgress() { return progress; }
+
+    public int getExpectedEnrollment(Course course) {
+        return expectedEnrollments.getOrDefault(course.getCourseId(), 0);
+    }
+
+    // Same problem with a private copy of the occupancy, for engines that must not touch the shared one.
+    public SchedulingProblem withCopiedOccupancy() {
+        return new SchedulingProblem(courses, professors, classrooms, daysOfWeek, startTimes, sessionDuration,
+                semester, academicYear, occupancy.copy(), expectedEnrollments,
+                objective, timeBudget, maxBacktracks, workers, progress);
+    }
+
+    // Same problem with courses, professors, classrooms, days and start times in a random order
+    // and a private copy of the occupancy, so first-fit engines explore a different starting point.
+    public SchedulingProblem shuffled(Random random) {
+        return new SchedulingProblem(shuffle(courses, random), shuffle(professors, random), shuffle(classrooms, random),
+                shuffle(daysOfWeek, random), shuffle(startTimes, random), sessionDuration,
+                semester, academicYear, occupancy.copy(), expectedEnrollments,
+                objective, timeBudget, maxBacktracks, workers, progress);
+    }
+
+    private static <T> List<T> shuffle(List<T> values, Random random) {
+        List<T> copy = new ArrayList<>(values);
+        Collections.shuffle(copy, random);
+        return copy;
+    }
+
+    // Departments compare case-insensitively; a missing department is the empty one.
+    public static String departmentKey(String department) {
+        return Objects.toString(department, "").toLowerCase(Locale.ROOT);
+    }
+
+    public LocalTime endTimeFor(LocalTime startTime) {
+        return startTime.plus(sessionDuration);
+    }
+
+    // Professors of the course's department, or everyone if the department has nobody.
+    public List<Professor> candidateProfessors(Course course) {
+        String department = departmentKey(course.getDepartment());
+        List<Professor> suitableProfessors = professors.stream()
+                .filter(p -> departmentKey(p.getDepartment()).equals(department))
+                .collect(Collectors.toList());
+        return suitableProfessors.isEmpty() ? professors : suitableProfessors;
+    }
+
+    public Schedule newSchedule(Course course, Professor professor, Classroom classroom, String dayOfWeek, LocalTime startTime) {
+        Schedule schedule = new Schedule();
+        schedule.setCourse(course);
+        schedule.setProfessor(professor);
+        schedule.setClassroom(classroom);
+        schedule.setDayOfWeek(dayOfWeek);
+        schedule.setStartTime(startTime);
+        schedule.setEndTime(endTimeFor(startTime));
+        schedule.setSemester(semester);
+        schedule.setAcademicYear(academicYear);
+        return schedule;
+    }
+}
@@ -0,0 +1,61 @@
+package com.javaproj.services;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Live view of a running generation, shared between the engine thread and whoever polls the job.
+// Engines report placements and scores as they go and stop early once cancel() has been called.
+public class SchedulingProgress {
+
+    private final AtomicInteger coursesTotal = new AtomicInteger();
+    private final AtomicInteger coursesPlaced = new AtomicInteger();
+    private volatile Double bestScore;
+    private volatile boolean cancelled;
+
+    public int getCoursesTotal() {
+        return coursesTotal.get();
+    }
+
+    public int getCoursesPlaced() {
+        return coursesPlaced.get();
+    }
+
+    public int getCoursesRemaining() {
+        return Math.max(0, coursesTotal.get() - coursesPlaced.get());
+    }
+
+    public Double getBestScore() {
+        return bestScore;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public void start(int totalCourses) {
+        coursesTotal.set(totalCourses);
+        coursesPlaced.set(0);
+    }
+
+    public void reportPlaced(int placed) {
+        coursesPlaced.set(placed);
+    }
+
+    // Partial count while no complete candidate has been scored yet.
+    public void reportSearching(int placed) {
+        if (bestScore == null) {
+            coursesPlaced.set(placed);
+        }
+    }
+
+    // Records a candidate timetable; only improvements (lower scores) are kept.
+    public synchronized void reportBest(int placed, double score) {
+        if (bestScore == null || score < bestScore) {
+            bestScore = score;
+            coursesPlaced.set(placed);
+        }
+    }
+}
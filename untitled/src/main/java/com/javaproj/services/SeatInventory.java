@@ -0,0 +1,227 @@
+package com.javaproj.services;
+
+import com.javaproj.db.ReplicaRoutingDataSource;
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.db.SeatCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-schedule seat counters that keep enrollments within the classroom capacity without locking.
+// - A seat is taken with a compare-and-set on the schedule's counter, so concurrent registrations for
+//   the same schedule never serialise on a database lock and can never push the counter past capacity.
+// - Reservations belong to the current transaction: they are given back if it rolls back. Seats freed by
+//   a deletion are only given back once the deletion has committed.
+// - Counters are loaded from the Enrollments table on first use and reconciled with it periodically
+//   (enrollments removed by other paths, e.g. deleting a student, and capacity changes). A counter is
+//   only corrected while no reservation or release is in flight for it, so a reconciliation can never
+//   hand out a seat that an uncommitted enrollment is about to take.
+// The counters are local to this instance: capacity is only guaranteed when one instance serves enrollments.
+// They are always read from the primary database: a counter loaded from a lagging replica would hand out seats
+// that are already taken.
+@Service
+public class SeatInventory {
+
+    private static final int RECONCILE_CHUNK_SIZE = 1000;
+
+    private static final class Seats {
+        final AtomicInteger taken;
+        // Reservations and releases whose transaction has not finished yet.
+        final AtomicInteger pending = new AtomicInteger();
+        // Bumped by every reservation and release, so a reconciliation can tell the counter moved under it.
+        final AtomicLong version = new AtomicLong();
+        volatile int capacity;
+
+        Seats(int capacity, int taken) {
+            this.capacity = capacity;
+            this.taken = new AtomicInteger(taken);
+        }
+    }
+
+    private final ScheduleRepository scheduleRepository;
+    private final Map<Integer, Seats> seatsBySchedule = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SeatInventory(ScheduleRepository scheduleRepository) {
+        this.scheduleRepository = scheduleRepository;
+    }
+
+    // Takes a seat of the schedule for the current transaction. Returns false when the schedule is full
+    // (or does not exist). Must be called inside a transaction.
+    public boolean tryReserve(Integer scheduleId) {
+        TransactionSeats transaction = currentTransaction();
+        Seats seats = seats(scheduleId);
+        if (seats == null) {
+            return false;
+        }
+        seats.pending.incrementAndGet();
+        while (true) {
+            int taken = seats.taken.get();
+            if (taken >= seats.capacity) {
+                seats.version.incrementAndGet();
+                seats.pending.decrementAndGet();
+                return false;
+            }
+            if (seats.taken.compareAndSet(taken, taken + 1)) {
+                seats.version.incrementAndGet();
+                transaction.reserved.merge(seats, 1, Integer::sum);
+                return true;
+            }
+        }
+    }
+
+    // Gives the seat back once the current transaction (which deletes an enrollment) has committed.
+    public void releaseAfterCommit(Integer scheduleId) {
+        TransactionSeats transaction = currentTransaction();
+        Seats seats = seatsBySchedule.get(scheduleId);
+        if (seats == null) {
+            return; // not loaded yet; the next load counts the table as it is
+        }
+        seats.pending.incrementAndGet();
+        transaction.released.merge(seats, 1, Integer::sum);
+    }
+
+    // Loads the counters of many schedules with one query per RECONCILE_CHUNK_SIZE ids, ahead of a bulk import.
+    public void load(Collection<Integer> scheduleIds) {
+        List<Integer> missing = new ArrayList<>();
+        for (Integer scheduleId : scheduleIds) {
+            if (!seatsBySchedule.containsKey(scheduleId)) {
+                missing.add(scheduleId);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += RECONCILE_CHUNK_SIZE) {
+            for (SeatCount count : findSeatCounts(missing.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, missing.size())))) {
+                seatsBySchedule.putIfAbsent(count.getScheduleId(), new Seats(count.getCapacity(), count.getEnrolled().intValue()));
+            }
+        }
+    }
+
+    public int getCapacity(Integer scheduleId) {
+        Seats seats = seats(scheduleId);
+        return seats == null ? 0 : seats.capacity;
+    }
+
+    // Seats left, as far as this instance knows. Informational only; use tryReserve to take one.
+    public int getAvailable(Integer scheduleId) {
+        Seats seats = seats(scheduleId);
+        return seats == null ? 0 : Math.max(0, seats.capacity - seats.taken.get());
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.seats.reconcile-interval-ms:60000}",
+            initialDelayString = "${enrollment.seats.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<Integer> scheduleIds = new ArrayList<>(seatsBySchedule.keySet());
+        for (int from = 0; from < scheduleIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Integer> chunk = scheduleIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, scheduleIds.size()));
+
+            // Remember where every quiet counter stood before reading the table.
+            Map<Integer, Long> versions = new HashMap<>();
+            Map<Integer, Integer> takenBefore = new HashMap<>();
+            for (Integer scheduleId : chunk) {
+                Seats seats = seatsBySchedule.get(scheduleId);
+                if (seats == null) {
+                    continue;
+                }
+                long version = seats.version.get();
+                if (seats.pending.get() == 0) {
+                    versions.put(scheduleId, version);
+                    takenBefore.put(scheduleId, seats.taken.get());
+                }
+            }
+
+            Map<Integer, SeatCount> counts = new HashMap<>();
+            for (SeatCount count : findSeatCounts(chunk)) {
+                counts.put(count.getScheduleId(), count);
+            }
+
+            for (Integer scheduleId : chunk) {
+                Seats seats = seatsBySchedule.get(scheduleId);
+                if (seats == null) {
+                    continue;
+                }
+                SeatCount count = counts.get(scheduleId);
+                if (count == null) {
+                    seatsBySchedule.remove(scheduleId); // schedule was deleted
+                    continue;
+                }
+                seats.capacity = count.getCapacity();
+                Long version = versions.get(scheduleId);
+                if (version != null && seats.pending.get() == 0 && seats.version.get() == version) {
+                    // Fails harmlessly if a reservation slipped in since the checks above.
+                    seats.taken.compareAndSet(takenBefore.get(scheduleId), count.getEnrolled().intValue());
+                }
+            }
+        }
+    }
+
+    private Seats seats(Integer scheduleId) {
+        Seats seats = seatsBySchedule.get(scheduleId);
+        if (seats != null) {
+            return seats;
+        }
+        // Loaded outside the map so a slow query does not block other schedules. If two threads load the
+        // same schedule at once, the first counter wins and the other is discarded before any use.
+        List<SeatCount> counts = findSeatCounts(List.of(scheduleId));
+        if (counts.isEmpty()) {
+            return null;
+        }
+        SeatCount count = counts.get(0);
+        Seats loaded = new Seats(count.getCapacity(), count.getEnrolled().intValue());
+        Seats existing = seatsBySchedule.putIfAbsent(scheduleId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    private List<SeatCount> findSeatCounts(List<Integer> scheduleIds) {
+        return ReplicaRoutingDataSource.onPrimary(() -> scheduleRepository.findSeatCounts(scheduleIds));
+    }
+
+    private TransactionSeats currentTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Seat reservations require an active transaction.");
+        }
+        TransactionSeats transactionSeats = (TransactionSeats) TransactionSynchronizationManager.getResource(this);
+        if (transactionSeats == null) {
+            transactionSeats = new TransactionSeats();
+            TransactionSynchronizationManager.bindResource(this, transactionSeats);
+            TransactionSynchronizationManager.registerSynchronization(transactionSeats);
+        }
+        return transactionSeats;
+    }
+
+    // Seats taken and freed by one transaction, settled when it completes.
+    private final class TransactionSeats implements TransactionSynchronization {
+        final Map<Seats, Integer> reserved = new HashMap<>();
+        final Map<Seats, Integer> released = new HashMap<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(SeatInventory.this);
+            boolean committed = status == STATUS_COMMITTED;
+            reserved.forEach((seats, count) -> {
+                if (!committed) {
+                    seats.taken.addAndGet(-count);
+                }
+                seats.version.incrementAndGet();
+                seats.pending.addAndGet(-count);
+            });
+            released.forEach((seats, count) -> {
+                if (committed) {
+                    seats.taken.addAndGet(-count);
+                }
+                seats.version.incrementAndGet();
+                seats.pending.addAndGet(-count);
+            });
+        }
+    }
+}
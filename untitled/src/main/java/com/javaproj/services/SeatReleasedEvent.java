@@ -0,0 +1,14 @@
+package com.javaproj.services;
+
+// Published when an enrollment is deleted; handled after commit to promote waitlisted students.
+public class SeatReleasedEvent {
+    private final Integer scheduleId;
+
+    public SeatReleasedEvent(Integer scheduleId) {
+        this.scheduleId = scheduleId;
+    }
+
+    public Integer getScheduleId() {
+        return scheduleId;
+    }
+}
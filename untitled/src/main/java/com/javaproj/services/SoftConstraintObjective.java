@@ -0,0 +1,80 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Classroom;
+import com.javaproj.db.Schedule;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Timetable quality on top of "place every course":
+// - unplaced courses dominate every soft term,
+// - seats missing when a course's expected enrollment exceeds Classroom.capacity,
+// - idle hours between a professor's consecutive sessions on the same day,
+// - changes of Classroom.building between a professor's consecutive sessions on the same day.
+// The per-professor-day and per-placement terms are exposed so local search can score moves incrementally.
+public class SoftConstraintObjective implements ScheduleObjective {
+
+    static final double UNPLACED_COURSE_WEIGHT = 1000.0;
+    static final double MISSING_SEAT_WEIGHT = 1.0;
+    static final double GAP_HOUR_WEIGHT = 2.0;
+    static final double BUILDING_MOVE_WEIGHT = 5.0;
+
+    @Override
+    public double evaluate(List<Schedule> placements, SchedulingProblem problem) {
+        double score = UNPLACED_COURSE_WEIGHT * ScheduleObjective.unplacedCourses().evaluate(placements, problem);
+
+        Map<Integer, Map<String, List<Schedule>>> sessionsByProfessorDay = new HashMap<>();
+        for (Schedule placement : placements) {
+            score += placementPenalty(placement, problem);
+            sessionsByProfessorDay
+                    .computeIfAbsent(placement.getProfessor().getProfessorId(), id -> new HashMap<>())
+                    .computeIfAbsent(placement.getDayOfWeek(), day -> new ArrayList<>())
+                    .add(placement);
+        }
+        for (Map<String, List<Schedule>> days : sessionsByProfessorDay.values()) {
+            for (List<Schedule> sessions : days.values()) {
+                score += professorDayPenalty(sessions);
+            }
+        }
+        return score;
+    }
+
+    // Penalty that depends on a single placement only.
+    double placementPenalty(Schedule placement, SchedulingProblem problem) {
+        int expected = problem.getExpectedEnrollment(placement.getCourse());
+        int missingSeats = expected - placement.getClassroom().getCapacity();
+        return missingSeats > 0 ? MISSING_SEAT_WEIGHT * missingSeats : 0.0;
+    }
+
+    // Penalty of one professor's sessions on one day (in any order).
+    double professorDayPenalty(List<Schedule> sessions) {
+        if (sessions.size() < 2) {
+            return 0.0;
+        }
+        List<Schedule> ordered = new ArrayList<>(sessions);
+        ordered.sort(Comparator.comparing(Schedule::getStartTime));
+
+        double penalty = 0.0;
+        for (int i = 1; i < ordered.size(); i++) {
+            Schedule previous = ordered.get(i - 1);
+            Schedule current = ordered.get(i);
+            Duration gap = Duration.between(previous.getEndTime(), current.getStartTime());
+            if (!gap.isNegative()) {
+                penalty += GAP_HOUR_WEIGHT * gap.toMinutes() / 60.0;
+            }
+            if (!Objects.equals(buildingOf(previous.getClassroom()), buildingOf(current.getClassroom()))) {
+                penalty += BUILDING_MOVE_WEIGHT;
+            }
+        }
+        return penalty;
+    }
+
+    private static String buildingOf(Classroom classroom) {
+        return classroom.getBuilding();
+    }
+}
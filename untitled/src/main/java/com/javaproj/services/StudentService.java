@@ -2,6 +2,7 @@ package com.javaproj.services;
 
 import com.javaproj.db.Student;
 import com.javaproj.db.StudentRepository;
+import com.javaproj.dto.KeysetPage;
 import com.javaproj.exceptions.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -13,10 +14,12 @@ import java.util.Optional;
 public class StudentService {
 
     private final StudentRepository studentRepository;
+    private final TimetableService timetableService;
 
     @Autowired
-    public StudentService(StudentRepository studentRepository) {
+    public StudentService(StudentRepository studentRepository, TimetableService timetableService) {
         this.studentRepository = studentRepository;
+        this.timetableService = timetableService;
     }
 
     @Transactional
@@ -24,9 +27,13 @@ public class StudentService {
         return studentRepository.save(student);
     }
 
+    // One keyset page of students, ordered by id. The count query only runs when includeTotal is set.
     @Transactional(readOnly = true)
-    public List<Student> getAllStudents() {
-        return studentRepository.findAll();
+    public KeysetPage<Student> getStudentPage(String major, Integer after, Integer limit, boolean includeTotal) {
+        int pageSize = KeysetPage.normalizeLimit(limit);
+        List<Student> rows = studentRepository.findPage(KeysetPage.normalizeAfter(after), major, KeysetPage.fetchOneMore(pageSize));
+        Long total = includeTotal ? studentRepository.countFiltered(major) : null;
+        return KeysetPage.of(rows, pageSize, Student::getStudentId, total);
     }
 
     @Transactional(readOnly = true)
@@ -58,5 +65,6 @@ public class StudentService {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
         studentRepository.delete(student);
+        timetableService.invalidateAfterCommit(List.of(studentId));
     }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.javaproj.services;
+
+import com.javaproj.db.TermSlot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory interval index of the sessions students attend, grouped per student by term and day.
+// A student has a handful of sessions per day, so a clash check is a short scan of one bucket.
+// Intervals are half-open [start, end), like the room and professor conflict checks.
+// Not thread-safe.
+public class StudentTimetableIndex {
+
+    private final Map<Integer, Map<String, List<TermSlot>>> slotsByStudent = new HashMap<>();
+
+    public void add(Integer studentId, TermSlot slot) {
+        slotsByStudent.computeIfAbsent(studentId, id -> new HashMap<>())
+                .computeIfAbsent(bucket(slot), key -> new ArrayList<>())
+                .add(slot);
+    }
+
+    // Returns a session of the student that overlaps the given one, or null if there is none.
+    // The same schedule never clashes with itself.
+    public TermSlot findClash(Integer studentId, TermSlot slot) {
+        Map<String, List<TermSlot>> buckets = slotsByStudent.get(studentId);
+        if (buckets == null) {
+            return null;
+        }
+        List<TermSlot> sameDay = buckets.get(bucket(slot));
+        if (sameDay == null) {
+            return null;
+        }
+        for (TermSlot other : sameDay) {
+            if (!other.getScheduleId().equals(slot.getScheduleId())
+                    && other.getStartTime().isBefore(slot.getEndTime())
+                    && other.getEndTime().isAfter(slot.getStartTime())) {
+                return other;
+            }
+        }
+        return null;
+    }
+
+    private static String bucket(TermSlot slot) {
+        return slot.getSemester() + '|' + slot.getAcademicYear() + '|' + slot.getDayOfWeek();
+    }
+}
@@ -0,0 +1,257 @@
+package com.javaproj.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.javaproj.db.EnrollmentRepository;
+import com.javaproj.db.ReplicaRoutingDataSource;
+import com.javaproj.db.StudentRepository;
+import com.javaproj.db.TimetableSession;
+import com.javaproj.dto.ClassroomDTO;
+import com.javaproj.dto.CourseDTO;
+import com.javaproj.dto.ProfessorDTO;
+import com.javaproj.dto.TimetableDTO;
+import com.javaproj.dto.TimetableEntryDTO;
+import com.javaproj.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Serves student timetables from memory. Each cached timetable is the compact list of a student's sessions
+// (ids, day, time, term); names are resolved through ReferenceDataCache when the timetable is served.
+// - The cache is bounded by the total number of sessions it holds (timetable-cache.max-sessions) and idle
+//   timetables expire.
+// - Enrollments created or deleted through EnrollmentService patch the cached timetable once their transaction
+//   has committed; bulk paths (imports, waitlist promotions, student deletion) drop the student's entry.
+// - Updating or deleting a schedule records a change stamp for it. A timetable loaded before the stamp and
+//   containing that schedule is reloaded on its next read, so a schedule change costs nothing up front and only
+//   touches the timetables that actually use it. Stamps no cached timetable can be older than are dropped
+//   periodically (pruneScheduleChanges).
+// Loads run inside the cache's per-key computation, so an invalidation or patch of the same student waits for a
+// load in progress instead of being overwritten by its (possibly older) result.
+// That computation holds a lock of the cache's map: on Java 21 a virtual thread loading a timetable keeps its carrier
+// thread until the load is done (VirtualThreadConfig keeps requests from also waiting for a connection there).
+@Service
+public class TimetableService {
+
+    private static final List<String> DAY_NAMES = List.of("LUNI", "MARTI", "MIERCURI", "JOI", "VINERI", "SAMBATA", "DUMINICA");
+
+    private static final Comparator<TimetableSession> SESSION_ORDER = Comparator
+            .comparing(TimetableSession::getAcademicYear, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TimetableSession::getSemester, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingInt(session -> dayIndex(session.getDayOfWeek()))
+            .thenComparing(TimetableSession::getDayOfWeek, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TimetableSession::getStartTime, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    // Immutable; patches replace the whole value.
+    private static final class Timetable {
+        // Value of changeSequence when the load started.
+        final long loadedAt;
+        final List<TimetableSession> sessions;
+
+        Timetable(long loadedAt, List<TimetableSession> sessions) {
+            this.loadedAt = loadedAt;
+            this.sessions = sessions;
+        }
+    }
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final Cache<Integer, Timetable> timetables;
+
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final Map<Integer, Long> scheduleChangedAt = new ConcurrentHashMap<>();
+    // Stamps up to this value have been dropped: a timetable loaded before it is reloaded, whatever it contains.
+    private volatile long prunedThrough;
+
+    @Autowired
+    public TimetableService(EnrollmentRepository enrollmentRepository,
+                            StudentRepository studentRepository,
+                            ReferenceDataCache referenceDataCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${timetable-cache.max-sessions:500000}") long maxSessions,
+                            @Value("${timetable-cache.expire-after-access-minutes:60}") long expireAfterAccessMinutes) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.studentRepository = studentRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.timetables = Caffeine.newBuilder()
+                .maximumWeight(maxSessions)
+                .weigher((Integer studentId, Timetable timetable) -> timetable.sessions.size() + 1)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .recordStats()
+                .build();
+        // Same tag keys as the caches Spring Boot binds (cache, cache.manager, name); Prometheus drops meters whose
+        // name is already registered with other tag keys.
+        CaffeineCacheMetrics.monitor(meterRegistry, timetables, "timetables",
+                Tags.of("cache.manager", "timetableService", "name", "timetables"));
+    }
+
+    // Sessions of the student, all terms unless semester and/or academicYear are given.
+    public TimetableDTO getTimetable(Integer studentId, String semester, String academicYear) {
+        Timetable timetable = timetables.get(studentId, this::load);
+        if (timetable == null) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        if (isStale(timetable)) {
+            timetables.invalidate(studentId);
+            timetable = timetables.get(studentId, this::load);
+            if (timetable == null) {
+                throw new ResourceNotFoundException("Student not found with id: " + studentId);
+            }
+        }
+
+        List<TimetableEntryDTO> entries = new ArrayList<>();
+        for (TimetableSession session : timetable.sessions) {
+            if ((semester != null && !semester.equals(session.getSemester()))
+                    || (academicYear != null && !academicYear.equals(session.getAcademicYear()))) {
+                continue;
+            }
+            CourseDTO course = session.getCourseId() != null ? referenceDataCache.getCourse(session.getCourseId()).orElse(null) : null;
+            ProfessorDTO professor = session.getProfessorId() != null ? referenceDataCache.getProfessor(session.getProfessorId()).orElse(null) : null;
+            ClassroomDTO classroom = session.getRoomId() != null ? referenceDataCache.getClassroom(session.getRoomId()).orElse(null) : null;
+            entries.add(new TimetableEntryDTO(session.getEnrollmentId(), session.getScheduleId(), course, professor, classroom,
+                    session.getDayOfWeek(), session.getStartTime(), session.getEndTime(),
+                    session.getSemester(), session.getAcademicYear()));
+        }
+        return new TimetableDTO(studentId, semester, academicYear, entries);
+    }
+
+    // Adds the session to the student's cached timetable (if any) after the current transaction commits.
+    public void enrollmentAddedAfterCommit(Integer studentId, TimetableSession session) {
+        afterCommit(() -> timetables.asMap().computeIfPresent(studentId, (id, timetable) -> {
+            List<TimetableSession> sessions = new ArrayList<>(timetable.sessions.size() + 1);
+            for (TimetableSession existing : timetable.sessions) {
+                if (!existing.getScheduleId().equals(session.getScheduleId())) {
+                    sessions.add(existing);
+                }
+            }
+            sessions.add(session);
+            sessions.sort(SESSION_ORDER);
+            return new Timetable(timetable.loadedAt, List.copyOf(sessions));
+        }));
+    }
+
+    public void enrollmentRemovedAfterCommit(Integer studentId, Integer scheduleId) {
+        afterCommit(() -> timetables.asMap().computeIfPresent(studentId, (id, timetable) -> {
+            List<TimetableSession> sessions = new ArrayList<>(timetable.sessions.size());
+            for (TimetableSession existing : timetable.sessions) {
+                if (!existing.getScheduleId().equals(scheduleId)) {
+                    sessions.add(existing);
+                }
+            }
+            return new Timetable(timetable.loadedAt, List.copyOf(sessions));
+        }));
+    }
+
+    public void invalidateAfterCommit(Collection<Integer> studentIds) {
+        List<Integer> ids = List.copyOf(studentIds);
+        afterCommit(() -> timetables.invalidateAll(ids));
+    }
+
+    // The schedule's day, time, term, course, professor or classroom changed, or it was deleted.
+    public void scheduleChangedAfterCommit(Integer scheduleId) {
+        afterCommit(() -> scheduleChangedAt.put(scheduleId, changeSequence.incrementAndGet()));
+    }
+
+    // Drops the stamps that are not newer than the oldest cached timetable. A load still running when the oldest is
+    // looked for can end up older than it; isStale reloads such a timetable (prunedThrough).
+    @Scheduled(fixedDelayString = "${timetable-cache.prune-interval-ms:60000}",
+            initialDelayString = "${timetable-cache.prune-interval-ms:60000}")
+    public void pruneScheduleChanges() {
+        if (scheduleChangedAt.isEmpty()) {
+            return;
+        }
+        long oldest = changeSequence.get();
+        for (Timetable timetable : timetables.asMap().values()) {
+            oldest = Math.min(oldest, timetable.loadedAt);
+        }
+        if (oldest > prunedThrough) {
+            prunedThrough = oldest;
+        }
+        long through = oldest;
+        scheduleChangedAt.values().removeIf(changedAt -> changedAt <= through);
+    }
+
+    // From the primary database: a timetable loaded from a lagging replica could miss enrollments whose
+    // enrollmentAddedAfterCommit has already run, and would stay cached without them.
+    private Timetable load(Integer studentId) {
+        return ReplicaRoutingDataSource.onPrimary(() -> loadFromDatabase(studentId));
+    }
+
+    private Timetable loadFromDatabase(Integer studentId) {
+        long loadedAt = changeSequence.get();
+        List<TimetableSession> sessions = new ArrayList<>(enrollmentRepository.findTimetableSessions(studentId));
+        if (sessions.isEmpty() && !studentRepository.existsById(studentId)) {
+            return null; // not cached
+        }
+        sessions.sort(SESSION_ORDER);
+        return new Timetable(loadedAt, List.copyOf(sessions));
+    }
+
+    private boolean isStale(Timetable timetable) {
+        if (timetable.loadedAt < prunedThrough) {
+            return true;
+        }
+        if (scheduleChangedAt.isEmpty()) {
+            return false;
+        }
+        for (TimetableSession session : timetable.sessions) {
+            Long changedAt = scheduleChangedAt.get(session.getScheduleId());
+            if (changedAt != null && changedAt > timetable.loadedAt) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Outside a transaction the action runs immediately.
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Monday first. Days are stored with the Romanian names of the Schedules check constraint; English names
+    // are accepted as well. Anything else sorts last.
+    private static int dayIndex(String dayOfWeek) {
+        if (dayOfWeek == null) {
+            return Integer.MAX_VALUE;
+        }
+        String day = dayOfWeek.trim().toUpperCase(Locale.ROOT);
+        for (int i = 0; i < DAY_NAMES.size(); i++) {
+            if (DAY_NAMES.get(i).equals(day)) {
+                return i;
+            }
+        }
+        for (DayOfWeek candidate : DayOfWeek.values()) {
+            if (candidate.name().equals(day)) {
+                return candidate.getValue() - 1;
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+}
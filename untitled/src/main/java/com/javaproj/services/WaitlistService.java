@@ -0,0 +1,303 @@
+package com.javaproj.services;
+
+import com.javaproj.db.*;
+import com.javaproj.dto.WaitlistEntryDTO;
+import com.javaproj.exceptions.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Ordered waitlists of full schedules. Students are served first come, first served
+// (requestedAt, then waitlistId).
+// - Dropping an enrollment publishes a SeatReleasedEvent. Once that deletion has committed the schedule is
+//   queued for promotion; the request itself does no waitlist work.
+// - A background worker drains the queue: per schedule it promotes the head of the waitlist in transactions
+//   of up to promotion-batch-size entries, taking each seat through SeatInventory, until the schedule is full
+//   again or its waitlist is empty. Entries whose student is already enrolled are dropped; entries that now
+//   clash with the student's timetable are skipped and keep their place.
+// - A periodic sweep queues every schedule with a waitlist, which covers seats freed by other paths
+//   (deleted students, larger classrooms) and promotions lost to a restart.
+// While a schedule has a waitlist, new enrollments go to the back of it instead of taking a freed seat
+// (see EnrollmentService.createEnrollment), so retries cannot jump the queue.
+@Service
+public class WaitlistService {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+    // Start of the (requestedAt, waitlistId) cursor: before any entry.
+    private static final LocalDateTime BEFORE_FIRST_ENTRY = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final WaitlistRepository waitlistRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final SeatInventory seatInventory;
+    private final TimetableService timetableService;
+    private final SchedulerMetrics schedulerMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    // Schedules known to have a non-empty waitlist, with the joinSequence value of their last committed join, and
+    // schedules waiting for the promotion worker. A schedule is only dropped from waitlistedSchedules when no join
+    // has committed since the query that found its waitlist empty started (see dropIfNotJoinedSince).
+    private final Map<Integer, Long> waitlistedSchedules = new ConcurrentHashMap<>();
+    private final Set<Integer> pendingPromotions = ConcurrentHashMap.newKeySet();
+    private final AtomicLong joinSequence = new AtomicLong();
+
+    @Autowired
+    public WaitlistService(WaitlistRepository waitlistRepository,
+                           EnrollmentRepository enrollmentRepository,
+                           StudentRepository studentRepository,
+                           ScheduleRepository scheduleRepository,
+                           SeatInventory seatInventory,
+                           TimetableService timetableService,
+                           SchedulerMetrics schedulerMetrics,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${waitlist.promotion-batch-size:50}") int batchSize) {
+        this.waitlistRepository = waitlistRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.studentRepository = studentRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.seatInventory = seatInventory;
+        this.timetableService = timetableService;
+        this.schedulerMetrics = schedulerMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    public static class WaitlistRequest {
+        public Integer studentId;
+        public Integer scheduleId;
+
+        public WaitlistRequest() {}
+
+        public Integer getStudentId() { return studentId; }
+        public void setStudentId(Integer studentId) { this.studentId = studentId; }
+        public Integer getScheduleId() { return scheduleId; }
+        public void setScheduleId(Integer scheduleId) { this.scheduleId = scheduleId; }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadWaitlistedSchedules() {
+        List<Integer> scheduleIds = waitlistRepository.findWaitlistedScheduleIds();
+        for (Integer scheduleId : scheduleIds) {
+            waitlistedSchedules.putIfAbsent(scheduleId, 0L);
+        }
+        pendingPromotions.addAll(scheduleIds);
+    }
+
+    public boolean hasWaitlist(Integer scheduleId) {
+        return waitlistedSchedules.containsKey(scheduleId);
+    }
+
+    // Puts the student at the back of the schedule's waitlist. Joining again returns the existing entry,
+    // so clients can retry safely.
+    @Transactional
+    public WaitlistEntryDTO join(Integer studentId, Integer scheduleId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        if (!scheduleRepository.existsById(scheduleId)) {
+            throw new ResourceNotFoundException("Schedule not found with id: " + scheduleId);
+        }
+        Optional<WaitlistEntryDTO> existing = waitlistRepository.findEntryByStudentIdAndScheduleId(studentId, scheduleId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        if (enrollmentRepository.existsByStudent_StudentIdAndSchedule_ScheduleId(studentId, scheduleId)) {
+            throw new IllegalStateException("Student " + studentId + " is already enrolled in schedule ID " + scheduleId + ".");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setStudent(studentRepository.getReferenceById(studentId));
+        entry.setSchedule(scheduleRepository.getReferenceById(scheduleId));
+        entry.setRequestedAt(LocalDateTime.now());
+        waitlistRepository.saveAndFlush(entry);
+        // Only once the entry is visible: a promotion or sweep that ran before the commit would find no entry and
+        // drop the schedule again. A seat may have been freed between the failed enrollment and this insert.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                waitlistedSchedules.put(scheduleId, joinSequence.incrementAndGet());
+                pendingPromotions.add(scheduleId);
+            }
+        });
+        return waitlistRepository.findEntryById(entry.getWaitlistId()).orElseThrow();
+    }
+
+    @Transactional
+    public void leave(Integer waitlistId) {
+        if (!waitlistRepository.existsById(waitlistId)) {
+            throw new ResourceNotFoundException("Waitlist entry not found with id: " + waitlistId);
+        }
+        waitlistRepository.deleteById(waitlistId);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<WaitlistEntryDTO> getEntryById(Integer waitlistId) {
+        return waitlistRepository.findEntryById(waitlistId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getWaitlistByStudentId(Integer studentId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new ResourceNotFoundException("Student not found with id: " + studentId);
+        }
+        return waitlistRepository.findEntriesByStudentId(studentId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDTO> getWaitlistByScheduleId(Integer scheduleId) {
+        if (!scheduleRepository.existsById(scheduleId)) {
+            throw new ResourceNotFoundException("Schedule not found with id: " + scheduleId);
+        }
+        List<WaitlistEntryDTO> entries = waitlistRepository.findEntriesByScheduleId(scheduleId);
+        for (int i = 0; i < entries.size(); i++) {
+            entries.get(i).setPosition(i + 1);
+        }
+        return entries;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<WaitlistEntryDTO> getEntryByStudentIdAndScheduleId(Integer studentId, Integer scheduleId) {
+        return waitlistRepository.findEntryByStudentIdAndScheduleId(studentId, scheduleId);
+    }
+
+    // Runs in the deleting transaction's afterCommit, before SeatInventory gives the seat back (afterCompletion).
+    // So it only queues the schedule: the promotion worker runs later, on the scheduler, and finds the seat free.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSeatReleased(SeatReleasedEvent event) {
+        if (waitlistedSchedules.containsKey(event.getScheduleId())) {
+            pendingPromotions.add(event.getScheduleId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${waitlist.sweep-interval-ms:60000}",
+            initialDelayString = "${waitlist.sweep-interval-ms:60000}")
+    public void sweep() {
+        long joinedBefore = joinSequence.get();
+        Set<Integer> scheduleIds = new HashSet<>(waitlistRepository.findWaitlistedScheduleIds());
+        for (Integer scheduleId : List.copyOf(waitlistedSchedules.keySet())) {
+            if (!scheduleIds.contains(scheduleId)) {
+                dropIfNotJoinedSince(scheduleId, joinedBefore);
+            }
+        }
+        for (Integer scheduleId : scheduleIds) {
+            waitlistedSchedules.putIfAbsent(scheduleId, 0L);
+        }
+        pendingPromotions.addAll(scheduleIds);
+    }
+
+    @Scheduled(fixedDelayString = "${waitlist.promotion-interval-ms:1000}")
+    public void promotePending() {
+        for (Integer scheduleId : new ArrayList<>(pendingPromotions)) {
+            pendingPromotions.remove(scheduleId);
+            try {
+                promote(scheduleId);
+            } catch (RuntimeException e) {
+                // E.g. the student enrolled concurrently; the whole batch was rolled back, try again later.
+                log.warn("Waitlist promotion for schedule {} failed: {}", scheduleId, e.getMessage());
+                pendingPromotions.add(scheduleId);
+            }
+        }
+    }
+
+    // Promotes waitlisted students of one schedule while seats are available. Returns the number promoted.
+    public int promote(Integer scheduleId) {
+        int promoted = 0;
+        // Skipped (clashing) entries keep their place; the cursor moves past them.
+        LocalDateTime afterRequestedAt = BEFORE_FIRST_ENTRY;
+        int afterId = 0;
+        while (true) {
+            BatchResult batch = promoteBatch(scheduleId, afterRequestedAt, afterId);
+            promoted += batch.promoted;
+            if (batch.full || batch.exhausted) {
+                break;
+            }
+            afterRequestedAt = batch.last.getRequestedAt();
+            afterId = batch.last.getWaitlistId();
+        }
+        long joinedBefore = joinSequence.get();
+        if (!waitlistRepository.existsBySchedule_ScheduleId(scheduleId)) {
+            dropIfNotJoinedSince(scheduleId, joinedBefore);
+        }
+        return promoted;
+    }
+
+    // A join committed after joinedBefore was read may be missing from the query that found the waitlist empty.
+    private void dropIfNotJoinedSince(Integer scheduleId, long joinedBefore) {
+        waitlistedSchedules.computeIfPresent(scheduleId, (id, joinedAt) -> joinedAt > joinedBefore ? joinedAt : null);
+    }
+
+    private static final class BatchResult {
+        int promoted;
+        boolean full;
+        boolean exhausted;
+        WaitlistEntry last;
+    }
+
+    private BatchResult promoteBatch(Integer scheduleId, LocalDateTime afterRequestedAt, int afterId) {
+        return transactionTemplate.execute(status -> {
+            BatchResult result = new BatchResult();
+            List<WaitlistEntry> head = waitlistRepository.findHead(scheduleId, afterRequestedAt, afterId,
+                    PageRequest.of(0, batchSize));
+            result.exhausted = head.size() < batchSize;
+            List<Integer> served = new ArrayList<>();
+            List<Enrollment> toInsert = new ArrayList<>();
+            List<Integer> promotedStudents = new ArrayList<>();
+            for (WaitlistEntry entry : head) {
+                result.last = entry;
+                Integer studentId = entry.getStudent().getStudentId();
+                if (enrollmentRepository.existsByStudent_StudentIdAndSchedule_ScheduleId(studentId, scheduleId)) {
+                    served.add(entry.getWaitlistId());
+                    continue;
+                }
+                if (!enrollmentRepository.findClashingSlots(studentId, scheduleId).isEmpty()) {
+                    continue;
+                }
+                if (!seatInventory.tryReserve(scheduleId)) {
+                    result.full = true;
+                    break;
+                }
+                Enrollment enrollment = new Enrollment();
+                enrollment.setStudent(entry.getStudent());
+                enrollment.setSchedule(entry.getSchedule());
+                enrollment.setEnrollmentDate(LocalDate.now());
+                toInsert.add(enrollment);
+                promotedStudents.add(studentId);
+                served.add(entry.getWaitlistId());
+            }
+            enrollmentRepository.saveAll(toInsert);
+            schedulerMetrics.enrollmentsCreated(SchedulerMetrics.SOURCE_WAITLIST, toInsert.size());
+            timetableService.invalidateAfterCommit(promotedStudents);
+            if (!served.isEmpty()) {
+                waitlistRepository.deleteByIds(served);
+            }
+            result.promoted = toInsert.size();
+            return result;
+        });
+    }
+}
@@ -1,9 +1,6 @@
-DROP TABLE IF EXISTS Enrollments CASCADE;
-DROP TABLE IF EXISTS Schedule CASCADE;
-DROP TABLE IF EXISTS Courses CASCADE;
-DROP TABLE IF EXISTS Classrooms CASCADE;
-DROP TABLE IF EXISTS Professors CASCADE;
-DROP TABLE IF EXISTS Students CASCADE;
+-- Schema as created by database/init-scripts/init.sql up to and including the waitlist. Databases created from
+-- that script (or by ddl-auto=update) are baselined at this version instead of running it; see
+-- spring.flyway.baseline-on-migrate in application.properties.
 
 CREATE TABLE Students (
     student_id SERIAL PRIMARY KEY,
@@ -70,12 +67,32 @@ CREATE TABLE Enrollments (
     CONSTRAINT unique_student_schedule UNIQUE (student_id, schedule_id)
 );
 
+-- Students waiting for a seat in a full schedule, served in (requested_at, waitlist_id) order
+CREATE TABLE Waitlist (
+    waitlist_id SERIAL PRIMARY KEY,
+    student_id INT NOT NULL,
+    schedule_id INT NOT NULL,
+    requested_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_waitlist_student FOREIGN KEY (student_id) REFERENCES Students(student_id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_schedule FOREIGN KEY (schedule_id) REFERENCES Schedule(schedule_id) ON DELETE CASCADE,
+    CONSTRAINT unique_waitlist_student_schedule UNIQUE (student_id, schedule_id)
+);
+
+-- Schedule and Enrollment ids are allocated by Hibernate in blocks of 50 (pooled sequence, allows insert batching),
+-- so these sequences must advance by the same amount
+ALTER SEQUENCE schedule_schedule_id_seq INCREMENT BY 50;
+ALTER SEQUENCE enrollments_enrollment_id_seq INCREMENT BY 50;
+ALTER SEQUENCE waitlist_waitlist_id_seq INCREMENT BY 50;
+
 -- indexes (index names are identifiers too, but typically less critical for JPA mapping errors)
 CREATE INDEX idx_enrollments_student_id ON Enrollments(student_id);
 CREATE INDEX idx_enrollments_schedule_id ON Enrollments(schedule_id);
+CREATE INDEX idx_waitlist_schedule_order ON Waitlist(schedule_id, requested_at, waitlist_id);
 CREATE INDEX idx_schedule_course_id ON Schedule(course_id);
 CREATE INDEX idx_schedule_professor_id ON Schedule(professor_id);
 CREATE INDEX idx_schedule_room_id ON Schedule(room_id);
 CREATE INDEX idx_students_lastname ON Students(last_name); 
 CREATE INDEX idx_professors_lastname ON Professors(last_name); 
-CREATE INDEX idx_courses_code ON Courses(course_code); 
\ No newline at end of file
+CREATE INDEX idx_courses_code ON Courses(course_code); 
+
@@ -0,0 +1,55 @@
+-- Indexes and constraints for the schedule conflict checks. Written to be re-runnable: databases baselined at V1
+-- that were created by the last init-scripts/init.sql already have them.
+--
+-- findRoomConflicts:      room_id = ? AND day_of_week = ? AND semester = ? AND academic_year = ?
+--                         AND start_time < ? AND end_time > ?
+-- findProfessorConflicts: the same with professor_id
+-- findSlotsBySemesterAndAcademicYear (generation, free slots): semester = ? AND academic_year = ?
+--
+-- The room predicate is served by unique_room_time_slot (room_id, day_of_week, semester, academic_year,
+-- start_time): equality on the first four columns, then a range on start_time. The professor predicate only had
+-- idx_schedule_professor_id, so every conflict check read all of a professor's schedules across all terms; it is
+-- now served by the GiST index behind excl_schedule_professor_overlap (equality on all four columns).
+--
+-- The exclusion constraints make the database itself reject overlapping sessions of a room or a professor in the
+-- same term and day, closing the race between the conflict check and the insert in createSchedule/updateSchedule.
+-- Adding them fails if existing rows already overlap; list those first with:
+--   SELECT a.schedule_id, b.schedule_id FROM Schedule a JOIN Schedule b
+--     ON a.room_id = b.room_id AND a.day_of_week = b.day_of_week AND a.semester = b.semester
+--    AND a.academic_year = b.academic_year AND a.schedule_id < b.schedule_id
+--    AND a.start_time < b.end_time AND a.end_time > b.start_time;
+-- (and the same with professor_id). On 1M rows each constraint takes about 90s to build and holds a write lock
+-- on Schedule meanwhile; see database/benchmarks/schedule_conflict_indexes.sql.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Covers the whole term load: an index-only scan once the table is vacuumed.
+CREATE INDEX IF NOT EXISTS idx_schedule_term
+    ON Schedule (semester, academic_year) INCLUDE (schedule_id, room_id, professor_id, day_of_week, start_time, end_time);
+
+-- semester and academic_year are strongly correlated; without this the planner underestimates a term's rows by
+-- the number of semesters per year.
+CREATE STATISTICS IF NOT EXISTS stat_schedule_term (dependencies) ON semester, academic_year FROM Schedule;
+
+-- Prefixes of unique_room_time_slot and of the professor exclusion index (which also serves the professor
+-- foreign key checks); no longer needed.
+DROP INDEX IF EXISTS idx_schedule_professor_id;
+DROP INDEX IF EXISTS idx_schedule_room_id;
+
+-- Times are placed on an arbitrary fixed date so they can form a tsrange; '[)' matches the half-open overlap
+-- test of the application (a session ending at 10:00 does not clash with one starting at 10:00).
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'excl_schedule_room_overlap') THEN
+        ALTER TABLE Schedule ADD CONSTRAINT excl_schedule_room_overlap EXCLUDE USING gist (
+            room_id WITH =, day_of_week WITH =, semester WITH =, academic_year WITH =,
+            tsrange(DATE '2000-01-01' + start_time, DATE '2000-01-01' + end_time, '[)') WITH &&);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'excl_schedule_professor_overlap') THEN
+        ALTER TABLE Schedule ADD CONSTRAINT excl_schedule_professor_overlap EXCLUDE USING gist (
+            professor_id WITH =, day_of_week WITH =, semester WITH =, academic_year WITH =,
+            tsrange(DATE '2000-01-01' + start_time, DATE '2000-01-01' + end_time, '[)') WITH &&);
+    END IF;
+END $$;
+
+ANALYZE Schedule;
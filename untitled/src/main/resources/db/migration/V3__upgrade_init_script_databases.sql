@@ -0,0 +1,23 @@
+-- Completes databases baselined at V1 (see application.properties). They were created by an init-scripts/init.sql
+-- that may predate the waitlist and the pooled sequences, and baselining marks V1 as applied without running it.
+-- Re-runnable: on a database created by V1 itself or by the last init.sql nothing changes. A later version rather
+-- than V1.1 so that databases already at V2 get it too.
+
+CREATE TABLE IF NOT EXISTS Waitlist (
+    waitlist_id SERIAL PRIMARY KEY,
+    student_id INT NOT NULL,
+    schedule_id INT NOT NULL,
+    requested_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_waitlist_student FOREIGN KEY (student_id) REFERENCES Students(student_id) ON DELETE CASCADE,
+    CONSTRAINT fk_waitlist_schedule FOREIGN KEY (schedule_id) REFERENCES Schedule(schedule_id) ON DELETE CASCADE,
+    CONSTRAINT unique_waitlist_student_schedule UNIQUE (student_id, schedule_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_waitlist_schedule_order ON Waitlist(schedule_id, requested_at, waitlist_id);
+
+-- See V1: Hibernate allocates these ids in blocks of 50. The next value handed out is then 50 past the last one
+-- used, so ids already in the tables are never allocated again.
+ALTER SEQUENCE schedule_schedule_id_seq INCREMENT BY 50;
+ALTER SEQUENCE enrollments_enrollment_id_seq INCREMENT BY 50;
+ALTER SEQUENCE waitlist_waitlist_id_seq INCREMENT BY 50;
@@ -0,0 +1,202 @@
+package com.javaproj.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Routing and lag checks of ReadReplicas and ReplicaRoutingDataSource against stubbed pools: each pool hands out
+// one connection, and a replica answers the lag query with the lag set in the test. Runs everywhere, unlike the
+// end-to-end ReplicaRoutingDataSourceTest.
+class ReadReplicasTest {
+
+    private static final long MAX_LAG_MS = 500;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, Double> lags = new HashMap<>();
+    private final Map<String, Boolean> reachable = new HashMap<>();
+    private final Map<String, Connection> connections = new HashMap<>();
+
+    private HikariDataSource primaryPool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryPool = pool("primary");
+        when(primaryPool.isAutoCommit()).thenReturn(true);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnceItHasBeenChecked() throws SQLException {
+        ReadReplicas replicas = replicas("replica-1");
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primaryPool, replicas);
+
+        assertEquals("primary", readOnlyConnection(dataSource), "no read should go to a replica before its first check");
+
+        replicas.checkLag();
+
+        assertEquals("replica-1", readOnlyConnection(dataSource));
+        assertEquals("primary", connection(readWrite(dataSource), dataSource));
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> readOnlyConnection(dataSource)));
+        assertEquals(1, meterRegistry.counter("db.replica.connections", "replica", "replica-1").count());
+        assertEquals(0, meterRegistry.get("db.replica.lag").tag("replica", "replica-1").gauge().value());
+    }
+
+    @Test
+    void replicasInUseTakeTurnsAndALaggingOneIsLeftOut() throws SQLException {
+        ReadReplicas replicas = replicas("replica-1", "replica-2");
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primaryPool, replicas);
+        replicas.checkLag();
+
+        assertEquals(List.of("replica-1", "replica-2", "replica-1", "replica-2"), readOnlyConnections(dataSource, 4));
+
+        lags.put("replica-2", 2000.0);
+        replicas.checkLag();
+
+        assertEquals(List.of("replica-1", "replica-1", "replica-1", "replica-1"), readOnlyConnections(dataSource, 4));
+        assertEquals(0, meterRegistry.get("db.replica.available").tag("replica", "replica-2").gauge().value());
+        assertEquals(2000, meterRegistry.get("db.replica.lag").tag("replica", "replica-2").gauge().value());
+        assertEquals(0, meterRegistry.counter("db.replica.fallbacks").count());
+
+        lags.put("replica-2", (double) MAX_LAG_MS);
+        replicas.checkLag();
+
+        assertEquals(List.of("replica-1", "replica-2"), readOnlyConnections(dataSource, 2));
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileEveryReplicaLags() throws SQLException {
+        ReadReplicas replicas = replicas("replica-1");
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primaryPool, replicas);
+        lags.put("replica-1", MAX_LAG_MS + 1.0);
+        replicas.checkLag();
+
+        assertEquals("primary", readOnlyConnection(dataSource));
+        assertEquals(1, meterRegistry.counter("db.replica.fallbacks").count());
+        assertEquals(0, meterRegistry.counter("db.replica.connections", "replica", "replica-1").count());
+
+        lags.put("replica-1", 0.0);
+        replicas.checkLag();
+
+        assertEquals("replica-1", readOnlyConnection(dataSource));
+        assertEquals(1, meterRegistry.counter("db.replica.fallbacks").count());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsUnreachable() throws SQLException {
+        ReadReplicas replicas = replicas("replica-1");
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primaryPool, replicas);
+        reachable.put("replica-1", false);
+        replicas.checkLag();
+
+        assertEquals("primary", readOnlyConnection(dataSource));
+        assertTrue(Double.isNaN(meterRegistry.get("db.replica.lag").tag("replica", "replica-1").gauge().value()));
+        assertEquals(0, meterRegistry.get("db.replica.available").tag("replica", "replica-1").gauge().value());
+
+        reachable.put("replica-1", true);
+        replicas.checkLag();
+
+        assertEquals("replica-1", readOnlyConnection(dataSource));
+    }
+
+    @Test
+    void aReplicaThatFailsToGiveAConnectionIsLeftOutUntilItsNextCheck() throws SQLException {
+        ReadReplicas replicas = replicas("replica-1", "replica-2");
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primaryPool, replicas);
+        replicas.checkLag();
+        reachable.put("replica-1", false);
+
+        // The failing replica passes the read on to the next one in use.
+        assertEquals(List.of("replica-2", "replica-2", "replica-2"), readOnlyConnections(dataSource, 3));
+        assertTrue(Double.isNaN(meterRegistry.get("db.replica.lag").tag("replica", "replica-1").gauge().value()));
+
+        reachable.put("replica-1", true);
+        assertEquals("replica-2", readOnlyConnection(dataSource));
+
+        replicas.checkLag();
+
+        assertEquals(List.of("replica-1", "replica-2"), readOnlyConnections(dataSource, 2));
+    }
+
+    private ReadReplicas replicas(String... names) throws SQLException {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (String name : names) {
+            lags.put(name, 0.0);
+            pools.add(pool(name));
+        }
+        return new ReadReplicas(pools, MAX_LAG_MS, meterRegistry);
+    }
+
+    // A pool whose single connection answers the lag query with lags.get(name), and that throws like an exhausted
+    // Hikari pool while reachable.get(name) is false.
+    private HikariDataSource pool(String name) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenAnswer(invocation -> lags.get(name));
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        connections.put(name, connection);
+
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getPoolName()).thenReturn(name);
+        when(pool.getConnection()).thenAnswer(invocation -> {
+            if (!reachable.getOrDefault(name, true)) {
+                throw new SQLTransientConnectionException(name + " - Connection is not available");
+            }
+            return connection;
+        });
+        return pool;
+    }
+
+    private List<String> readOnlyConnections(ReplicaRoutingDataSource dataSource, int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add(readOnlyConnection(dataSource));
+        }
+        return names;
+    }
+
+    private String readOnlyConnection(ReplicaRoutingDataSource dataSource) {
+        TransactionTemplate readOnly = readWrite(dataSource);
+        readOnly.setReadOnly(true);
+        return connection(readOnly, dataSource);
+    }
+
+    private static TransactionTemplate readWrite(ReplicaRoutingDataSource dataSource) {
+        return new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    // The pool the transaction's physical connection came from. The routing data source only takes it at the first
+    // use, which unwrapping the lazy connection stands in for.
+    private String connection(TransactionTemplate transaction, ReplicaRoutingDataSource dataSource) {
+        Connection target = transaction.execute(status ->
+                ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection());
+        for (Map.Entry<String, Connection> entry : connections.entrySet()) {
+            if (entry.getValue() == target) {
+                return entry.getKey();
+            }
+        }
+        throw new AssertionError("connection from no known pool: " + target);
+    }
+}
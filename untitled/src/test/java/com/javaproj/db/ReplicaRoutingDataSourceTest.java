@@ -0,0 +1,219 @@
+package com.javaproj.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+// Routing between a real PostgreSQL primary and a streaming standby of it. The standby is a copy of the stopped
+// primary's data directory (the embedded binaries have no pg_basebackup); replication lag is simulated by pausing
+// WAL replay on it. Skipped when run as root, which PostgreSQL refuses; ReadReplicasTest covers the same routing
+// with stubbed pools.
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MS = 500;
+
+    @TempDir
+    static Path directory;
+
+    private static EmbeddedPostgres primaryServer;
+    private static EmbeddedPostgres standbyServer;
+    private static HikariDataSource primaryPool;
+    private static HikariDataSource replicaPool;
+    private static JdbcTemplate primaryJdbc;
+    private static JdbcTemplate standbyJdbc;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplicas replicas;
+    private ReplicaRoutingDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeAll
+    static void startServers() throws IOException {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL does not run as root");
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Path primaryDirectory = directory.resolve("primary");
+        Path standbyDirectory = directory.resolve("standby");
+
+        primaryServer = startServer(primaryDirectory, port);
+        new JdbcTemplate(primaryServer.getPostgresDatabase()).execute("CREATE TABLE marker (id INT PRIMARY KEY)");
+        primaryServer.close();
+
+        FileSystemUtils.copyRecursively(primaryDirectory, standbyDirectory);
+        Files.setPosixFilePermissions(standbyDirectory, PosixFilePermissions.fromString("rwx------"));
+        Files.createFile(standbyDirectory.resolve("standby.signal"));
+        Files.writeString(standbyDirectory.resolve("postgresql.auto.conf"),
+                "primary_conninfo = 'host=localhost port=" + port + " user=postgres'\n", StandardOpenOption.APPEND);
+
+        primaryServer = startServer(primaryDirectory, port);
+        standbyServer = startServer(standbyDirectory, 0);
+        primaryJdbc = new JdbcTemplate(primaryServer.getPostgresDatabase());
+        standbyJdbc = new JdbcTemplate(standbyServer.getPostgresDatabase());
+
+        primaryPool = pool("primary", primaryServer);
+        replicaPool = pool("replica-1", standbyServer);
+        replicaPool.setReadOnly(true);
+    }
+
+    @AfterAll
+    static void stopServers() throws IOException {
+        if (primaryPool != null) {
+            primaryPool.close();
+            replicaPool.close();
+            standbyServer.close();
+            primaryServer.close();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        standbyJdbc.execute("SELECT pg_wal_replay_resume()");
+        meterRegistry = new SimpleMeterRegistry();
+        replicas = new ReadReplicas(List.of(replicaPool), MAX_LAG_MS, meterRegistry);
+        dataSource = new ReplicaRoutingDataSource(primaryPool, replicas);
+        jdbc = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnceItHasBeenChecked() {
+        assertFalse(readOnTheReplica(), "no read should go to a replica before its first check");
+
+        replicas.checkLag();
+
+        assertTrue(readOnTheReplica());
+        Boolean writeOnTheReplica = readWrite.execute(status -> inRecovery());
+        assertFalse(writeOnTheReplica);
+        boolean onPrimaryUsedTheReplica = ReplicaRoutingDataSource.onPrimary(this::readOnTheReplica);
+        assertFalse(onPrimaryUsedTheReplica);
+        assertEquals(1, meterRegistry.counter("db.replica.connections", "replica", "replica-1").count());
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLags() {
+        // The standby's lag is measured from the last transaction it replayed, so let it replay one first.
+        insertAndWaitForReplay(1);
+        replicas.checkLag();
+        assertTrue(readOnTheReplica());
+
+        standbyJdbc.execute("SELECT pg_wal_replay_pause()");
+        primaryJdbc.update("INSERT INTO marker VALUES (2)");
+        await(() -> {
+            replicas.checkLag();
+            return meterRegistry.get("db.replica.available").gauge().value() == 0;
+        }, "the paused standby was never reported as lagging");
+
+        assertTrue(meterRegistry.get("db.replica.lag").gauge().value() > MAX_LAG_MS);
+        assertFalse(readOnTheReplica());
+        assertEquals(1, meterRegistry.counter("db.replica.fallbacks").count());
+
+        standbyJdbc.execute("SELECT pg_wal_replay_resume()");
+        await(() -> {
+            replicas.checkLag();
+            return meterRegistry.get("db.replica.available").gauge().value() == 1;
+        }, "the standby was not used again after catching up");
+        assertTrue(readOnTheReplica());
+        Integer replayed = readOnly.execute(status -> jdbc.queryForObject("SELECT COUNT(*) FROM marker WHERE id = 2", Integer.class));
+        assertEquals(1, replayed);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsUnreachable() {
+        HikariDataSource unreachable = new HikariDataSource();
+        unreachable.setPoolName("replica-2");
+        unreachable.setJdbcUrl("jdbc:postgresql://localhost:1/postgres");
+        unreachable.setConnectionTimeout(250);
+        unreachable.setInitializationFailTimeout(-1);
+        ReadReplicas onlyUnreachable = new ReadReplicas(List.of(unreachable), MAX_LAG_MS, meterRegistry);
+        try {
+            onlyUnreachable.checkLag();
+            dataSource = new ReplicaRoutingDataSource(primaryPool, onlyUnreachable);
+            jdbc = new JdbcTemplate(dataSource);
+            readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            readOnly.setReadOnly(true);
+
+            assertFalse(readOnTheReplica());
+            assertTrue(Double.isNaN(meterRegistry.get("db.replica.lag").tag("replica", "replica-2").gauge().value()));
+        } finally {
+            onlyUnreachable.close();
+        }
+    }
+
+    private boolean readOnTheReplica() {
+        return readOnly.execute(status -> inRecovery());
+    }
+
+    private boolean inRecovery() {
+        return jdbc.queryForObject("SELECT pg_is_in_recovery()", Boolean.class);
+    }
+
+    private static void insertAndWaitForReplay(int id) {
+        primaryJdbc.update("INSERT INTO marker VALUES (?)", id);
+        await(() -> standbyJdbc.queryForObject("SELECT COUNT(*) FROM marker WHERE id = ?", Integer.class, id) == 1,
+                "the standby never replayed the insert");
+    }
+
+    private static void await(BooleanSupplier condition, String message) {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail(message);
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(message);
+            }
+        }
+    }
+
+    private static EmbeddedPostgres startServer(Path dataDirectory, int port) throws IOException {
+        EmbeddedPostgres.Builder builder = EmbeddedPostgres.builder()
+                .setDataDirectory(dataDirectory)
+                .setCleanDataDirectory(false);
+        if (port != 0) {
+            builder.setPort(port);
+        }
+        return builder.start();
+    }
+
+    private static HikariDataSource pool(String name, EmbeddedPostgres server) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(server.getJdbcUrl("postgres", "postgres"));
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+}
@@ -0,0 +1,205 @@
+package com.javaproj.services;
+
+import com.javaproj.db.BatchWriter;
+import com.javaproj.db.Enrollment;
+import com.javaproj.db.EnrollmentRepository;
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.db.SeatCount;
+import com.javaproj.db.StudentRepository;
+import com.javaproj.db.TermSlot;
+import com.javaproj.dto.EnrollmentImportResultDTO;
+import com.javaproj.dto.EnrollmentImportRowDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Bulk import against stubbed repositories: which rows are created and how the others are reported.
+class EnrollmentServiceTest {
+
+    private final Map<Integer, TermSlot> schedules = new HashMap<>();
+    private final Map<Integer, Integer> capacities = new HashMap<>();
+    private final Set<Integer> waitlisted = new HashSet<>();
+    private final List<Enrollment> persisted = new ArrayList<>();
+    private final TransactionTemplate transaction = new TransactionTemplate(new TestTransactionManager());
+
+    private SeatInventory seatInventory;
+    private SchedulerMetrics schedulerMetrics;
+    private EnrollmentService enrollmentService;
+
+    @BeforeEach
+    void setUp() {
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.findExistingIds(anyCollection())).thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<Integer>>getArgument(0)));
+
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        when(scheduleRepository.findTermSlotsByIds(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Integer>>getArgument(0).stream()
+                .filter(schedules::containsKey)
+                .map(schedules::get)
+                .collect(Collectors.toList()));
+        when(scheduleRepository.findSeatCounts(anyCollection())).thenAnswer(invocation -> invocation.<Collection<Integer>>getArgument(0).stream()
+                .filter(capacities::containsKey)
+                .map(id -> seatCount(id, capacities.get(id)))
+                .collect(Collectors.toList()));
+
+        EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+        when(enrollmentRepository.findTermSlotsByStudentIds(anyCollection())).thenReturn(List.of());
+
+        BatchWriter batchWriter = mock(BatchWriter.class);
+        when(batchWriter.persistAll(anyCollection())).thenAnswer(invocation -> {
+            List<Enrollment> enrollments = new ArrayList<>(invocation.<Collection<Enrollment>>getArgument(0));
+            for (Enrollment enrollment : enrollments) {
+                enrollment.setEnrollmentId(1000 + persisted.size());
+                persisted.add(enrollment);
+            }
+            return enrollments;
+        });
+
+        WaitlistService waitlistService = mock(WaitlistService.class);
+        when(waitlistService.hasWaitlist(anyInt())).thenAnswer(invocation -> waitlisted.contains(invocation.<Integer>getArgument(0)));
+
+        seatInventory = new SeatInventory(scheduleRepository);
+        schedulerMetrics = mock(SchedulerMetrics.class);
+        enrollmentService = new EnrollmentService(enrollmentRepository, studentRepository, scheduleRepository,
+                mock(ReferenceDataCache.class), batchWriter, seatInventory, waitlistService,
+                mock(TimetableService.class), schedulerMetrics, mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    void importLeavesTheSeatsOfAWaitlistedScheduleToTheWaitlist() {
+        schedule(10, "08:00", "10:00", 5);
+        schedule(11, "10:00", "12:00", 5);
+        waitlisted.add(10);
+
+        EnrollmentImportResultDTO result = importRows(request(1, 10), request(2, 11), request(3, 10));
+
+        assertEquals(List.of(EnrollmentImportRowDTO.Status.WAITLISTED, EnrollmentImportRowDTO.Status.CREATED,
+                EnrollmentImportRowDTO.Status.WAITLISTED), statuses(result));
+        assertEquals("Schedule ID 10 has a waitlist.", result.getRows().get(0).getMessage());
+        assertEquals(1, persisted.size());
+        assertEquals(5, seatInventory.getAvailable(10));
+        assertEquals(4, seatInventory.getAvailable(11));
+        verify(schedulerMetrics).enrollmentsCreated(SchedulerMetrics.SOURCE_IMPORT, 1);
+    }
+
+    @Test
+    void importStopsAtCapacityWithoutAWaitlist() {
+        schedule(10, "08:00", "10:00", 1);
+
+        EnrollmentImportResultDTO result = importRows(request(1, 10), request(2, 10));
+
+        assertEquals(List.of(EnrollmentImportRowDTO.Status.CREATED, EnrollmentImportRowDTO.Status.SCHEDULE_FULL),
+                statuses(result));
+        assertEquals(0, seatInventory.getAvailable(10));
+    }
+
+    @Test
+    void gradesOutsideTheCheckConstraintAreReportedPerRow() {
+        schedule(10, "08:00", "10:00", 5);
+        EnrollmentService.EnrollmentRequest tooHigh = request(1, 10);
+        tooHigh.setGrade(new BigDecimal("100.01"));
+        EnrollmentService.EnrollmentRequest negative = request(2, 10);
+        negative.setGrade(new BigDecimal("-1"));
+        EnrollmentService.EnrollmentRequest full = request(3, 10);
+        full.setGrade(new BigDecimal("100"));
+
+        EnrollmentImportResultDTO result = importRows(tooHigh, negative, full);
+
+        assertEquals(List.of(EnrollmentImportRowDTO.Status.INVALID, EnrollmentImportRowDTO.Status.INVALID,
+                EnrollmentImportRowDTO.Status.CREATED), statuses(result));
+        assertEquals("grade must be between 0 and 100.", result.getRows().get(0).getMessage());
+        assertEquals(1, persisted.size());
+        assertEquals(4, seatInventory.getAvailable(10));
+    }
+
+    @Test
+    void csvRowsAreReportedWithTheirLineNumbers() {
+        schedule(10, "08:00", "10:00", 5);
+        String csv = "studentId,scheduleId,enrollmentDate,grade\n" +
+                "\n" +
+                "1,10\n" +
+                "2,99\n" +
+                "\n" +
+                "3,10,,101\n";
+
+        EnrollmentImportResultDTO result = transaction.execute(status ->
+                enrollmentService.importEnrollments(enrollmentService.parseEnrollmentCsv(csv)));
+
+        assertEquals(List.of(3, 4, 6), result.getRows().stream().map(EnrollmentImportRowDTO::getRow).collect(Collectors.toList()));
+        assertEquals(List.of(EnrollmentImportRowDTO.Status.CREATED, EnrollmentImportRowDTO.Status.SCHEDULE_NOT_FOUND,
+                EnrollmentImportRowDTO.Status.INVALID), statuses(result));
+    }
+
+    @Test
+    void jsonRowsAreNumberedByPosition() {
+        schedule(10, "08:00", "10:00", 5);
+
+        EnrollmentImportResultDTO result = importRows(request(1, 10), request(2, 99));
+
+        assertEquals(List.of(1, 2), result.getRows().stream().map(EnrollmentImportRowDTO::getRow).collect(Collectors.toList()));
+    }
+
+    private EnrollmentImportResultDTO importRows(EnrollmentService.EnrollmentRequest... requests) {
+        return transaction.execute(status -> enrollmentService.importEnrollments(List.of(requests)));
+    }
+
+    private static List<EnrollmentImportRowDTO.Status> statuses(EnrollmentImportResultDTO result) {
+        return result.getRows().stream().map(EnrollmentImportRowDTO::getStatus).collect(Collectors.toList());
+    }
+
+    private static EnrollmentService.EnrollmentRequest request(Integer studentId, Integer scheduleId) {
+        EnrollmentService.EnrollmentRequest request = new EnrollmentService.EnrollmentRequest();
+        request.setStudentId(studentId);
+        request.setScheduleId(scheduleId);
+        return request;
+    }
+
+    private void schedule(Integer scheduleId, String start, String end, int capacity) {
+        schedules.put(scheduleId, new TermSlot() {
+            @Override
+            public Integer getScheduleId() { return scheduleId; }
+            @Override
+            public String getCourseCode() { return "C" + scheduleId; }
+            @Override
+            public String getDayOfWeek() { return "Luni"; }
+            @Override
+            public LocalTime getStartTime() { return LocalTime.parse(start); }
+            @Override
+            public LocalTime getEndTime() { return LocalTime.parse(end); }
+            @Override
+            public String getSemester() { return "1"; }
+            @Override
+            public String getAcademicYear() { return "2026-2027"; }
+        });
+        capacities.put(scheduleId, capacity);
+    }
+
+    private static SeatCount seatCount(Integer scheduleId, int capacity) {
+        return new SeatCount() {
+            @Override
+            public Integer getScheduleId() { return scheduleId; }
+            @Override
+            public Integer getCapacity() { return capacity; }
+            @Override
+            public Long getEnrolled() { return 0L; }
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.javaproj.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Free windows at the edges of the bitmap: interval bounds, 64-minute word boundaries, the end of the day and
+// end times with seconds.
+class OccupancyIndexTest {
+
+    private static final Integer ROOM = 1;
+    private static final Integer PROFESSOR = 7;
+    private static final String DAY = "Luni";
+
+    private final OccupancyIndex index = new OccupancyIndex();
+
+    @Test
+    void unusedResourceIsFreeForTheWholeRange() {
+        assertEquals(List.of("08:00-20:00"), roomWindows("08:00", "20:00", 60));
+        assertEquals(List.of("08:00-20:00"), professorWindows("08:00", "20:00", 60));
+        assertEquals(List.of(), roomWindows("08:00", "08:30", 60));
+    }
+
+    @Test
+    void occupiedIntervalsAreHalfOpen() {
+        occupy("10:00", "12:00");
+
+        assertEquals(List.of("08:00-10:00", "12:00-20:00"), roomWindows("08:00", "20:00", 1));
+        assertTrue(index.isRoomFree(ROOM, DAY, LocalTime.parse("09:00"), LocalTime.parse("10:00")));
+        assertTrue(index.isRoomFree(ROOM, DAY, LocalTime.parse("12:00"), LocalTime.parse("13:00")));
+        assertFalse(index.isRoomFree(ROOM, DAY, LocalTime.parse("11:59"), LocalTime.parse("12:30")));
+    }
+
+    @Test
+    void adjacentIntervalsLeaveNoGap() {
+        occupy("09:00", "10:00");
+        occupy("10:00", "11:00");
+
+        assertEquals(List.of("08:00-09:00", "11:00-12:00"), roomWindows("08:00", "12:00", 1));
+    }
+
+    @Test
+    void rangeStartingOrEndingInsideAnOccupiedIntervalIsClipped() {
+        occupy("08:00", "09:00");
+        occupy("11:00", "13:00");
+
+        assertEquals(List.of("09:00-11:00"), roomWindows("08:30", "12:00", 1));
+        assertEquals(List.of(), roomWindows("08:15", "08:45", 1));
+    }
+
+    @Test
+    void windowsShorterThanTheMinimumAreDropped() {
+        occupy("09:00", "10:00");
+        occupy("11:30", "12:00");
+
+        assertEquals(List.of("08:00-09:00", "10:00-11:30", "12:00-14:00"), roomWindows("08:00", "14:00", 60));
+        assertEquals(List.of("10:00-11:30", "12:00-14:00"), roomWindows("08:00", "14:00", 61));
+        assertEquals(List.of("12:00-14:00"), roomWindows("08:00", "14:00", 91));
+    }
+
+    @Test
+    void boundariesOnWordEdges() {
+        // Minutes 64 and 128 start the second and third words of the bitmap.
+        occupy("00:00", "01:04");
+        occupy("02:08", "03:12");
+
+        assertEquals(List.of("01:04-02:08", "03:12-04:00"), roomWindows("00:00", "04:00", 1));
+        assertEquals(List.of("01:04-02:08"), roomWindows("01:03", "02:09", 1));
+        assertEquals(List.of("01:04-01:05"), roomWindows("01:04", "01:05", 1));
+    }
+
+    @Test
+    void occupiedRangeSpanningSeveralWords() {
+        occupy("00:30", "05:30");
+
+        assertEquals(List.of("00:00-00:30", "05:30-06:00"), roomWindows("00:00", "06:00", 1));
+    }
+
+    @Test
+    void endOfDayIsReportedAsLocalTimeMax() {
+        occupy("20:00", "22:00");
+
+        List<OccupancyIndex.FreeWindow> windows = index.findFreeRoomWindows(ROOM, DAY,
+                LocalTime.parse("21:00"), LocalTime.MAX, 1);
+
+        assertEquals(1, windows.size());
+        assertEquals(LocalTime.parse("22:00"), windows.get(0).getStartTime());
+        assertEquals(LocalTime.MAX, windows.get(0).getEndTime());
+        assertEquals(120, windows.get(0).getMinutes());
+    }
+
+    @Test
+    void endTimeWithSecondsCoversItsMinute() {
+        index.occupy(ROOM, PROFESSOR, DAY, LocalTime.parse("09:00"), LocalTime.parse("10:00:30"));
+
+        assertEquals(List.of("08:00-09:00", "10:01-11:00"), roomWindows("08:00", "11:00", 1));
+    }
+
+    @Test
+    void emptyOrReversedRangeHasNoWindows() {
+        assertEquals(List.of(), roomWindows("10:00", "10:00", 0));
+        assertEquals(List.of(), roomWindows("11:00", "10:00", 0));
+    }
+
+    @Test
+    void otherDaysAndResourcesAreUnaffected() {
+        occupy("08:00", "20:00");
+
+        assertEquals(List.of(), roomWindows("08:00", "20:00", 1));
+        assertEquals(List.of(), professorWindows("08:00", "20:00", 1));
+        assertEquals(List.of("08:00-20:00"), format(index.findFreeRoomWindows(ROOM, "Marti",
+                LocalTime.parse("08:00"), LocalTime.parse("20:00"), 1)));
+        assertEquals(List.of("08:00-20:00"), format(index.findFreeRoomWindows(2, DAY,
+                LocalTime.parse("08:00"), LocalTime.parse("20:00"), 1)));
+    }
+
+    @Test
+    void releasedIntervalIsFreeAgain() {
+        occupy("09:00", "10:00");
+        occupy("10:00", "11:00");
+        index.release(ROOM, PROFESSOR, DAY, LocalTime.parse("09:00"), LocalTime.parse("10:00"));
+
+        assertEquals(List.of("08:00-10:00", "11:00-12:00"), roomWindows("08:00", "12:00", 1));
+        assertEquals(List.of("08:00-10:00", "11:00-12:00"), professorWindows("08:00", "12:00", 1));
+    }
+
+    private void occupy(String start, String end) {
+        index.occupy(ROOM, PROFESSOR, DAY, LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    private List<String> roomWindows(String from, String to, int minMinutes) {
+        return format(index.findFreeRoomWindows(ROOM, DAY, LocalTime.parse(from), LocalTime.parse(to), minMinutes));
+    }
+
+    private List<String> professorWindows(String from, String to, int minMinutes) {
+        return format(index.findFreeProfessorWindows(PROFESSOR, DAY, LocalTime.parse(from), LocalTime.parse(to), minMinutes));
+    }
+
+    private static List<String> format(List<OccupancyIndex.FreeWindow> windows) {
+        return windows.stream()
+                .map(window -> window.getStartTime() + "-" + window.getEndTime())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,113 @@
+package com.javaproj.services;
+
+import com.javaproj.config.CacheConfig;
+import com.javaproj.db.Classroom;
+import com.javaproj.db.ClassroomRepository;
+import com.javaproj.db.Course;
+import com.javaproj.db.CourseRepository;
+import com.javaproj.db.Professor;
+import com.javaproj.db.ProfessorRepository;
+import com.javaproj.dto.ClassroomDTO;
+import com.javaproj.dto.CourseDTO;
+import com.javaproj.dto.ProfessorDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Warm-up against the caches of CacheConfig, with an update committing while the warm-up reads.
+class ReferenceDataCacheTest {
+
+    private final CourseRepository courseRepository = mock(CourseRepository.class);
+    private final ProfessorRepository professorRepository = mock(ProfessorRepository.class);
+    private final ClassroomRepository classroomRepository = mock(ClassroomRepository.class);
+    private final CacheManager cacheManager = new CacheConfig().cacheManager(100, 10);
+
+    private ReferenceDataCache referenceDataCache;
+
+    @BeforeEach
+    void setUp() {
+        when(professorRepository.findAll()).thenReturn(List.of(professor(7, "Ana")));
+        when(classroomRepository.findAll()).thenReturn(List.of(classroom(3)));
+        referenceDataCache = new ReferenceDataCache(courseRepository, professorRepository, classroomRepository,
+                cacheManager, true);
+    }
+
+    @Test
+    void warmUpCachesEveryRow() {
+        when(courseRepository.findAll()).thenReturn(List.of(course(1, "Algebra"), course(2, "Geometry")));
+
+        referenceDataCache.fillAll().join();
+
+        assertEquals("Algebra", cachedCourse(1).getCourseName());
+        assertEquals("Geometry", cachedCourse(2).getCourseName());
+        assertEquals("Ana", ((ProfessorDTO) cacheManager.getCache(CacheConfig.PROFESSORS).get(7).get()).getFirstName());
+        assertEquals("A3", ((ClassroomDTO) cacheManager.getCache(CacheConfig.CLASSROOMS).get(3).get()).getRoomNumber());
+    }
+
+    @Test
+    void rowsReadBeforeAnUpdateCommittedAreNotCached() {
+        // Course 1 is renamed and evicted (after its commit) while the warm-up still holds the old rows.
+        when(courseRepository.findAll()).thenAnswer(invocation -> {
+            cacheManager.getCache(CacheConfig.COURSES).evict(1);
+            return List.of(course(1, "Algebra"), course(2, "Geometry"));
+        });
+
+        referenceDataCache.fillAll().join();
+
+        assertNull(cacheManager.getCache(CacheConfig.COURSES).get(1));
+        assertNull(cacheManager.getCache(CacheConfig.COURSES).get(2));
+        // The other tables are unaffected.
+        assertEquals("Ana", ((ProfessorDTO) cacheManager.getCache(CacheConfig.PROFESSORS).get(7).get()).getFirstName());
+    }
+
+    @Test
+    void valuesLoadedByReadersDuringTheWarmUpAreKept() {
+        Cache courses = cacheManager.getCache(CacheConfig.COURSES);
+        when(courseRepository.findAll()).thenAnswer(invocation -> {
+            courses.put(1, new CourseDTO(1, "C1", "Algebra II"));
+            return List.of(course(1, "Algebra"), course(2, "Geometry"));
+        });
+
+        referenceDataCache.fillAll().join();
+
+        assertEquals("Algebra II", cachedCourse(1).getCourseName());
+        assertEquals("Geometry", cachedCourse(2).getCourseName());
+    }
+
+    private CourseDTO cachedCourse(Integer courseId) {
+        Cache.ValueWrapper value = cacheManager.getCache(CacheConfig.COURSES).get(courseId);
+        return value == null ? null : (CourseDTO) value.get();
+    }
+
+    private static Course course(int courseId, String name) {
+        Course course = new Course();
+        course.setCourseId(courseId);
+        course.setCourseCode("C" + courseId);
+        course.setCourseName(name);
+        return course;
+    }
+
+    private static Professor professor(int professorId, String firstName) {
+        Professor professor = new Professor();
+        professor.setProfessorId(professorId);
+        professor.setFirstName(firstName);
+        professor.setLastName("Pop");
+        return professor;
+    }
+
+    private static Classroom classroom(int roomId) {
+        Classroom classroom = new Classroom();
+        classroom.setRoomId(roomId);
+        classroom.setRoomNumber("A" + roomId);
+        classroom.setCapacity(30);
+        return classroom;
+    }
+}
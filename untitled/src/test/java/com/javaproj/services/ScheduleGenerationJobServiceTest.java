@@ -0,0 +1,161 @@
+package com.javaproj.services;
+
+import com.javaproj.config.SchedulingConfig;
+import com.javaproj.dto.ScheduleGenerationJobDTO;
+import com.javaproj.dto.ScheduleGenerationRequest;
+import com.javaproj.dto.ScheduleResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Cancellation of queued and running jobs on a one-thread generation executor. The engine is a stub that waits for
+// the test before returning, the way generateAutomaticSchedule only looks at the progress at its checkpoints.
+class ScheduleGenerationJobServiceTest {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ScheduleService scheduleService;
+    private ThreadPoolTaskExecutor executor;
+    private ScheduleGenerationJobService jobService;
+
+    @BeforeEach
+    void setUp() {
+        scheduleService = mock(ScheduleService.class);
+        executor = new SchedulingConfig().scheduleGenerationExecutor(1, 5);
+        jobService = new ScheduleGenerationJobService(scheduleService, executor, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void queuedJobIsCancelledImmediatelyAndNeverRuns() throws InterruptedException {
+        ScheduleGenerationRequest running = request();
+        ScheduleGenerationRequest queued = request();
+        when(scheduleService.generateAutomaticSchedule(same(running), any())).thenAnswer(invocation -> {
+            started.countDown();
+            await(release);
+            return List.of();
+        });
+        String runningId = jobService.submit(running).getJobId();
+        await(started);
+        String queuedId = jobService.submit(queued).getJobId();
+
+        ScheduleGenerationJobDTO cancelled = jobService.cancel(queuedId).orElseThrow();
+
+        assertEquals("CANCELLED", cancelled.getStatus());
+        release.countDown();
+        awaitStatus(runningId, "COMPLETED");
+        executor.shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(10, TimeUnit.SECONDS));
+        verify(scheduleService, never()).generateAutomaticSchedule(same(queued), any());
+        assertEquals("CANCELLED", status(queuedId));
+    }
+
+    @Test
+    void runningJobStaysRunningUntilTheEngineStops() {
+        ScheduleGenerationRequest request = request();
+        when(scheduleService.generateAutomaticSchedule(same(request), any())).thenAnswer(invocation -> {
+            SchedulingProgress progress = invocation.getArgument(1);
+            started.countDown();
+            await(release);
+            if (progress.isCancelled()) {
+                throw new CancellationException("Schedule generation was cancelled.");
+            }
+            return List.of();
+        });
+        String jobId = jobService.submit(request).getJobId();
+        await(started);
+
+        ScheduleGenerationJobDTO cancelling = jobService.cancel(jobId).orElseThrow();
+
+        assertEquals("RUNNING", cancelling.getStatus());
+        release.countDown();
+        awaitStatus(jobId, "CANCELLED");
+        ScheduleGenerationJobDTO job = jobService.getJob(jobId).orElseThrow();
+        assertEquals("Schedule generation was cancelled.", job.getMessage());
+        assertNull(job.getSchedules());
+    }
+
+    @Test
+    void cancellationAfterTheSaveStartedEndsCompleted() {
+        ScheduleGenerationRequest request = request();
+        List<ScheduleResponseDTO> saved = List.of(mock(ScheduleResponseDTO.class));
+        // Past the last checkpoint: the result is saved whatever the progress says.
+        when(scheduleService.generateAutomaticSchedule(same(request), any())).thenAnswer(invocation -> {
+            started.countDown();
+            await(release);
+            return saved;
+        });
+        String jobId = jobService.submit(request).getJobId();
+        await(started);
+
+        assertEquals("RUNNING", jobService.cancel(jobId).orElseThrow().getStatus());
+
+        release.countDown();
+        awaitStatus(jobId, "COMPLETED");
+        assertEquals(saved, jobService.getJob(jobId).orElseThrow().getSchedules());
+    }
+
+    @Test
+    void cancellingAnUnknownJobFindsNothing() {
+        assertTrue(jobService.cancel("missing").isEmpty());
+    }
+
+    private String status(String jobId) {
+        return jobService.getJob(jobId).orElseThrow().getStatus();
+    }
+
+    private void awaitStatus(String jobId, String expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!expected.equals(status(jobId))) {
+            if (System.nanoTime() > deadline) {
+                fail("job " + jobId + " is " + status(jobId) + ", expected " + expected);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                fail("timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("interrupted");
+        }
+    }
+
+    private static ScheduleGenerationRequest request() {
+        ScheduleGenerationRequest request = new ScheduleGenerationRequest();
+        request.setCourseIds(List.of(1));
+        return request;
+    }
+}
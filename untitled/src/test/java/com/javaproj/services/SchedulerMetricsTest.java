@@ -0,0 +1,53 @@
+package com.javaproj.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchedulerMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SchedulerMetrics schedulerMetrics = new SchedulerMetrics(meterRegistry);
+    private final TransactionTemplate transaction = new TransactionTemplate(new TestTransactionManager());
+
+    @Test
+    void createdEnrollmentsAreCountedOnCommit() {
+        transaction.executeWithoutResult(status -> {
+            schedulerMetrics.enrollmentsCreated(SchedulerMetrics.SOURCE_IMPORT, 3);
+            assertEquals(0, created(SchedulerMetrics.SOURCE_IMPORT));
+        });
+
+        assertEquals(3, created(SchedulerMetrics.SOURCE_IMPORT));
+        assertEquals(0, rejected(SchedulerMetrics.SOURCE_IMPORT, "rolled_back"));
+    }
+
+    @Test
+    void rolledBackInsertsAreCountedAsRejected() {
+        transaction.executeWithoutResult(status -> {
+            schedulerMetrics.enrollmentsCreated(SchedulerMetrics.SOURCE_WAITLIST, 2);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, created(SchedulerMetrics.SOURCE_WAITLIST));
+        assertEquals(2, rejected(SchedulerMetrics.SOURCE_WAITLIST, "rolled_back"));
+    }
+
+    @Test
+    void outsideATransactionTheCountIsImmediate() {
+        schedulerMetrics.enrollmentsCreated(SchedulerMetrics.SOURCE_REQUEST, 1);
+        schedulerMetrics.enrollmentRejected(SchedulerMetrics.SOURCE_REQUEST, "SCHEDULE_FULL");
+
+        assertEquals(1, created(SchedulerMetrics.SOURCE_REQUEST));
+        assertEquals(1, rejected(SchedulerMetrics.SOURCE_REQUEST, "schedule_full"));
+    }
+
+    private double created(String source) {
+        return meterRegistry.counter("enrollments.created", "source", source).count();
+    }
+
+    private double rejected(String source, String reason) {
+        return meterRegistry.counter("enrollments.rejected", "source", source, "reason", reason).count();
+    }
+}
@@ -0,0 +1,195 @@
+package com.javaproj.services;
+
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.db.SeatCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeatInventoryTest {
+
+    private static final Integer SCHEDULE = 10;
+
+    // What the Enrollments table says: capacity and enrolled count per schedule.
+    private final Map<Integer, int[]> table = new HashMap<>();
+    private final TransactionTemplate transaction = new TransactionTemplate(new TestTransactionManager());
+    private SeatInventory seatInventory;
+
+    @BeforeEach
+    void setUp() {
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        when(scheduleRepository.findSeatCounts(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return ids.stream()
+                    .filter(table::containsKey)
+                    .map(id -> seatCount(id, table.get(id)[0], table.get(id)[1]))
+                    .collect(Collectors.toList());
+        });
+        seatInventory = new SeatInventory(scheduleRepository);
+    }
+
+    @Test
+    void reservesUntilTheClassroomIsFull() {
+        table.put(SCHEDULE, new int[]{3, 1});
+
+        assertTrue(reserve());
+        assertTrue(reserve());
+        assertFalse(reserve());
+        assertEquals(0, seatInventory.getAvailable(SCHEDULE));
+        assertEquals(3, seatInventory.getCapacity(SCHEDULE));
+    }
+
+    @Test
+    void unknownScheduleHasNoSeats() {
+        assertFalse(reserve());
+        assertEquals(0, seatInventory.getCapacity(SCHEDULE));
+    }
+
+    @Test
+    void rolledBackReservationGivesTheSeatBack() {
+        table.put(SCHEDULE, new int[]{1, 0});
+
+        transaction.executeWithoutResult(status -> {
+            assertTrue(seatInventory.tryReserve(SCHEDULE));
+            assertEquals(0, seatInventory.getAvailable(SCHEDULE));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, seatInventory.getAvailable(SCHEDULE));
+        assertTrue(reserve());
+    }
+
+    @Test
+    void releasedSeatIsOnlyFreeOnceTheDeletionCommits() {
+        table.put(SCHEDULE, new int[]{1, 1});
+        assertEquals(0, seatInventory.getAvailable(SCHEDULE));
+
+        transaction.executeWithoutResult(status -> {
+            seatInventory.releaseAfterCommit(SCHEDULE);
+            assertFalse(seatInventory.tryReserve(SCHEDULE));
+        });
+
+        assertEquals(1, seatInventory.getAvailable(SCHEDULE));
+    }
+
+    @Test
+    void rolledBackReleaseKeepsTheSeatTaken() {
+        table.put(SCHEDULE, new int[]{1, 1});
+        seatInventory.getAvailable(SCHEDULE);
+
+        transaction.executeWithoutResult(status -> {
+            seatInventory.releaseAfterCommit(SCHEDULE);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, seatInventory.getAvailable(SCHEDULE));
+    }
+
+    @Test
+    void reservationOutsideATransactionIsRejectedWithoutTakingASeat() {
+        table.put(SCHEDULE, new int[]{1, 0});
+
+        assertThrows(IllegalStateException.class, () -> seatInventory.tryReserve(SCHEDULE));
+        assertEquals(1, seatInventory.getAvailable(SCHEDULE));
+    }
+
+    @Test
+    void reconcileCorrectsAQuietCounterAndPicksUpCapacityChanges() {
+        table.put(SCHEDULE, new int[]{2, 0});
+        assertTrue(reserve());
+
+        // Enrollments deleted by another path, and a larger classroom.
+        table.put(SCHEDULE, new int[]{4, 0});
+        seatInventory.reconcile();
+
+        assertEquals(4, seatInventory.getCapacity(SCHEDULE));
+        assertEquals(4, seatInventory.getAvailable(SCHEDULE));
+    }
+
+    @Test
+    void reconcileLeavesACounterWithAReservationInFlightAlone() {
+        table.put(SCHEDULE, new int[]{1, 0});
+
+        transaction.executeWithoutResult(status -> {
+            assertTrue(seatInventory.tryReserve(SCHEDULE));
+            // The uncommitted enrollment is not in the table yet.
+            seatInventory.reconcile();
+            assertEquals(0, seatInventory.getAvailable(SCHEDULE));
+            table.put(SCHEDULE, new int[]{1, 1});
+        });
+
+        assertEquals(0, seatInventory.getAvailable(SCHEDULE));
+        assertFalse(reserve());
+    }
+
+    @Test
+    void reconcileLeavesACounterWithAReleaseInFlightAlone() {
+        table.put(SCHEDULE, new int[]{1, 1});
+        seatInventory.getAvailable(SCHEDULE);
+
+        transaction.executeWithoutResult(status -> {
+            seatInventory.releaseAfterCommit(SCHEDULE);
+            // The deletion is visible to the reconciliation's query before the release is settled.
+            table.put(SCHEDULE, new int[]{1, 0});
+            seatInventory.reconcile();
+        });
+
+        assertEquals(1, seatInventory.getAvailable(SCHEDULE));
+        assertTrue(reserve());
+        assertFalse(reserve());
+    }
+
+    @Test
+    void reconcileForgetsDeletedSchedules() {
+        table.put(SCHEDULE, new int[]{1, 0});
+        seatInventory.getAvailable(SCHEDULE);
+
+        table.remove(SCHEDULE);
+        seatInventory.reconcile();
+
+        assertEquals(0, seatInventory.getCapacity(SCHEDULE));
+        assertFalse(reserve());
+    }
+
+    @Test
+    void loadReadsCountersAheadOfUse() {
+        table.put(SCHEDULE, new int[]{2, 1});
+        table.put(11, new int[]{5, 5});
+
+        seatInventory.load(List.of(SCHEDULE, 11, 12));
+        table.clear();
+
+        assertEquals(1, seatInventory.getAvailable(SCHEDULE));
+        assertEquals(0, seatInventory.getAvailable(11));
+        assertEquals(0, seatInventory.getCapacity(12));
+    }
+
+    private boolean reserve() {
+        return transaction.execute(status -> seatInventory.tryReserve(SCHEDULE));
+    }
+
+    private static SeatCount seatCount(Integer scheduleId, int capacity, int enrolled) {
+        return new SeatCount() {
+            @Override
+            public Integer getScheduleId() { return scheduleId; }
+            @Override
+            public Integer getCapacity() { return capacity; }
+            @Override
+            public Long getEnrolled() { return (long) enrolled; }
+        };
+    }
+}
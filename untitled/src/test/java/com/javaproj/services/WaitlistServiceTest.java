@@ -0,0 +1,291 @@
+package com.javaproj.services;
+
+import com.javaproj.db.Enrollment;
+import com.javaproj.db.EnrollmentRepository;
+import com.javaproj.db.Schedule;
+import com.javaproj.db.ScheduleRepository;
+import com.javaproj.db.SeatCount;
+import com.javaproj.db.Student;
+import com.javaproj.db.StudentRepository;
+import com.javaproj.db.TermSlot;
+import com.javaproj.db.WaitlistEntry;
+import com.javaproj.db.WaitlistRepository;
+import com.javaproj.dto.WaitlistEntryDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Promotion order over an in-memory waitlist: (requestedAt, waitlistId), batches of BATCH_SIZE, clashing entries
+// skipped in place, already enrolled students dropped, and no promotion past the free seats. Joins become visible
+// when their transaction commits, as they would in the database.
+class WaitlistServiceTest {
+
+    private static final Integer SCHEDULE = 10;
+    private static final int BATCH_SIZE = 2;
+    private static final LocalDateTime NINE = LocalDateTime.of(2026, 9, 1, 9, 0);
+
+    private final List<WaitlistEntry> waitlist = new ArrayList<>();
+    private final Set<Integer> enrolledStudents = new HashSet<>();
+    private final Set<Integer> clashingStudents = new HashSet<>();
+    // Students in the order their enrollments were saved.
+    private final List<Integer> promoted = new ArrayList<>();
+    private int capacity;
+    private int nextWaitlistId = 1;
+
+    private final TransactionTemplate transaction = new TransactionTemplate(new TestTransactionManager());
+    private WaitlistRepository waitlistRepository;
+    private WaitlistService waitlistService;
+
+    @BeforeEach
+    void setUp() {
+        waitlistRepository = mock(WaitlistRepository.class);
+        when(waitlistRepository.findHead(eq(SCHEDULE), any(), anyInt(), any())).thenAnswer(invocation -> {
+            LocalDateTime afterRequestedAt = invocation.getArgument(1);
+            Integer afterId = invocation.getArgument(2);
+            Pageable limit = invocation.getArgument(3);
+            return waitlist.stream()
+                    .filter(entry -> entry.getRequestedAt().isAfter(afterRequestedAt)
+                            || (entry.getRequestedAt().equals(afterRequestedAt) && entry.getWaitlistId() > afterId))
+                    .sorted(Comparator.comparing(WaitlistEntry::getRequestedAt).thenComparing(WaitlistEntry::getWaitlistId))
+                    .limit(limit.getPageSize())
+                    .collect(Collectors.toList());
+        });
+        when(waitlistRepository.deleteByIds(anyList())).thenAnswer(invocation -> {
+            List<Integer> ids = invocation.getArgument(0);
+            waitlist.removeIf(entry -> ids.contains(entry.getWaitlistId()));
+            return ids.size();
+        });
+        when(waitlistRepository.existsBySchedule_ScheduleId(SCHEDULE)).thenAnswer(invocation -> !waitlist.isEmpty());
+        when(waitlistRepository.findWaitlistedScheduleIds()).thenAnswer(invocation ->
+                waitlist.isEmpty() ? List.of() : List.of(SCHEDULE));
+        when(waitlistRepository.findEntryByStudentIdAndScheduleId(anyInt(), eq(SCHEDULE))).thenReturn(Optional.empty());
+        when(waitlistRepository.findEntryById(any())).thenReturn(Optional.of(mock(WaitlistEntryDTO.class)));
+        // The new entry becomes visible to the other queries when the joining transaction commits.
+        when(waitlistRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            WaitlistEntry entry = invocation.getArgument(0);
+            entry.setWaitlistId(nextWaitlistId++);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    waitlist.add(entry);
+                }
+            });
+            return entry;
+        });
+
+        EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+        when(enrollmentRepository.existsByStudent_StudentIdAndSchedule_ScheduleId(anyInt(), eq(SCHEDULE)))
+                .thenAnswer(invocation -> enrolledStudents.contains(invocation.<Integer>getArgument(0)));
+        when(enrollmentRepository.findClashingSlots(anyInt(), eq(SCHEDULE))).thenAnswer(invocation ->
+                clashingStudents.contains(invocation.<Integer>getArgument(0)) ? List.of(mock(TermSlot.class)) : List.of());
+        when(enrollmentRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Enrollment> enrollments = invocation.getArgument(0);
+            for (Enrollment enrollment : enrollments) {
+                promoted.add(enrollment.getStudent().getStudentId());
+                enrolledStudents.add(enrollment.getStudent().getStudentId());
+            }
+            return enrollments;
+        });
+
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        when(studentRepository.existsById(anyInt())).thenReturn(true);
+        when(studentRepository.getReferenceById(anyInt())).thenAnswer(invocation -> student(invocation.getArgument(0)));
+
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        when(scheduleRepository.existsById(SCHEDULE)).thenReturn(true);
+        when(scheduleRepository.getReferenceById(SCHEDULE)).thenAnswer(invocation -> schedule());
+        when(scheduleRepository.findSeatCounts(anyCollection())).thenAnswer(invocation ->
+                List.of(seatCount(SCHEDULE, capacity, enrolledStudents.size())));
+
+        waitlistService = new WaitlistService(waitlistRepository, enrollmentRepository, studentRepository,
+                scheduleRepository, new SeatInventory(scheduleRepository), mock(TimetableService.class),
+                mock(SchedulerMetrics.class), new TestTransactionManager(), BATCH_SIZE);
+    }
+
+    @Test
+    void promotesInRequestOrderThenIdOrderUpToTheFreeSeats() {
+        capacity = 3;
+        enrolledStudents.add(100);
+        join(5, 105, NINE);
+        join(3, 103, NINE.plusMinutes(1));
+        join(2, 102, NINE.plusMinutes(1));
+        join(1, 101, NINE.plusMinutes(2));
+
+        int count = waitlistService.promote(SCHEDULE);
+
+        assertEquals(2, count);
+        assertEquals(List.of(105, 102), promoted);
+        assertEquals(List.of(3, 1), waitlistIds());
+        assertTrue(waitlistService.hasWaitlist(SCHEDULE));
+    }
+
+    @Test
+    void clashingEntriesAreSkippedAndKeepTheirPlace() {
+        capacity = 2;
+        join(1, 101, NINE);
+        join(2, 102, NINE.plusMinutes(1));
+        join(3, 103, NINE.plusMinutes(2));
+        clashingStudents.add(101);
+
+        int count = waitlistService.promote(SCHEDULE);
+
+        // The second batch starts after entry 2, so entry 1 is neither promoted nor looked at twice.
+        assertEquals(2, count);
+        assertEquals(List.of(102, 103), promoted);
+        assertEquals(List.of(1), waitlistIds());
+
+        clashingStudents.clear();
+        capacity = 3;
+        assertEquals(0, waitlistService.promote(SCHEDULE), "the counter still says the schedule is full");
+    }
+
+    @Test
+    void alreadyEnrolledStudentsAreDroppedWithoutTakingASeat() {
+        capacity = 2;
+        enrolledStudents.add(101);
+        join(1, 101, NINE);
+        join(2, 102, NINE.plusMinutes(1));
+
+        int count = waitlistService.promote(SCHEDULE);
+
+        assertEquals(1, count);
+        assertEquals(List.of(102), promoted);
+        assertEquals(List.of(), waitlistIds());
+        assertFalse(waitlistService.hasWaitlist(SCHEDULE));
+    }
+
+    @Test
+    void fullScheduleLeavesTheWaitlistAlone() {
+        capacity = 1;
+        enrolledStudents.add(100);
+        join(1, 101, NINE);
+
+        int count = waitlistService.promote(SCHEDULE);
+
+        assertEquals(0, count);
+        assertEquals(List.of(), promoted);
+        assertEquals(List.of(1), waitlistIds());
+        assertTrue(waitlistService.hasWaitlist(SCHEDULE));
+    }
+
+    @Test
+    void joinCountsOnlyOnceCommittedAndSurvivesAPromotionBeforeIt() {
+        capacity = 1;
+
+        transaction.executeWithoutResult(status -> {
+            waitlistService.join(101, SCHEDULE);
+            assertFalse(waitlistService.hasWaitlist(SCHEDULE));
+            // The worker runs while the entry is not visible yet.
+            assertEquals(0, waitlistService.promote(SCHEDULE));
+        });
+
+        assertTrue(waitlistService.hasWaitlist(SCHEDULE));
+        waitlistService.promotePending();
+        assertEquals(List.of(101), promoted);
+        assertFalse(waitlistService.hasWaitlist(SCHEDULE));
+    }
+
+    @Test
+    void promotionKeepsASchedulesJoinedDuringItsLastQuery() {
+        capacity = 0;
+        when(waitlistRepository.existsBySchedule_ScheduleId(SCHEDULE)).thenAnswer(invocation -> {
+            boolean exists = !waitlist.isEmpty();
+            joinCommitted(101);
+            return exists;
+        });
+
+        waitlistService.promote(SCHEDULE);
+
+        assertTrue(waitlistService.hasWaitlist(SCHEDULE));
+    }
+
+    @Test
+    void sweepKeepsASchedulesJoinedDuringItsQuery() {
+        when(waitlistRepository.findWaitlistedScheduleIds()).thenAnswer(invocation -> {
+            List<Integer> scheduleIds = waitlist.isEmpty() ? List.of() : List.of(SCHEDULE);
+            joinCommitted(101);
+            return scheduleIds;
+        });
+
+        waitlistService.sweep();
+
+        assertTrue(waitlistService.hasWaitlist(SCHEDULE));
+    }
+
+    @Test
+    void sweepDropsSchedulesWhoseWaitlistIsGone() {
+        joinCommitted(101);
+        waitlist.clear();
+
+        waitlistService.sweep();
+
+        assertFalse(waitlistService.hasWaitlist(SCHEDULE));
+    }
+
+    private void joinCommitted(int studentId) {
+        transaction.executeWithoutResult(status -> waitlistService.join(studentId, SCHEDULE));
+    }
+
+    private void join(int waitlistId, int studentId, LocalDateTime requestedAt) {
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setWaitlistId(waitlistId);
+        entry.setStudent(student(studentId));
+        entry.setSchedule(schedule());
+        entry.setRequestedAt(requestedAt);
+        waitlist.add(entry);
+        waitlistService.loadWaitlistedSchedules();
+    }
+
+    private static Student student(int studentId) {
+        Student student = new Student();
+        student.setStudentId(studentId);
+        return student;
+    }
+
+    private static Schedule schedule() {
+        Schedule schedule = new Schedule();
+        schedule.setScheduleId(SCHEDULE);
+        return schedule;
+    }
+
+    private List<Integer> waitlistIds() {
+        return waitlist.stream()
+                .sorted(Comparator.comparing(WaitlistEntry::getRequestedAt).thenComparing(WaitlistEntry::getWaitlistId))
+                .map(WaitlistEntry::getWaitlistId)
+                .collect(Collectors.toList());
+    }
+
+    private static SeatCount seatCount(Integer scheduleId, int capacity, int enrolled) {
+        return new SeatCount() {
+            @Override
+            public Integer getScheduleId() { return scheduleId; }
+            @Override
+            public Integer getCapacity() { return capacity; }
+            @Override
+            public Long getEnrolled() { return (long) enrolled; }
+        };
+    }
+}